@@ -0,0 +1,90 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import com.example.demo.search.IndiceTrigramas;
+import com.example.demo.search.NormalizadorNombre;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Búsqueda aproximada por nombre con el índice de trigramas frente a un recorrido completo que
+ * compara los trigramas (ya calculados) de cada nombre con los de la consulta: el recorrido es
+ * el límite inferior de cualquier búsqueda sin índice. Los nombres sintéticos repiten pocos
+ * nombres y apellidos, así que las listas de los trigramas comunes son muy largas (el peor caso
+ * para el índice); las consultas llevan errores de escritura típicos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ClienteBusquedaAproximadaBenchmark {
+
+    private static final String[] CONSULTAS = {"Rodriges", "maria gomes", "Lucia Nunes", "Fernandes", "Valentna Diaz", "Migel"};
+    private static final double UMBRAL = 0.5;
+
+    @Param({"100000", "1000000"})
+    private int cantidad;
+
+    private IndiceTrigramas indice;
+    private int[][] trigramasPorNombre;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndiceTrigramas();
+        trigramasPorNombre = new int[cantidad][];
+        for (int i = 0; i < cantidad; i++) {
+            String nombre = DatosBenchmark.nombre(i);
+            indice.cargar((long) i + 1, nombre);
+            trigramasPorNombre[i] = IndiceTrigramas.trigramas(NormalizadorNombre.normalizar(nombre));
+        }
+        indice.cargaFinalizada();
+    }
+
+    @Benchmark
+    public List<ClienteCoincidenciaDTO> indice() {
+        return indice.buscar(NormalizadorNombre.normalizar(consulta()), UMBRAL, 10);
+    }
+
+    @Benchmark
+    public int recorridoCompleto() {
+        int[] consulta = IndiceTrigramas.trigramas(NormalizadorNombre.normalizar(consulta()));
+        int minimo = (int) Math.ceil(UMBRAL * consulta.length);
+        int coincidencias = 0;
+        for (int[] nombre : trigramasPorNombre) {
+            if (comunes(consulta, nombre) >= minimo) {
+                coincidencias++;
+            }
+        }
+        return coincidencias;
+    }
+
+    private static String consulta() {
+        return CONSULTAS[ThreadLocalRandom.current().nextInt(CONSULTAS.length)];
+    }
+
+    /**
+     * Intersección de dos arreglos ordenados
+     */
+    private static int comunes(int[] a, int[] b) {
+        int comunes = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                comunes++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return comunes;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * JSON frente a CBOR para listas de clientes: codificación y decodificación con la misma
+ * configuración de Jackson que usan los conversores HTTP. El tamaño de cada carga útil se
+ * imprime al preparar el estado (líneas {@code [tamaño]} en la salida de JMH).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ClienteFormatoBenchmark {
+
+    @Param({"json", "cbor"})
+    public String formato;
+
+    @Param({"1", "100", "1000"})
+    public int tamano;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ClienteResponseDTO> clientes;
+    private byte[] codificado;
+
+    @Setup
+    public void preparar() throws IOException {
+        ObjectMapper objectMapper = "cbor".equals(formato)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        JavaType tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, ClienteResponseDTO.class);
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+        clientes = DatosBenchmark.respuestas(tamano);
+        codificado = writer.writeValueAsBytes(clientes);
+        System.out.printf("[tamaño] %s, %d clientes: %d bytes (%.1f bytes/cliente)%n",
+                formato, tamano, codificado.length, (double) codificado.length / tamano);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return writer.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> decodificar() throws IOException {
+        return reader.readValue(codificado);
+    }
+}
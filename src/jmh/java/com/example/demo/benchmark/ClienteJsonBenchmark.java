@@ -0,0 +1,92 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.json.ClienteJsonWriter;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Coste de serializar con Jackson las respuestas de clientes, con la misma configuración que
+ * aplica Spring Boot ({@link Jackson2ObjectMapperBuilder}: fechas ISO-8601 con JavaTimeModule).
+ * El writer se prepara una vez, como hace el conversor HTTP de Spring.
+ * Las variantes {@code *Manual} usan {@link ClienteJsonWriter}, que produce los mismos bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ClienteJsonBenchmark {
+
+    private ObjectWriter writerCliente;
+    private ObjectWriter writerLista;
+    private JsonFactory factory;
+    private ClienteResponseDTO cliente;
+
+    @Setup
+    public void preparar() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writerCliente = objectMapper.writerFor(ClienteResponseDTO.class);
+        writerLista = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ClienteResponseDTO.class));
+        factory = objectMapper.getFactory();
+        cliente = DatosBenchmark.respuesta(7);
+    }
+
+    @Benchmark
+    public byte[] cliente() throws JsonProcessingException {
+        return writerCliente.writeValueAsBytes(cliente);
+    }
+
+    @Benchmark
+    public byte[] lista(Lista lista) throws JsonProcessingException {
+        return writerLista.writeValueAsBytes(lista.clientes);
+    }
+
+    @Benchmark
+    public byte[] clienteManual() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = factory.createGenerator(salida)) {
+            new ClienteJsonWriter(generator).escribir(cliente);
+        }
+        return salida.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] listaManual(Lista lista) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = factory.createGenerator(salida)) {
+            new ClienteJsonWriter(generator).escribirLista(lista.clientes);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Listas de respuestas; sólo los benchmarks que la reciben se repiten por tamaño
+     */
+    @State(Scope.Benchmark)
+    public static class Lista {
+
+        @Param({"10", "100", "1000", "10000"})
+        public int tamano;
+
+        private List<ClienteResponseDTO> clientes;
+
+        @Setup
+        public void preparar() {
+            clientes = DatosBenchmark.respuestas(tamano);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.mapper.ClienteMapper;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+import com.example.demo.repository.ClienteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas con entidades gestionadas + {@link ClienteMapper} frente a proyecciones directas al DTO,
+ * sobre una base H2 en memoria con 10k y 100k clientes activos.
+ * <p>
+ * Cada operación corre en una transacción de solo lectura, como en el servicio. Con {@code -prof gc}
+ * (activo por defecto) la diferencia de {@code gc.alloc.rate.norm} muestra el coste de hidratar
+ * entidades, registrarlas en el contexto de persistencia y copiarlas al DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClienteLecturaBenchmark {
+
+    @Param({"10000", "100000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository repository;
+    private ClienteMapper mapper;
+    private TransactionTemplate lectura;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark" + filas + ";DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "app.sql.contador.habilitado=false",
+                        "logging.file.name=",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        repository = contexto.getBean(ClienteRepository.class);
+        mapper = contexto.getBean(ClienteMapper.class);
+        lectura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        lectura.setReadOnly(true);
+
+        contexto.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into clientes (id, nombre, email, telefono, fecha_registro, activo, version, fecha_actualizacion) "
+                        + "values (?, ?, ?, ?, ?, true, 0, ?)",
+                DatosBenchmark.clientes(filas), 1000, (sentencia, cliente) -> {
+                    sentencia.setLong(1, cliente.getId());
+                    sentencia.setString(2, cliente.getNombre());
+                    sentencia.setString(3, cliente.getEmail());
+                    sentencia.setString(4, cliente.getTelefono());
+                    sentencia.setTimestamp(5, Timestamp.valueOf(cliente.getFechaRegistro()));
+                    sentencia.setTimestamp(6, Timestamp.valueOf(cliente.getFechaActualizacion()));
+                });
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> listarConEntidades() {
+        return lectura.execute(estado -> mapper.toResponseDTOList(repository.findByActivo(true)));
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> listarConProyeccion() {
+        return lectura.execute(estado -> repository.findActivos(Sort.by("id"), Limit.of(filas)));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ClienteResponseDTO obtenerConEntidad() {
+        long id = ThreadLocalRandom.current().nextLong(1, filas + 1);
+        return lectura.execute(estado -> {
+            Cliente cliente = repository.findById(id).orElseThrow();
+            return mapper.toResponseDTO(cliente);
+        });
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ClienteResponseDTO obtenerConProyeccion() {
+        long id = ThreadLocalRandom.current().nextLong(1, filas + 1);
+        return lectura.execute(estado -> repository.findRespuestaById(id).orElseThrow());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.mapper.ClienteMapper;
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Coste por petición de {@link ClienteMapper}: conversión de un cliente y de listas de varios tamaños
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ClienteMapperBenchmark {
+
+    private final ClienteMapper mapper = new ClienteMapper();
+    private ClienteRequestDTO solicitud;
+    private Cliente cliente;
+
+    @Setup
+    public void preparar() {
+        solicitud = DatosBenchmark.solicitud(7);
+        cliente = DatosBenchmark.cliente(7);
+    }
+
+    @Benchmark
+    public Cliente toEntity() {
+        return mapper.toEntity(solicitud);
+    }
+
+    @Benchmark
+    public ClienteResponseDTO toResponseDTO() {
+        return mapper.toResponseDTO(cliente);
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> toResponseDTOList(Lista lista) {
+        return mapper.toResponseDTOList(lista.clientes);
+    }
+
+    /**
+     * Listas de entidades; sólo los benchmarks que la reciben se repiten por tamaño
+     */
+    @State(Scope.Benchmark)
+    public static class Lista {
+
+        @Param({"10", "100", "1000", "10000"})
+        public int tamano;
+
+        private List<Cliente> clientes;
+
+        @Setup
+        public void preparar() {
+            clientes = DatosBenchmark.clientes(tamano);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.exception.ClienteNotFoundException;
+import com.example.demo.exception.ErrorResponse;
+import com.example.demo.json.ErrorResponseJsonWriter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Respuestas 404 por unidad de tiempo en la parte del camino que depende de la aplicación:
+ * lanzar la excepción desde {@code profundidad} marcos (una petición MVC con filtros, proxies
+ * transaccionales y el servicio ronda los 100), capturarla, construir el {@link ErrorResponse}
+ * y serializarlo.
+ * <p>
+ * {@code antes} reproduce el camino anterior: excepción con traza, {@code LocalDateTime.now()}
+ * por respuesta y serialización reflexiva de Jackson. {@code despues} usa
+ * {@link ClienteNotFoundException} sin traza, {@link ErrorResponse#de} y {@link ErrorResponseJsonWriter}.
+ * No incluye el registro en el log, que ahora está limitado por segundo y antes escribía una
+ * línea ERROR por cada 404.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class ClienteNoEncontradoBenchmark {
+
+    @Param({"10", "100"})
+    int profundidad;
+
+    private ObjectWriter writer;
+    private JsonFactory factory;
+
+    @Setup
+    public void preparar() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(ErrorResponse.class);
+        factory = objectMapper.getFactory();
+    }
+
+    @Benchmark
+    public byte[] antes() throws IOException {
+        try {
+            lanzarConTraza(profundidad, 999L);
+            throw new IllegalStateException();
+        } catch (ClienteNoEncontradoConTraza ex) {
+            ErrorResponse error = new ErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(),
+                    "Not Found", ex.getMessage(), "/api/v1/clientes/999");
+            return writer.writeValueAsBytes(error);
+        }
+    }
+
+    @Benchmark
+    public byte[] despues() throws IOException {
+        try {
+            lanzar(profundidad, 999L);
+            throw new IllegalStateException();
+        } catch (ClienteNotFoundException ex) {
+            ErrorResponse error = ErrorResponse.de(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(),
+                    "/api/v1/clientes/999", null);
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(256);
+            try (JsonGenerator generator = factory.createGenerator(salida)) {
+                new ErrorResponseJsonWriter(generator).escribir(error);
+            }
+            return salida.toByteArray();
+        }
+    }
+
+    private static void lanzarConTraza(int marcos, long id) {
+        if (marcos > 0) {
+            lanzarConTraza(marcos - 1, id);
+            return;
+        }
+        throw new ClienteNoEncontradoConTraza(id);
+    }
+
+    private static void lanzar(int marcos, long id) {
+        if (marcos > 0) {
+            lanzar(marcos - 1, id);
+            return;
+        }
+        throw new ClienteNotFoundException(id);
+    }
+
+    /**
+     * {@link ClienteNotFoundException} tal como era antes: con traza
+     */
+    static class ClienteNoEncontradoConTraza extends RuntimeException {
+
+        ClienteNoEncontradoConTraza(Long id) {
+            super("Cliente no encontrado con id: " + id);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+import com.example.demo.repository.ClienteRepository;
+import com.example.demo.shard.ClaveShard;
+import com.example.demo.shard.ShardActual;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rendimiento con 1, 2 y 4 shards H2 en memoria y 16 hilos concurrentes, sobre 100k clientes
+ * repartidos por igual: lecturas por id (un shard), páginas por nombre (todos los shards en paralelo)
+ * y altas (un shard por turnos). Con un solo shard todas las operaciones compiten por la misma base;
+ * al agregar shards las lecturas y altas se reparten y el rendimiento total debería crecer, mientras
+ * que las páginas pagan la mezcla a cambio de leer cada parte en paralelo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class ClienteShardsBenchmark {
+
+    private static final int FILAS = 100_000;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository repository;
+    private TransactionTemplate lectura;
+    private TransactionTemplate escritura;
+    private long[] ids;
+    private final AtomicInteger altas = new AtomicInteger(FILAS);
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 1; i < shards; i++) {
+            urls.add("jdbc:h2:mem:benchmark-shard" + shards + "-" + i + ";DB_CLOSE_DELAY=-1");
+        }
+        contexto = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-shard" + shards + "-0;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "app.shards.habilitado=true",
+                        "app.shards.urls=" + String.join(",", urls),
+                        "app.shards.directorio.url=jdbc:h2:mem:benchmark-directorio" + shards + ";DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "app.sql.contador.habilitado=false",
+                        "logging.file.name=",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        repository = contexto.getBean(ClienteRepository.class);
+        lectura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        lectura.setReadOnly(true);
+        escritura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        // Cliente i al shard i % shards, con la secuencia del shard como parte baja del id
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        List<Cliente> clientes = DatosBenchmark.clientes(FILAS);
+        ids = new long[FILAS];
+        for (int shard = 0; shard < shards; shard++) {
+            List<Cliente> delShard = new ArrayList<>();
+            for (int i = shard; i < FILAS; i += shards) {
+                Cliente cliente = clientes.get(i);
+                cliente.setId(ClaveShard.componer(shard, i / shards + 1));
+                ids[i] = cliente.getId();
+                delShard.add(cliente);
+            }
+            long siguiente = delShard.size() + 1L;
+            ShardActual.en(shard, () -> escritura.execute(estado -> {
+                jdbc.batchUpdate(
+                        "insert into clientes (id, nombre, email, telefono, fecha_registro, activo, version, fecha_actualizacion) "
+                                + "values (?, ?, ?, ?, ?, true, 0, ?)",
+                        delShard, 1000, (sentencia, cliente) -> {
+                            sentencia.setLong(1, cliente.getId());
+                            sentencia.setString(2, cliente.getNombre());
+                            sentencia.setString(3, cliente.getEmail());
+                            sentencia.setString(4, cliente.getTelefono());
+                            sentencia.setTimestamp(5, Timestamp.valueOf(cliente.getFechaRegistro()));
+                            sentencia.setTimestamp(6, Timestamp.valueOf(cliente.getFechaActualizacion()));
+                        });
+                return jdbc.update("alter sequence clientes_seq restart with " + siguiente);
+            }));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ClienteResponseDTO obtenerPorId() {
+        long id = ids[ThreadLocalRandom.current().nextInt(FILAS)];
+        return lectura.execute(estado -> repository.findRespuestaById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> paginaPorNombre() {
+        String desde = DatosBenchmark.nombre(ThreadLocalRandom.current().nextInt(FILAS));
+        return repository.findActivosDespuesDeNombre(desde, 0L, Limit.of(50));
+    }
+
+    @Benchmark
+    public List<ClienteResponseDTO> primeraPaginaPorFecha() {
+        return repository.findActivos(Sort.by("fechaRegistro", "id"), Limit.of(50));
+    }
+
+    @Benchmark
+    public Cliente crear() {
+        int i = altas.getAndIncrement();
+        Cliente cliente = DatosBenchmark.cliente(i);
+        cliente.setId(null);
+        cliente.setVersion(null);
+        return escritura.execute(estado -> repository.save(cliente));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import com.example.demo.search.IndicePrefijos;
+import com.example.demo.search.NormalizadorNombre;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latencia de las sugerencias por prefijo sobre el índice en memoria con muchos nombres.
+ * {@link Mode#SampleTime} reporta percentiles (p50, p99, p99.9) además de la media: el objetivo
+ * es que el p99 se mantenga en microsegundos aunque el prefijo sea corto y muy frecuente.
+ * <p>
+ * {@code aplicar} mide el coste de mantener el índice con una escritura (renombrar un cliente).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+public class ClienteSugerenciaBenchmark {
+
+    private static final String[] PREFIJOS = {"a", "ma", "Mar", "maria g", "jose", "LUIS R", "zz"};
+
+    @Param({"100000", "1000000"})
+    private int cantidad;
+
+    private IndicePrefijos indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        indice = new IndicePrefijos();
+        for (int i = 0; i < cantidad; i++) {
+            indice.cargar((long) i + 1, DatosBenchmark.nombre(i));
+        }
+        indice.cargaFinalizada();
+    }
+
+    @Benchmark
+    public List<ClienteSugerenciaDTO> buscar() {
+        String prefijo = PREFIJOS[ThreadLocalRandom.current().nextInt(PREFIJOS.length)];
+        return indice.buscar(NormalizadorNombre.normalizar(prefijo), 10);
+    }
+
+    @Benchmark
+    public void aplicar() {
+        int i = ThreadLocalRandom.current().nextInt(cantidad);
+        indice.aplicar((long) i + 1, DatosBenchmark.nombre(cantidad - 1 - i));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.ClienteRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+
+/**
+ * Coste de la validación Bean Validation de {@link ClienteRequestDTO} que ejecuta {@code @Valid}
+ * en cada alta o actualización: el caso válido recorre todas las restricciones
+ * ({@code @Pattern} del nombre y {@code @Email} incluidos) y los inválidos además construyen
+ * las violaciones con sus mensajes interpolados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ClienteValidacionBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private ClienteRequestDTO valido;
+    private ClienteRequestDTO nombreInvalido;
+    private ClienteRequestDTO emailInvalido;
+
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valido = DatosBenchmark.solicitud(7);
+        nombreInvalido = new ClienteRequestDTO("Juan123 <script>", "juan@example.com", "0991234567");
+        emailInvalido = new ClienteRequestDTO("Juan Pérez", "juan.example.com", "0991234567");
+    }
+
+    @TearDown
+    public void cerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> valido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> nombreInvalido() {
+        return validator.validate(nombreInvalido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRequestDTO>> emailInvalido() {
+        return validator.validate(emailInvalido);
+    }
+}
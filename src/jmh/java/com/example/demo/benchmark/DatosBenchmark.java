@@ -0,0 +1,80 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos y deterministas compartidos por los benchmarks
+ */
+final class DatosBenchmark {
+
+    private static final String[] NOMBRES = {"Juan", "María", "José", "Lucía", "Andrés", "Sofía", "Martín", "Valentina"};
+    private static final String[] APELLIDOS = {"Pérez", "Gómez", "Rodríguez", "Núñez", "Fernández", "López", "Díaz"};
+    private static final LocalDateTime FECHA_BASE = LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_789);
+
+    private DatosBenchmark() {
+    }
+
+    static String nombre(int i) {
+        return NOMBRES[i % NOMBRES.length] + " " + APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length] + " " + sufijo(i);
+    }
+
+    static Cliente cliente(int i) {
+        Cliente cliente = new Cliente();
+        cliente.setId((long) i + 1);
+        cliente.setNombre(nombre(i));
+        cliente.setEmail("cliente" + i + "@example.com");
+        cliente.setTelefono("+5939" + (10_000_000 + i));
+        cliente.setFechaRegistro(FECHA_BASE.plusSeconds(i));
+        cliente.setFechaActualizacion(FECHA_BASE.plusSeconds(i));
+        cliente.setActivo(true);
+        cliente.setVersion(0L);
+        return cliente;
+    }
+
+    static List<Cliente> clientes(int cantidad) {
+        List<Cliente> clientes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            clientes.add(cliente(i));
+        }
+        return clientes;
+    }
+
+    static ClienteResponseDTO respuesta(int i) {
+        Cliente cliente = cliente(i);
+        ClienteResponseDTO dto = new ClienteResponseDTO(cliente.getId(), cliente.getNombre(), cliente.getEmail(),
+                cliente.getTelefono(), cliente.getFechaRegistro(), cliente.getActivo());
+        dto.setVersion(cliente.getVersion());
+        dto.setFechaActualizacion(cliente.getFechaActualizacion());
+        return dto;
+    }
+
+    static List<ClienteResponseDTO> respuestas(int cantidad) {
+        List<ClienteResponseDTO> respuestas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            respuestas.add(respuesta(i));
+        }
+        return respuestas;
+    }
+
+    static ClienteRequestDTO solicitud(int i) {
+        return new ClienteRequestDTO(nombre(i), "cliente" + i + "@example.com", "+5939" + (10_000_000 + i));
+    }
+
+    /**
+     * Sufijo sólo con letras, para que los nombres generados cumplan el {@code @Pattern} de la solicitud
+     */
+    private static String sufijo(int i) {
+        StringBuilder sufijo = new StringBuilder();
+        do {
+            sufijo.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sufijo.toString();
+    }
+}
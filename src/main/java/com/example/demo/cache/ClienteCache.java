@@ -0,0 +1,244 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria (Caffeine, política W-TinyLFU) de clientes por id y por nombre.
+ * <p>
+ * El índice por nombre sólo guarda el id, de modo que cada cliente tiene una única
+ * copia y basta invalidar el id para que ambas claves dejen de responder.
+ * Las escrituras se aplican después del commit a través de {@link ClienteEvento}.
+ * <p>
+ * Para no publicar datos leídos antes de un commit concurrente, cada lectura de base de
+ * datos toma una {@link #marca()} y sólo se guarda si no hubo escrituras desde entonces.
+ * Dentro de una transacción de escritura la caché no se usa, para no exponer datos sin confirmar,
+ * y con réplicas de lectura no se guarda lo leído mientras una réplica pueda estar atrasada.
+ * <p>
+ * También recuerda, con la misma marca y por menos tiempo, los ids y nombres buscados sin éxito,
+ * para que los fallos repetidos (clientes eliminados, enlaces viejos) no vuelvan a la base de datos.
+ * Un alta o un cambio confirmado borra la ausencia de su id y su nombre; una eliminación
+ * permanente registra la de su id, que no se reutiliza.
+ */
+@Component
+@Slf4j
+public class ClienteCache {
+
+    private final Cache<Long, ClienteResponseDTO> porId;
+    private final Cache<String, Long> porNombre;
+    private final Cache<Long, Boolean> idsInexistentes;
+    private final Cache<String, Boolean> nombresInexistentes;
+    private final AtomicLong escrituras = new AtomicLong();
+    private final ContextoTransaccional contexto;
+
+    public ClienteCache(long maximo, Duration ttl) {
+        this(maximo, ttl, maximo, Duration.ofMinutes(1), ContextoTransaccional.sinReplicas());
+    }
+
+    @Autowired
+    public ClienteCache(
+            @Value("${app.clientes.cache.maximo:10000}") long maximo,
+            @Value("${app.clientes.cache.ttl:10m}") Duration ttl,
+            @Value("${app.clientes.cache.inexistentes.maximo:10000}") long maximoInexistentes,
+            @Value("${app.clientes.cache.inexistentes.ttl:1m}") Duration ttlInexistentes,
+            ContextoTransaccional contexto) {
+        this.contexto = contexto;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.porNombre = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsInexistentes = Caffeine.newBuilder()
+                .maximumSize(maximoInexistentes)
+                .expireAfterWrite(ttlInexistentes)
+                .recordStats()
+                .build();
+        this.nombresInexistentes = Caffeine.newBuilder()
+                .maximumSize(maximoInexistentes)
+                .expireAfterWrite(ttlInexistentes)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Busca un cliente por id
+     *
+     * @param id ID del cliente
+     * @return cliente en caché, o null si no está o no se puede usar la caché
+     */
+    public ClienteResponseDTO obtenerPorId(Long id) {
+        if (!disponible()) {
+            return null;
+        }
+        return porId.getIfPresent(id);
+    }
+
+    /**
+     * Busca un cliente por nombre, resolviendo primero su id
+     *
+     * @param nombre nombre del cliente
+     * @return cliente en caché, o null si no está o no se puede usar la caché
+     */
+    public ClienteResponseDTO obtenerPorNombre(String nombre) {
+        if (!disponible()) {
+            return null;
+        }
+        Long id = porNombre.getIfPresent(nombre);
+        if (id == null) {
+            return null;
+        }
+        ClienteResponseDTO cliente = porId.getIfPresent(id);
+        if (cliente == null || !nombre.equals(cliente.getNombre())) {
+            porNombre.invalidate(nombre);
+            return null;
+        }
+        return cliente;
+    }
+
+    /**
+     * @param id ID del cliente
+     * @return true si una búsqueda reciente por ese id no lo encontró
+     */
+    public boolean esIdInexistente(Long id) {
+        return disponible() && idsInexistentes.getIfPresent(id) != null;
+    }
+
+    /**
+     * @param nombre nombre del cliente
+     * @return true si una búsqueda reciente por ese nombre no lo encontró
+     */
+    public boolean esNombreInexistente(String nombre) {
+        return disponible() && nombresInexistentes.getIfPresent(nombre) != null;
+    }
+
+    /**
+     * Marca a tomar antes de leer de la base de datos
+     *
+     * @return número de escrituras aplicadas hasta ahora
+     */
+    public long marca() {
+        return escrituras.get();
+    }
+
+    /**
+     * Guarda un cliente leído de la base de datos si no hubo escrituras desde la marca
+     *
+     * @param cliente cliente leído
+     * @param marca   valor de {@link #marca()} tomado antes de la lectura
+     */
+    public void guardar(ClienteResponseDTO cliente, long marca) {
+        if (!contexto.lecturaPublicable()) {
+            return;
+        }
+        porId.asMap().compute(cliente.getId(), (id, actual) -> escrituras.get() == marca ? cliente : actual);
+        porNombre.put(cliente.getNombre(), cliente.getId());
+    }
+
+    /**
+     * Recuerda que no existe un cliente con ese id si no hubo escrituras desde la marca
+     *
+     * @param id    ID buscado
+     * @param marca valor de {@link #marca()} tomado antes de la lectura
+     */
+    public void guardarIdInexistente(Long id, long marca) {
+        if (contexto.lecturaPublicable()) {
+            idsInexistentes.asMap().compute(id, (clave, actual) -> escrituras.get() == marca ? Boolean.TRUE : actual);
+        }
+    }
+
+    /**
+     * Recuerda que no existe un cliente con ese nombre si no hubo escrituras desde la marca
+     *
+     * @param nombre nombre buscado
+     * @param marca  valor de {@link #marca()} tomado antes de la lectura
+     */
+    public void guardarNombreInexistente(String nombre, long marca) {
+        if (contexto.lecturaPublicable()) {
+            nombresInexistentes.asMap().compute(nombre, (clave, actual) -> escrituras.get() == marca ? Boolean.TRUE : actual);
+        }
+    }
+
+    /**
+     * Aplica una escritura confirmada: refresca o invalida las entradas afectadas
+     *
+     * @param evento escritura sobre un cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        escrituras.incrementAndGet();
+        if (evento.nombreAnterior() != null
+                && (evento.cliente() == null || !Objects.equals(evento.nombreAnterior(), evento.cliente().getNombre()))) {
+            porNombre.invalidate(evento.nombreAnterior());
+        }
+        switch (evento.tipo()) {
+            case CREADO, ACTUALIZADO -> {
+                porId.asMap().compute(evento.id(), (id, actual) -> evento.cliente());
+                porNombre.put(evento.cliente().getNombre(), evento.id());
+                idsInexistentes.invalidate(evento.id());
+                nombresInexistentes.invalidate(evento.cliente().getNombre());
+            }
+            case DESACTIVADO -> porId.invalidate(evento.id());
+            case ELIMINADO -> {
+                porId.invalidate(evento.id());
+                idsInexistentes.put(evento.id(), Boolean.TRUE);
+            }
+        }
+        log.debug("Caché de clientes actualizada por evento {} (id: {})", evento.tipo(), evento.id());
+    }
+
+    /**
+     * Caché por id, expuesta para estadísticas y métricas
+     *
+     * @return caché subyacente
+     */
+    public Cache<Long, ClienteResponseDTO> getPorId() {
+        return porId;
+    }
+
+    /**
+     * Índice por nombre, expuesto para estadísticas y métricas
+     *
+     * @return caché subyacente
+     */
+    public Cache<String, Long> getPorNombre() {
+        return porNombre;
+    }
+
+    /**
+     * Ids buscados sin éxito, expuestos para estadísticas y métricas
+     *
+     * @return caché subyacente
+     */
+    public Cache<Long, Boolean> getIdsInexistentes() {
+        return idsInexistentes;
+    }
+
+    /**
+     * Nombres buscados sin éxito, expuestos para estadísticas y métricas
+     *
+     * @return caché subyacente
+     */
+    public Cache<String, Boolean> getNombresInexistentes() {
+        return nombresInexistentes;
+    }
+
+    private boolean disponible() {
+        return ContextoTransaccional.sinEscriturasPendientes();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Búsquedas de clientes por id y por nombre compartidas entre peticiones concurrentes
+ * ({@link ConsultasCompartidas}). Cubren los fallos de {@link ClienteCache}: cuando muchas
+ * peticiones piden a la vez un cliente que no está en caché, sólo una va a la base de datos.
+ * <p>
+ * Métricas {@code clientes.consultas.compartidas} (por {@code rol}) y
+ * {@code clientes.consultas.compartidas.proporcion}, etiquetadas por {@code consulta}.
+ */
+@Component
+public class ClienteConsultasCompartidas {
+
+    private final ConsultasCompartidas<Long, ClienteResponseDTO> porId;
+    private final ConsultasCompartidas<String, ClienteResponseDTO> porNombre;
+
+    public ClienteConsultasCompartidas(MeterRegistry registry) {
+        this(registry, ContextoTransaccional.sinReplicas());
+    }
+
+    @Autowired
+    public ClienteConsultasCompartidas(MeterRegistry registry, ContextoTransaccional contexto) {
+        this.porId = new ConsultasCompartidas<>("por_id", registry, contexto);
+        this.porNombre = new ConsultasCompartidas<>("por_nombre", registry, contexto);
+    }
+
+    public ConsultasCompartidas<Long, ClienteResponseDTO> getPorId() {
+        return porId;
+    }
+
+    public ConsultasCompartidas<String, ClienteResponseDTO> getPorNombre() {
+        return porNombre;
+    }
+}
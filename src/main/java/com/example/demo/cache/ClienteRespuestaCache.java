@@ -0,0 +1,174 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.json.ClienteJsonSerializado;
+import com.example.demo.json.ClienteJsonWriter;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Caché de respuestas JSON ya serializadas de {@code GET /api/v1/clientes/{id}}, por id y versión.
+ * <p>
+ * Cada entrada guarda la versión de la que se generó y sólo se usa si coincide con la del cliente
+ * obtenido del servicio, de modo que nunca se sirven bytes de otra versión aunque la entrada llegue
+ * tarde a invalidarse. Las escrituras confirmadas ({@link ClienteEvento}) descartan la entrada.
+ * En un acierto la respuesta es una búsqueda en el mapa y la copia del buffer al flujo de salida.
+ */
+@Component
+@Slf4j
+public class ClienteRespuestaCache {
+
+    private final Cache<Long, ClienteJsonSerializado> porId;
+    private final JsonFactory factory;
+    private final boolean gzip;
+    private final int gzipMinimo;
+
+    public ClienteRespuestaCache(
+            ObjectMapper objectMapper,
+            @Value("${app.clientes.cache.respuestas.maximo:10000}") long maximo,
+            @Value("${app.clientes.cache.ttl:10m}") Duration ttl,
+            @Value("${app.clientes.cache.respuestas.gzip.habilitado:false}") boolean gzip,
+            @Value("${app.clientes.cache.respuestas.gzip.minimo:1024}") int gzipMinimo) {
+        this.factory = objectMapper.getFactory();
+        this.gzip = gzip;
+        this.gzipMinimo = gzipMinimo;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtiene la representación serializada del cliente, generándola si no está o es de otra versión
+     *
+     * @param cliente cliente obtenido del servicio
+     * @return bytes JSON de esa versión del cliente
+     */
+    public ClienteJsonSerializado obtener(ClienteResponseDTO cliente) {
+        boolean disponible = cliente.getVersion() != null && ContextoTransaccional.sinEscriturasPendientes();
+        if (disponible) {
+            ClienteJsonSerializado enCache = porId.getIfPresent(cliente.getId());
+            if (enCache != null && Objects.equals(enCache.getVersion(), cliente.getVersion())) {
+                return enCache;
+            }
+        }
+        ClienteJsonSerializado serializado = serializar(cliente);
+        if (disponible) {
+            // Nunca se reemplaza una versión más nueva por una más antigua
+            porId.asMap().merge(cliente.getId(), serializado,
+                    (actual, nuevo) -> actual.getVersion() > nuevo.getVersion() ? actual : nuevo);
+        }
+        return serializado;
+    }
+
+    /**
+     * Elige la variante a enviar según {@code Accept-Encoding}.
+     * Sólo se comprime si está habilitado y el contenido supera el mínimo configurado.
+     *
+     * @param serializado    representación sin comprimir
+     * @param acceptEncoding cabecera de la petición, o null
+     * @return la variante gzip o la original
+     */
+    public ClienteJsonSerializado variante(ClienteJsonSerializado serializado, String acceptEncoding) {
+        if (!gzip || serializado.getBytes().length < gzipMinimo || !aceptaGzip(acceptEncoding)) {
+            return serializado;
+        }
+        return serializado.comprimido();
+    }
+
+    /**
+     * Indica si la respuesta puede variar según {@code Accept-Encoding}
+     *
+     * @return true si la compresión gzip está habilitada
+     */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Indica si {@code Accept-Encoding} admite gzip (RFC 9110, sección 12.5.3).
+     * Una codificación con {@code q=0} se rechaza; {@code *} cubre gzip salvo que aparezca explícitamente.
+     *
+     * @param acceptEncoding cabecera de la petición, o null
+     * @return true si se puede enviar gzip
+     */
+    public static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean comodin = false;
+        for (String elemento : acceptEncoding.split(",")) {
+            String[] partes = elemento.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            boolean aceptada = calidad(partes) > 0;
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                gzip = gzip == null ? aceptada : gzip || aceptada;
+            } else if (codificacion.equals("*")) {
+                comodin = aceptada;
+            }
+        }
+        return gzip != null ? gzip : comodin;
+    }
+
+    /**
+     * Descarta la respuesta del cliente modificado
+     *
+     * @param evento escritura confirmada sobre un cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        porId.invalidate(evento.id());
+        log.debug("Respuesta serializada descartada por evento {} (id: {})", evento.tipo(), evento.id());
+    }
+
+    /**
+     * Caché subyacente, expuesta para estadísticas y métricas
+     *
+     * @return caché subyacente
+     */
+    public Cache<Long, ClienteJsonSerializado> getPorId() {
+        return porId;
+    }
+
+    private ClienteJsonSerializado serializar(ClienteResponseDTO cliente) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = factory.createGenerator(salida, JsonEncoding.UTF8)) {
+            new ClienteJsonWriter(generator).escribir(cliente);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new ClienteJsonSerializado(cliente, salida.toByteArray());
+    }
+
+    private static double calidad(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.length() > 2 && Character.toLowerCase(parametro.charAt(0)) == 'q' && parametro.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parametro.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
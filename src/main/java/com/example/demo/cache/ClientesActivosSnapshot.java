@@ -0,0 +1,157 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.dto.ClientesSnapshotDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot copy-on-write de la lista de clientes activos (ordenada por id y acotada al máximo de listado).
+ * <p>
+ * Los lectores sólo leen una referencia volátil: no hay bloqueo ni acceso a la base de datos
+ * mientras el snapshot esté vigente. Las escrituras confirmadas llegan por {@link ClienteEvento}
+ * y se aplican sobre una copia que luego se publica; si el parche no puede garantizar el
+ * contenido (una baja con la lista llena) el snapshot se descarta y se reconstruye en la
+ * siguiente lectura.
+ * <p>
+ * La reconstrucción y los parches comparten un mismo candado, así que un evento que llega
+ * durante una recarga se aplica sobre la lista recién cargada y no se pierde.
+ */
+@Component
+@Slf4j
+public class ClientesActivosSnapshot {
+
+    private static final Comparator<ClienteResponseDTO> POR_ID = Comparator.comparing(ClienteResponseDTO::getId);
+
+    private final int maximo;
+    private final ContextoTransaccional contexto;
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private volatile ClientesSnapshotDTO actual;
+    private long generacion;
+    private Instant modificado = Instant.now();
+
+    public ClientesActivosSnapshot(int maximo) {
+        this(maximo, ContextoTransaccional.sinReplicas());
+    }
+
+    @Autowired
+    public ClientesActivosSnapshot(@Value("${app.clientes.listar.maximo:1000}") int maximo, ContextoTransaccional contexto) {
+        this.maximo = maximo;
+        this.contexto = contexto;
+    }
+
+    /**
+     * Devuelve el snapshot vigente, cargándolo si hace falta.
+     * Dentro de una transacción de escritura se consulta directamente, sin publicar el resultado;
+     * lo mismo si hay que cargarlo mientras una réplica de lectura pueda estar atrasada.
+     *
+     * @param cargador consulta de clientes activos ordenados por id, acotada al máximo
+     * @return snapshot vigente
+     */
+    public ClientesSnapshotDTO obtener(Supplier<List<ClienteResponseDTO>> cargador) {
+        ClientesSnapshotDTO snapshot = actual;
+        if (snapshot != null && ContextoTransaccional.sinEscriturasPendientes()) {
+            return snapshot;
+        }
+        if (!contexto.lecturaPublicable()) {
+            // Puede incluir cambios sin confirmar o venir de una réplica atrasada:
+            // se marca para que su versión nunca coincida con la publicada
+            List<ClienteResponseDTO> clientes = cargador.get();
+            escritura.lock();
+            try {
+                return new ClientesSnapshotDTO(generacion, epoca + "-" + generacion + "-tx", modificado, clientes);
+            } finally {
+                escritura.unlock();
+            }
+        }
+        escritura.lock();
+        try {
+            if (actual == null) {
+                if (generacion == 0) {
+                    generacion = 1;
+                }
+                actual = crear(cargador.get());
+                log.debug("Snapshot de clientes activos reconstruido (generación {})", generacion);
+            }
+            return actual;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Generación actual, sin cargar el snapshot
+     *
+     * @return número de versión de la lista
+     */
+    public long generacion() {
+        escritura.lock();
+        try {
+            return generacion;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Aplica una escritura confirmada sobre una copia del snapshot y la publica
+     *
+     * @param evento escritura sobre un cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        escritura.lock();
+        try {
+            generacion++;
+            modificado = Instant.now();
+            ClientesSnapshotDTO snapshot = actual;
+            if (snapshot == null) {
+                return;
+            }
+            List<ClienteResponseDTO> clientes = new ArrayList<>(snapshot.clientes());
+            boolean lleno = clientes.size() >= maximo;
+            int posicion = buscar(clientes, evento.id());
+            if (posicion >= 0) {
+                clientes.remove(posicion);
+            }
+            ClienteResponseDTO cliente = evento.cliente();
+            if (cliente != null && Boolean.TRUE.equals(cliente.getActivo())) {
+                clientes.add(-buscar(clientes, evento.id()) - 1, cliente);
+                if (clientes.size() > maximo) {
+                    clientes.remove(clientes.size() - 1);
+                }
+            }
+            if (lleno && clientes.size() < maximo) {
+                actual = null;
+                log.debug("Snapshot de clientes activos descartado por evento {} (id: {})", evento.tipo(), evento.id());
+                return;
+            }
+            actual = crear(clientes);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private ClientesSnapshotDTO crear(List<ClienteResponseDTO> clientes) {
+        return new ClientesSnapshotDTO(generacion, epoca + "-" + generacion, modificado, clientes);
+    }
+
+    private static int buscar(List<ClienteResponseDTO> clientes, Long id) {
+        ClienteResponseDTO clave = new ClienteResponseDTO();
+        clave.setId(id);
+        return Collections.binarySearch(clientes, clave, POR_ID);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.repository.ClienteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtros de Bloom ({@link FiltroBloom}) con los nombres y emails de todos los clientes, para
+ * responder sin consultar la base de datos que un nombre o un email seguro no existe.
+ * <p>
+ * Se cargan al arrancar y se mantienen con {@link ClienteEvento}: cada alta o cambio se agrega al
+ * publicarse, antes del commit, para que ningún lector vea el cliente confirmado sin verlo en el
+ * filtro, y otra vez después del commit, por si una reconstrucción en curso no lo leyó. Un filtro
+ * no admite bajas, así que los nombres anteriores y los clientes eliminados siguen respondiendo
+ * "puede existir" hasta que el filtro se reconstruye, cuando superan la fracción configurada o los
+ * clientes superan la capacidad. Mientras no termina la primera carga todo puede existir.
+ */
+@Component
+@Slf4j
+public class ClientesExistentes {
+
+    private final ClienteRepository repository;
+    private final TransactionTemplate lectura;
+    private final long capacidadMinima;
+    private final double falsosPositivos;
+    private final double obsoletosMaximo;
+    private final AtomicLong elementos = new AtomicLong();
+    private final AtomicLong obsoletos = new AtomicLong();
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+    private final Object candado = new Object();
+    private volatile Filtros vigentes;
+    private Filtros enConstruccion;
+
+    public ClientesExistentes(
+            ClienteRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.clientes.existentes.capacidad-minima:10000}") long capacidadMinima,
+            @Value("${app.clientes.existentes.falsos-positivos:0.01}") double falsosPositivos,
+            @Value("${app.clientes.existentes.obsoletos-maximo:0.2}") double obsoletosMaximo) {
+        this.repository = repository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.capacidadMinima = capacidadMinima;
+        this.falsosPositivos = falsosPositivos;
+        this.obsoletosMaximo = obsoletosMaximo;
+    }
+
+    /**
+     * Carga o reconstruye los filtros leyendo todos los clientes con un stream de solo lectura.
+     * Las altas que llegan durante la lectura se agregan también al filtro nuevo y se suman a las leídas,
+     * igual que las entradas obsoletas que se cuentan mientras tanto siguen pendientes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        long inicio = System.nanoTime();
+        Filtros nuevos = new Filtros(Math.max(capacidadMinima, 2 * elementos.get()), falsosPositivos);
+        synchronized (candado) {
+            enConstruccion = nuevos;
+        }
+        long leidos;
+        long elementosAntes = elementos.get();
+        long obsoletosAntes = obsoletos.get();
+        try {
+            leidos = lectura.execute(estado -> {
+                long total = 0;
+                try (Stream<ClienteResponseDTO> clientes = repository.streamTodos()) {
+                    var iterador = clientes.iterator();
+                    while (iterador.hasNext()) {
+                        nuevos.agregar(iterador.next());
+                        total++;
+                    }
+                }
+                return total;
+            });
+        } catch (RuntimeException e) {
+            synchronized (candado) {
+                enConstruccion = null;
+            }
+            throw e;
+        }
+        synchronized (candado) {
+            vigentes = nuevos;
+            enConstruccion = null;
+        }
+        // Una alta confirmada durante la lectura puede haberse leído también: se cuenta de más, nunca de menos
+        elementos.addAndGet(leidos - elementosAntes);
+        obsoletos.addAndGet(-obsoletosAntes);
+        log.info("Filtros de clientes existentes cargados: {} clientes, {} bits por filtro en {} ms",
+                leidos, nuevos.nombres().getCantidadBits(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * @param nombre nombre exacto
+     * @return false si ningún cliente tiene ese nombre; true si puede tenerlo
+     */
+    public boolean nombrePuedeExistir(String nombre) {
+        Filtros filtros = vigentes;
+        return filtros == null || filtros.nombres().puedeContener(nombre);
+    }
+
+    /**
+     * @param nombres nombres exactos
+     * @param emails  emails exactos; los nulos se ignoran
+     * @return false si ninguno de los nombres ni de los emails pertenece a un cliente
+     */
+    public boolean algunoPuedeExistir(Collection<String> nombres, Collection<String> emails) {
+        Filtros filtros = vigentes;
+        if (filtros == null) {
+            return true;
+        }
+        return nombres.stream().filter(Objects::nonNull).anyMatch(filtros.nombres()::puedeContener)
+                || emails.stream().filter(Objects::nonNull).anyMatch(filtros.emails()::puedeContener);
+    }
+
+    /**
+     * Agrega el nombre y el email de un alta o un cambio en cuanto se publica, dentro de la transacción
+     *
+     * @param evento escritura sobre un cliente, aún sin confirmar
+     */
+    @EventListener
+    public void alPublicarCambio(ClienteEvento evento) {
+        if (evento.cliente() != null) {
+            agregar(evento.cliente());
+        }
+    }
+
+    /**
+     * Vuelve a agregar las altas y cambios confirmados y cuenta las entradas que quedaron obsoletas
+     * (nombres anteriores y clientes eliminados); reconstruye los filtros en segundo plano si son demasiadas
+     *
+     * @param evento escritura confirmada sobre un cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        switch (evento.tipo()) {
+            case CREADO -> {
+                agregar(evento.cliente());
+                elementos.incrementAndGet();
+            }
+            case ACTUALIZADO -> {
+                agregar(evento.cliente());
+                if (!evento.cliente().getNombre().equals(evento.nombreAnterior())) {
+                    obsoletos.incrementAndGet();
+                }
+            }
+            case ELIMINADO -> obsoletos.incrementAndGet();
+            case DESACTIVADO -> {
+                return;
+            }
+        }
+        Filtros filtros = vigentes;
+        if (filtros != null
+                && (obsoletos.get() > elementos.get() * obsoletosMaximo || elementos.get() > filtros.nombres().getCapacidad())
+                && reconstruyendo.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("clientes-existentes").start(() -> {
+                try {
+                    cargar();
+                } catch (RuntimeException e) {
+                    log.warn("No se pudieron reconstruir los filtros de clientes existentes", e);
+                } finally {
+                    reconstruyendo.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Clientes contados en los filtros, expuesto para estadísticas
+     *
+     * @return clientes leídos en la última carga más las altas posteriores
+     */
+    public long getElementos() {
+        return elementos.get();
+    }
+
+    private void agregar(ClienteResponseDTO cliente) {
+        synchronized (candado) {
+            if (vigentes != null) {
+                vigentes.agregar(cliente);
+            }
+            if (enConstruccion != null) {
+                enConstruccion.agregar(cliente);
+            }
+        }
+    }
+
+    private record Filtros(FiltroBloom nombres, FiltroBloom emails) {
+
+        Filtros(long capacidad, double falsosPositivos) {
+            this(new FiltroBloom(capacidad, falsosPositivos), new FiltroBloom(capacidad, falsosPositivos));
+        }
+
+        /**
+         * El email es opcional: sin email sólo se agrega el nombre, como en el directorio de los shards
+         */
+        void agregar(ClienteResponseDTO cliente) {
+            if (cliente.getNombre() != null) {
+                nombres.agregar(cliente.getNombre());
+            }
+            if (cliente.getEmail() != null) {
+                emails.agregar(cliente.getEmail());
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Consultas en curso compartidas entre peticiones concurrentes ("single flight").
+ * <p>
+ * La primera petición por una clave ejecuta la consulta; las que llegan mientras tanto esperan su
+ * resultado (o su excepción) en lugar de repetirla. La entrada se quita en cuanto hay resultado, así
+ * que no es una caché: sólo deduplica lo que está en vuelo.
+ * <p>
+ * La clave incluye la {@link ClienteCache#marca() marca} de escrituras tomada por quien pregunta:
+ * una petición que llega después de un commit no se une a una consulta iniciada antes, que podría
+ * no verlo. Tampoco se comparte nada dentro de una transacción de escritura ni mientras una réplica
+ * pueda estar atrasada; en esos casos cada petición consulta por su cuenta.
+ *
+ * @param <K> tipo de la clave de búsqueda
+ * @param <V> tipo del resultado
+ */
+public class ConsultasCompartidas<K, V> {
+
+    private final ConcurrentMap<Clave<K>, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Counter lideres;
+    private final Counter seguidores;
+    private final ContextoTransaccional contexto;
+
+    /**
+     * @param consulta nombre de la consulta, etiqueta de las métricas
+     * @param registry registro de métricas
+     */
+    public ConsultasCompartidas(String consulta, MeterRegistry registry) {
+        this(consulta, registry, ContextoTransaccional.sinReplicas());
+    }
+
+    ConsultasCompartidas(String consulta, MeterRegistry registry, ContextoTransaccional contexto) {
+        this.contexto = contexto;
+        this.lideres = Counter.builder("clientes.consultas.compartidas")
+                .description("Consultas por clave: las que fueron a la base (lider) y las que esperaron a otra (seguidor)")
+                .tag("consulta", consulta)
+                .tag("rol", "lider")
+                .register(registry);
+        this.seguidores = Counter.builder("clientes.consultas.compartidas")
+                .description("Consultas por clave: las que fueron a la base (lider) y las que esperaron a otra (seguidor)")
+                .tag("consulta", consulta)
+                .tag("rol", "seguidor")
+                .register(registry);
+        Gauge.builder("clientes.consultas.compartidas.proporcion", this, ConsultasCompartidas::proporcion)
+                .description("Fracción de las consultas por clave resueltas sin ir a la base")
+                .tag("consulta", consulta)
+                .register(registry);
+    }
+
+    /**
+     * Ejecuta la consulta o espera la que ya está en curso para la misma clave y marca
+     *
+     * @param clave    clave de búsqueda
+     * @param marca    {@link ClienteCache#marca()} tomada antes de consultar
+     * @param consulta consulta a la base de datos
+     * @return resultado de la consulta
+     */
+    public V obtener(K clave, long marca, Supplier<V> consulta) {
+        if (!contexto.lecturaPublicable()) {
+            return consulta.get();
+        }
+        Clave<K> enVuelo = new Clave<>(clave, marca);
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(enVuelo, propia);
+        if (existente != null) {
+            seguidores.increment();
+            return esperar(existente);
+        }
+        lideres.increment();
+        try {
+            V valor = consulta.get();
+            enCurso.remove(enVuelo, propia);
+            propia.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            enCurso.remove(enVuelo, propia);
+            propia.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return consultas que fueron a la base de datos
+     */
+    public long getLideres() {
+        return (long) lideres.count();
+    }
+
+    /**
+     * @return consultas resueltas con el resultado de otra
+     */
+    public long getSeguidores() {
+        return (long) seguidores.count();
+    }
+
+    private double proporcion() {
+        double total = lideres.count() + seguidores.count();
+        return total == 0 ? 0 : seguidores.count() / total;
+    }
+
+    private static <V> V esperar(CompletableFuture<V> resultado) {
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera de una consulta en curso interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Clave<K>(K clave, long marca) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.cache;
+
+import com.example.demo.datasource.ConsistenciaLectura;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Decide si las copias en memoria pueden usarse en el hilo actual
+ */
+@Component
+final class ContextoTransaccional {
+
+    private final ConsistenciaLectura consistencia;
+
+    ContextoTransaccional(ConsistenciaLectura consistencia) {
+        this.consistencia = consistencia;
+    }
+
+    /**
+     * Contexto sin réplicas de lectura, para las copias en memoria creadas fuera de Spring
+     *
+     * @return contexto nuevo
+     */
+    static ContextoTransaccional sinReplicas() {
+        return new ContextoTransaccional(new ConsistenciaLectura(Duration.ZERO));
+    }
+
+    /**
+     * Indica si el hilo no tiene una transacción de escritura en curso.
+     * Dentro de una transacción de escritura las copias en memoria no reflejan
+     * los cambios aún sin confirmar, y lo leído de la base de datos podría revertirse.
+     *
+     * @return true si no hay transacción o es de solo lectura
+     */
+    static boolean sinEscriturasPendientes() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Indica si lo leído de la base de datos puede publicarse en las copias en memoria compartidas:
+     * sin escrituras pendientes en el hilo y, con réplicas de lectura, fuera de la ventana en la
+     * que una réplica aún podría no tener la última escritura confirmada.
+     *
+     * @return true si la lectura no puede estar atrasada
+     */
+    boolean lecturaPublicable() {
+        return sinEscriturasPendientes() && consistencia.replicasAlDia();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de textos: responde "seguro que no está" o "puede estar".
+ * <p>
+ * Cada texto marca {@code k} bits de un arreglo de {@code m} bits, elegidos con doble hashing
+ * ({@code h1 + i·h2}) sobre un único hash de 64 bits. {@code m} y {@code k} se calculan para la
+ * capacidad y la tasa de falsos positivos pedidas; por encima de la capacidad la tasa crece.
+ * No admite bajas: un texto agregado responde "puede estar" para siempre.
+ * <p>
+ * Las altas y consultas son seguras entre hilos sin candados y no reservan memoria.
+ */
+public class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int funciones;
+    private final long capacidad;
+
+    /**
+     * @param capacidad       número de textos previsto
+     * @param falsosPositivos tasa de falsos positivos admitida con esa capacidad, entre 0 y 1 (exclusivos)
+     */
+    public FiltroBloom(long capacidad, double falsosPositivos) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        if (!(falsosPositivos > 0 && falsosPositivos < 1)) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + falsosPositivos);
+        }
+        long optimos = (long) Math.ceil(-capacidad * Math.log(falsosPositivos) / (LN2 * LN2));
+        long palabras = Math.max(1, (optimos + 63) / 64);
+        this.bits = new AtomicLongArray(Math.toIntExact(palabras));
+        this.cantidadBits = palabras * 64;
+        this.funciones = Math.max(1, (int) Math.round((double) cantidadBits / capacidad * LN2));
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * @param texto texto a registrar
+     */
+    public void agregar(String texto) {
+        long h1 = hash(texto);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(palabra);
+            while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara)) {
+                actual = bits.get(palabra);
+            }
+        }
+    }
+
+    /**
+     * @param texto texto a consultar
+     * @return false si el texto seguro no fue agregado; true si puede haberlo sido
+     */
+    public boolean puedeContener(String texto) {
+        long h1 = hash(texto);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < funciones; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return número de textos para el que se dimensionó el filtro
+     */
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * @return tamaño del arreglo de bits
+     */
+    public long getCantidadBits() {
+        return cantidadBits;
+    }
+
+    /**
+     * @return bits marcados por cada texto
+     */
+    public int getFunciones() {
+        return funciones;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre los caracteres, con la mezcla final de MurmurHash3
+     */
+    private static long hash(String texto) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < texto.length(); i++) {
+            h ^= texto.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
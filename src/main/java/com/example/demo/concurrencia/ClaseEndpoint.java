@@ -0,0 +1,33 @@
+package com.example.demo.concurrencia;
+
+/**
+ * Clases de endpoint con límite de concurrencia propio: las lecturas son baratas y muchas, las
+ * escrituras toman conexiones más tiempo y compiten por bloqueos, así que se limitan por separado
+ * y una ráfaga de una clase no deja sin admisión a la otra.
+ */
+public enum ClaseEndpoint {
+
+    LECTURA("lectura"),
+    ESCRITURA("escritura");
+
+    private final String etiqueta;
+
+    ClaseEndpoint(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * @param metodoHttp método de la petición
+     * @return {@link #LECTURA} para GET, HEAD y OPTIONS; {@link #ESCRITURA} para el resto
+     */
+    public static ClaseEndpoint desde(String metodoHttp) {
+        return switch (metodoHttp) {
+            case "GET", "HEAD", "OPTIONS" -> LECTURA;
+            default -> ESCRITURA;
+        };
+    }
+}
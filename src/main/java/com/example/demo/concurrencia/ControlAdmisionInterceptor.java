@@ -0,0 +1,80 @@
+package com.example.demo.concurrencia;
+
+import com.example.demo.exception.ServicioSobrecargadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Control de admisión de la API de clientes: cada petición ocupa un lugar del
+ * {@link LimiteAdaptativo} de su clase ({@link ClaseEndpoint}) o se rechaza al instante con
+ * {@link ServicioSobrecargadoException}, que {@code GlobalExceptionHandler} responde con
+ * {@code 503} y {@code Retry-After}. Así el exceso no espera en la cola de Tomcat ni del pool de
+ * conexiones y la latencia de las peticiones admitidas se mantiene acotada.
+ * <p>
+ * Publica por clase {@code clientes.concurrencia.limite}, {@code clientes.concurrencia.en_curso}
+ * y el contador {@code clientes.concurrencia.rechazos}.
+ */
+public class ControlAdmisionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISION = ControlAdmisionInterceptor.class.getName() + ".admision";
+
+    private final Map<ClaseEndpoint, LimiteAdaptativo> limites;
+    private final Map<ClaseEndpoint, Counter> rechazos = new EnumMap<>(ClaseEndpoint.class);
+    private final Duration reintentarEn;
+
+    public ControlAdmisionInterceptor(Map<ClaseEndpoint, LimiteAdaptativo> limites, Duration reintentarEn,
+                                      MeterRegistry registry) {
+        this.limites = new EnumMap<>(limites);
+        this.reintentarEn = reintentarEn;
+        this.limites.forEach((clase, limite) -> {
+            Gauge.builder("clientes.concurrencia.limite", limite, LimiteAdaptativo::getLimite)
+                    .description("Límite de peticiones simultáneas admitidas")
+                    .tag("clase", clase.getEtiqueta())
+                    .register(registry);
+            Gauge.builder("clientes.concurrencia.en_curso", limite, LimiteAdaptativo::getEnVuelo)
+                    .description("Peticiones admitidas en curso")
+                    .tag("clase", clase.getEtiqueta())
+                    .register(registry);
+            rechazos.put(clase, Counter.builder("clientes.concurrencia.rechazos")
+                    .description("Peticiones rechazadas con 503 por el control de admisión")
+                    .tag("clase", clase.getEtiqueta())
+                    .register(registry));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // En el despacho asíncrono la petición ya fue admitida en el despacho inicial
+        if (request.getAttribute(ADMISION) != null) {
+            return true;
+        }
+        ClaseEndpoint clase = ClaseEndpoint.desde(request.getMethod());
+        LimiteAdaptativo limite = limites.get(clase);
+        if (!limite.intentarAdquirir()) {
+            rechazos.get(clase).increment();
+            throw new ServicioSobrecargadoException(clase.getEtiqueta(), limite.getLimite(), reintentarEn);
+        }
+        request.setAttribute(ADMISION, new Admision(limite, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMISION) instanceof Admision admision) {
+            request.removeAttribute(ADMISION);
+            boolean fallida = ex != null || response.getStatus() >= 500;
+            admision.limite().liberar(System.nanoTime() - admision.inicio(), fallida);
+        }
+    }
+
+    private record Admision(LimiteAdaptativo limite, long inicio) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.concurrencia;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de peticiones simultáneas que se ajusta con la latencia observada (algoritmo de gradiente).
+ * <p>
+ * Por la ley de Little, con un caudal {@code X} y una latencia sin cola {@code R} bastan
+ * {@code X·R} peticiones en curso para saturar el servicio; por encima de ese número sólo crece la
+ * cola y con ella la latencia de todas. Por eso el límite se compara cada ventana con la latencia:
+ * <ul>
+ *   <li>{@code rttCorto}: latencia media de la última ventana;</li>
+ *   <li>{@code rttLargo}: media móvil de muchas ventanas, la referencia "sin cola".</li>
+ * </ul>
+ * El nuevo límite es {@code limite · gradiente + √limite}, con
+ * {@code gradiente = tolerancia · rttLargo / rttCorto} acotado a [0.5, 1]: mientras la latencia no
+ * supere la referencia en más de la tolerancia el límite crece (la raíz deja una cola pequeña),
+ * y cuando se dispara el límite cae en proporción. Las peticiones que fallan por sobrecarga
+ * (5xx) reducen el límite multiplicativamente, como en AIMD. Una ventana en la que nunca se usó
+ * la mitad del límite no dice nada de la capacidad y no lo cambia.
+ */
+public class LimiteAdaptativo {
+
+    private static final int MUESTRAS_MINIMAS = 10;
+    private static final int VENTANAS_LARGAS = 20;
+    private static final double SUAVIZADO = 0.2;
+    private static final double FACTOR_REDUCCION = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final long ventanaNanos;
+    private final LongSupplier reloj;
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    private volatile int limite;
+
+    private double estimado;
+    private double rttLargo;
+    private long inicioVentana;
+    private long sumaLatencias;
+    private int muestras;
+    private int maximoEnVuelo;
+    private boolean huboFallas;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia, Duration ventana) {
+        this(inicial, minimo, maximo, tolerancia, ventana, System::nanoTime);
+    }
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia, Duration ventana, LongSupplier reloj) {
+        if (minimo < 1 || minimo > inicial || inicial > maximo) {
+            throw new IllegalArgumentException("Se requiere 1 <= minimo <= inicial <= maximo");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.ventanaNanos = ventana.toNanos();
+        this.reloj = reloj;
+        this.estimado = inicial;
+        this.limite = inicial;
+        this.inicioVentana = reloj.getAsLong();
+    }
+
+    /**
+     * Admite la petición si hay lugar bajo el límite actual; no espera
+     *
+     * @return true si fue admitida; en ese caso debe llamarse a {@link #liberar} al terminar
+     */
+    public boolean intentarAdquirir() {
+        while (true) {
+            int actual = enVuelo.get();
+            if (actual >= limite) {
+                return false;
+            }
+            if (enVuelo.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar de una petición admitida y registra su latencia
+     *
+     * @param latenciaNanos duración de la petición
+     * @param fallida       si terminó con un error de sobrecarga (5xx)
+     */
+    public void liberar(long latenciaNanos, boolean fallida) {
+        int enVueloAlTerminar = enVuelo.getAndDecrement();
+        synchronized (this) {
+            sumaLatencias += latenciaNanos;
+            muestras++;
+            maximoEnVuelo = Math.max(maximoEnVuelo, enVueloAlTerminar);
+            huboFallas |= fallida;
+            long ahora = reloj.getAsLong();
+            if (ahora - inicioVentana >= ventanaNanos && muestras >= MUESTRAS_MINIMAS) {
+                ajustar();
+                inicioVentana = ahora;
+                sumaLatencias = 0;
+                muestras = 0;
+                maximoEnVuelo = 0;
+                huboFallas = false;
+            }
+        }
+    }
+
+    /**
+     * @return límite vigente
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * @return peticiones admitidas en curso
+     */
+    public int getEnVuelo() {
+        return enVuelo.get();
+    }
+
+    private void ajustar() {
+        double rttCorto = (double) sumaLatencias / muestras;
+        // La referencia sigue despacio a la latencia, pero baja enseguida si la carga desaparece
+        rttLargo = rttLargo == 0 ? rttCorto : rttLargo + (rttCorto - rttLargo) / VENTANAS_LARGAS;
+        rttLargo = Math.min(rttLargo, 2 * rttCorto);
+
+        if (huboFallas) {
+            estimado = Math.max(minimo, estimado * FACTOR_REDUCCION);
+        } else if (maximoEnVuelo >= estimado / 2) {
+            double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttLargo / rttCorto));
+            double nuevo = estimado * gradiente + Math.sqrt(estimado);
+            estimado = Math.max(minimo, Math.min(maximo, estimado * (1 - SUAVIZADO) + nuevo * SUAVIZADO));
+        }
+        limite = (int) estimado;
+    }
+}
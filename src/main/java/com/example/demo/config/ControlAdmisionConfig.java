@@ -0,0 +1,66 @@
+package com.example.demo.config;
+
+import com.example.demo.concurrencia.ClaseEndpoint;
+import com.example.demo.concurrencia.ControlAdmisionInterceptor;
+import com.example.demo.concurrencia.LimiteAdaptativo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Control de admisión con límites de concurrencia adaptativos ({@code app.concurrencia.habilitado=true}).
+ * <p>
+ * Aplica a {@code /api/v1/clientes} y {@code /api/v1/clientes/**} salvo la exportación, que es una respuesta en streaming de
+ * larga duración con su propio ejecutor, y el health check. Cada clase de endpoint toma
+ * {@code inicial}, {@code minimo} y {@code maximo} de {@code app.concurrencia.lecturas} y
+ * {@code app.concurrencia.escrituras}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.concurrencia.habilitado", havingValue = "true")
+public class ControlAdmisionConfig implements WebMvcConfigurer {
+
+    private final ControlAdmisionInterceptor interceptor;
+
+    public ControlAdmisionConfig(
+            Environment entorno,
+            MeterRegistry registry,
+            @Value("${app.concurrencia.tolerancia:1.5}") double tolerancia,
+            @Value("${app.concurrencia.ventana:100ms}") Duration ventana,
+            @Value("${app.concurrencia.reintentar-en:1s}") Duration reintentarEn) {
+        Map<ClaseEndpoint, LimiteAdaptativo> limites = new EnumMap<>(ClaseEndpoint.class);
+        limites.put(ClaseEndpoint.LECTURA, limite(entorno, "lecturas", 40, 4, 200, tolerancia, ventana));
+        limites.put(ClaseEndpoint.ESCRITURA, limite(entorno, "escrituras", 10, 2, 50, tolerancia, ventana));
+        this.interceptor = new ControlAdmisionInterceptor(limites, reintentarEn, registry);
+    }
+
+    @Bean
+    public ControlAdmisionInterceptor controlAdmisionInterceptor() {
+        return interceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/v1/clientes", "/api/v1/clientes/**")
+                .excludePathPatterns("/api/v1/clientes/export", "/api/v1/clientes/health");
+    }
+
+    private static LimiteAdaptativo limite(Environment entorno, String clase, int inicial, int minimo, int maximo,
+                                           double tolerancia, Duration ventana) {
+        String prefijo = "app.concurrencia." + clase + ".";
+        return new LimiteAdaptativo(
+                entorno.getProperty(prefijo + "inicial", Integer.class, inicial),
+                entorno.getProperty(prefijo + "minimo", Integer.class, minimo),
+                entorno.getProperty(prefijo + "maximo", Integer.class, maximo),
+                tolerancia, ventana);
+    }
+}
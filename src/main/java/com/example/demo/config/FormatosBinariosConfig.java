@@ -0,0 +1,35 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Negociación de contenido en CBOR ({@code application/cbor}, RFC 8949) para peticiones y respuestas.
+ * <p>
+ * El conversor se agrega al final de la lista para que JSON siga siendo el formato por defecto:
+ * sólo se usa cuando la petición lo pide en {@code Accept} o lo envía en {@code Content-Type}.
+ * El mapper sale del {@link Jackson2ObjectMapperBuilder} de Spring Boot, así que aplica los mismos
+ * módulos y propiedades {@code spring.jackson.*} que JSON (fechas, {@code @JsonIgnore}, etc.).
+ */
+@Configuration
+public class FormatosBinariosConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public FormatosBinariosConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pools Hikari adicionales de las configuraciones con varias bases (réplicas, shards).
+ * <p>
+ * Cada pool usa las credenciales de {@code spring.datasource} con otra URL, la configuración de
+ * {@code spring.datasource.hikari} y publica sus métricas bajo su nombre. Los pools no son beans:
+ * quien los crea los cierra con {@link #close()}.
+ */
+class PoolsHikari implements AutoCloseable {
+
+    private final DataSourceProperties propiedades;
+    private final Environment entorno;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    PoolsHikari(DataSourceProperties propiedades, Environment entorno, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.propiedades = propiedades;
+        this.entorno = entorno;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param nombre nombre del pool y de sus métricas
+     * @param url    URL JDBC de la base
+     * @return pool nuevo
+     */
+    HikariDataSource crear(String nombre, String url) {
+        HikariDataSource pool = propiedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(entorno).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(nombre);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        synchronized (pools) {
+            pools.add(pool);
+        }
+        return pool;
+    }
+
+    @Override
+    public void close() {
+        synchronized (pools) {
+            pools.forEach(HikariDataSource::close);
+            pools.clear();
+        }
+    }
+}
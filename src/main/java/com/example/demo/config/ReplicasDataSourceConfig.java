@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import com.example.demo.datasource.ConsistenciaLectura;
+import com.example.demo.datasource.EnrutadorDataSource;
+import com.example.demo.datasource.LecturaPropiaFilter;
+import com.example.demo.datasource.PoliticaBalanceo;
+import com.example.demo.datasource.ReplicacionSimulada;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecturas en réplicas ({@code app.datasource.replicas.habilitado=true}).
+ * <p>
+ * Reemplaza el {@code DataSource} de Spring Boot por un {@link EnrutadorDataSource} detrás de un
+ * {@link LazyConnectionDataSourceProxy}: las transacciones {@code readOnly} van a las réplicas según
+ * la política configurada y el resto al primario. Cada destino es un pool Hikari propio con la
+ * configuración de {@code spring.datasource.hikari} y sus métricas bajo su nombre de pool.
+ * Los pools no se registran como beans, para que el resto de la aplicación siga viendo un único
+ * {@code DataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.habilitado", havingValue = "true")
+public class ReplicasDataSourceConfig {
+
+    private final PoolsHikari pools;
+    private HikariDataSource primario;
+    private List<HikariDataSource> replicas;
+
+    public ReplicasDataSourceConfig(DataSourceProperties propiedades, Environment entorno,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pools = new PoolsHikari(propiedades, entorno, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties propiedades,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.politica:round-robin}") PoliticaBalanceo politica,
+            ConsistenciaLectura consistencia) {
+        primario = pools.crear(EnrutadorDataSource.PRIMARIO, propiedades.determineUrl());
+        replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(pools.crear("replica-" + i, urls.get(i)));
+        }
+        return new LazyConnectionDataSourceProxy(new EnrutadorDataSource(primario, replicas, politica, consistencia));
+    }
+
+    @Bean
+    public LecturaPropiaFilter lecturaPropiaFilter(ConsistenciaLectura consistencia) {
+        return new LecturaPropiaFilter(consistencia);
+    }
+
+    /**
+     * Réplicas H2 locales alimentadas desde el primario; recibe el {@code DataSource} sólo para
+     * crearse después de los pools
+     */
+    @Bean(destroyMethod = "detener")
+    @ConditionalOnProperty(name = "app.datasource.replicas.replicacion-simulada.habilitado", havingValue = "true")
+    public ReplicacionSimulada replicacionSimulada(
+            DataSource dataSource,
+            DataSourceProperties propiedades,
+            @Value("${app.datasource.replicas.replicacion-simulada.retraso:1s}") Duration retraso) {
+        return new ReplicacionSimulada(primario, replicas, propiedades.determineUrl(),
+                propiedades.determineUsername(), propiedades.determinePassword(), retraso);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pools.close();
+    }
+}
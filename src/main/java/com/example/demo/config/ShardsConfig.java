@@ -0,0 +1,112 @@
+package com.example.demo.config;
+
+import com.example.demo.shard.ClaveShard;
+import com.example.demo.shard.ClienteRepositoryShardsPostProcessor;
+import com.example.demo.shard.DirectorioClientes;
+import com.example.demo.shard.DispersionShards;
+import com.example.demo.shard.InicializacionShards;
+import com.example.demo.shard.ShardDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clientes repartidos en shards ({@code app.shards.habilitado=true}).
+ * <p>
+ * El shard 0 es {@code spring.datasource} y {@code app.shards.urls} agrega los siguientes. El
+ * {@code DataSource} de la aplicación es un {@link ShardDataSource} detrás de un
+ * {@link LazyConnectionDataSourceProxy}, y el repositorio decide el shard de cada operación. Como
+ * el shard va en el id, agregar shards no mueve los clientes existentes: las altas nuevas se reparten
+ * entre todos. Cada shard y el directorio de unicidad usan un pool Hikari propio configurado como
+ * el de {@code spring.datasource.hikari}; los pools no se registran como beans.
+ * <p>
+ * No se combina con las réplicas de lectura.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.shards.habilitado", havingValue = "true")
+public class ShardsConfig {
+
+    private static final String MAPEO_SHARDS = "META-INF/orm-shards.xml";
+
+    private final PoolsHikari pools;
+    private List<HikariDataSource> shards;
+
+    public ShardsConfig(DataSourceProperties propiedades, Environment entorno, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.pools = new PoolsHikari(propiedades, entorno, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties propiedades,
+            @Value("${app.shards.urls:}") List<String> urls,
+            @Value("${app.datasource.replicas.habilitado:false}") boolean replicas) {
+        if (replicas) {
+            throw new IllegalStateException("Los shards no se pueden combinar con las réplicas de lectura");
+        }
+        if (urls.size() + 1 > ClaveShard.MAXIMO_SHARDS) {
+            throw new IllegalStateException("Se admiten hasta " + ClaveShard.MAXIMO_SHARDS + " shards");
+        }
+        shards = new ArrayList<>();
+        shards.add(pools.crear("shard-0", propiedades.determineUrl()));
+        for (int i = 0; i < urls.size(); i++) {
+            shards.add(pools.crear("shard-" + (i + 1), urls.get(i)));
+        }
+        return new LazyConnectionDataSourceProxy(new ShardDataSource(shards));
+    }
+
+    @Bean
+    public DirectorioClientes directorioClientes(@Value("${app.shards.directorio.url}") String url) {
+        return new DirectorioClientes(pools.crear("directorio", url));
+    }
+
+    @Bean(destroyMethod = "close")
+    public DispersionShards dispersionShards(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        return new DispersionShards(shards.size(), transactionManager);
+    }
+
+    /**
+     * Recibe el {@code EntityManagerFactory} para copiar el esquema cuando Hibernate ya lo creó en el shard 0
+     */
+    @Bean
+    public InicializacionShards inicializacionShards(EntityManagerFactory entityManagerFactory, DirectorioClientes directorio) {
+        InicializacionShards inicializacion = new InicializacionShards(shards, directorio);
+        inicializacion.copiarEsquema();
+        return inicializacion;
+    }
+
+    /**
+     * Agrega al mapeo de {@code Cliente} el generador de ids con shard y la reserva de unicidad
+     * global ({@code META-INF/orm-shards.xml}); sin shards la entidad no los usa
+     */
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer mapeoShards() {
+        return builder -> builder.setPersistenceUnitPostProcessors(
+                unidad -> unidad.addMappingFileName(MAPEO_SHARDS));
+    }
+
+    @Bean
+    public static ClienteRepositoryShardsPostProcessor clienteRepositoryShardsPostProcessor(
+            ObjectProvider<DispersionShards> dispersion, ObjectProvider<DirectorioClientes> directorio) {
+        return new ClienteRepositoryShardsPostProcessor(dispersion, directorio);
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pools.close();
+    }
+}
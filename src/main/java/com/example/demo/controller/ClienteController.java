@@ -1,15 +1,35 @@
 package com.example.demo.controller;
 
+import com.example.demo.cache.ClienteRespuestaCache;
+import com.example.demo.export.ClienteExportWriter;
+import com.example.demo.export.FormatoExportacion;
+import com.example.demo.json.ClienteJsonSerializado;
+import com.example.demo.model.dto.ClienteLoteResponseDTO;
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import com.example.demo.model.dto.ClientePaginaDTO;
+import com.example.demo.model.dto.ClientePatchDTO;
 import com.example.demo.model.dto.ClienteRequestDTO;
 import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import com.example.demo.model.dto.ClienteVersionDTO;
+import com.example.demo.model.dto.ClientesSnapshotDTO;
+import com.example.demo.pagination.ClienteOrden;
 import com.example.demo.service.ClienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,7 +41,12 @@ import java.util.List;
 @Slf4j
 public class ClienteController {
     
+    static final String GENERACION_HEADER = "X-Clientes-Generacion";
+    
     private final ClienteService service;
+    private final ObjectMapper objectMapper;
+    private final ClienteRespuestaCache respuestas;
+    private final ContentNegotiationManager negociacion;
 
     /**
      * Crea un nuevo cliente
@@ -38,17 +63,74 @@ public class ClienteController {
     }
 
     /**
-     * Obtiene un cliente por su ID
+     * Crea varios clientes en una sola petición.
+     * Devuelve 201 si todos fueron creados, o 207 con el detalle por elemento si alguno falló.
+     * 
+     * @param requestDTOs datos de los clientes a crear
+     * @return resultado por elemento
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ClienteLoteResponseDTO> crearLote(@RequestBody List<ClienteRequestDTO> requestDTOs) {
+        log.info("POST /api/v1/clientes/batch - Crear lote de {} clientes", requestDTOs.size());
+        
+        ClienteLoteResponseDTO response = service.crearLote(requestDTOs);
+        HttpStatus estado = response.getCreados() == requestDTOs.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(estado).body(response);
+    }
+
+    /**
+     * Obtiene un cliente por su ID, con ETag {@code "id-version"} (más el sufijo de la
+     * representación, ver {@link ClienteEtag}) y Last-Modified.
+     * Con {@code If-None-Match} se consulta sólo la versión (caché o proyección) y, si
+     * coincide con la representación que se enviaría, se responde 304 sin leer, mapear ni
+     * serializar el cliente.
+     * El cuerpo JSON sale de la caché de respuestas serializadas: en un acierto sólo se copian
+     * los bytes (comprimidos con gzip si está habilitado y el cliente lo acepta). En CBOR se
+     * devuelve el cliente y lo escribe Jackson, sin armar el JSON.
      * 
      * @param id ID del cliente
-     * @return cliente encontrado
+     * @param ifNoneMatch ETags que el cliente ya tiene
+     * @param acceptEncoding codificaciones que acepta el cliente
+     * @param request petición, para negociar el formato como Spring MVC
+     * @return cliente encontrado, o 304 si no cambió
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<ClienteResponseDTO> obtenerPorId(@PathVariable Long id) {
-        log.info("GET /api/v1/clientes/{} - Obtener cliente", id);
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<Object> obtenerPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        log.debug("GET /api/v1/clientes/{} - Obtener cliente", id);
         
-        ClienteResponseDTO response = service.obtenerPorId(id);
-        return ResponseEntity.ok(response);
+        // Sólo el JSON se sirve comprimido
+        boolean cbor = ClienteEtag.esCbor(request, negociacion);
+        boolean gzip = !cbor && respuestas.isGzip() && ClienteRespuestaCache.aceptaGzip(acceptEncoding);
+        if (ifNoneMatch != null) {
+            ClienteVersionDTO version = service.obtenerVersion(id);
+            String etag = ClienteEtag.de(id, version.version(), cbor ? ClienteEtag.CBOR : null);
+            String etagGzip = ClienteEtag.de(id, version.version(), ClienteEtag.GZIP);
+            if (gzip && ClienteEtag.coincide(ifNoneMatch, etagGzip)) {
+                etag = etagGzip;
+            }
+            if (ClienteEtag.coincide(ifNoneMatch, etag)) {
+                return conVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, version.fechaActualizacion(),
+                        varianteObtener()).build();
+            }
+        }
+        
+        ClienteResponseDTO cliente = service.obtenerPorId(id);
+        if (cbor) {
+            return conVersion(ResponseEntity.ok(), ClienteEtag.de(id, cliente.getVersion(), ClienteEtag.CBOR),
+                    cliente.getFechaActualizacion(), varianteObtener())
+                    .body(cliente);
+        }
+        ClienteJsonSerializado response = respuestas.obtener(cliente);
+        if (gzip) {
+            response = respuestas.variante(response, acceptEncoding);
+        }
+        String etag = ClienteEtag.de(id, response.getVersion(), response.getCodificacion());
+        return conVersion(ResponseEntity.ok(), etag, response.getFechaActualizacion(), varianteObtener())
+                .body(response);
     }
 
     /**
@@ -59,40 +141,166 @@ public class ClienteController {
      */
     @GetMapping("/buscar")
     public ResponseEntity<ClienteResponseDTO> obtenerPorNombre(@RequestParam String nombre) {
-        log.info("GET /api/v1/clientes/buscar?nombre={} - Buscar cliente", nombre);
+        log.debug("GET /api/v1/clientes/buscar?nombre={} - Buscar cliente", nombre);
         
         ClienteResponseDTO response = service.obtenerPorNombre(nombre);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Lista todos los clientes activos
+     * Busca clientes activos por nombre aproximado (errores de escritura, tildes, mayúsculas),
+     * ordenados por similitud. No consulta la base de datos.
+     * 
+     * @param nombre nombre, posiblemente incompleto o mal escrito
+     * @param limit número máximo de resultados
+     * @return coincidencias de mayor a menor similitud
+     */
+    @GetMapping("/buscar/aproximado")
+    public ResponseEntity<List<ClienteCoincidenciaDTO>> buscarAproximado(
+            @RequestParam String nombre,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/v1/clientes/buscar/aproximado?nombre={} - Búsqueda aproximada", nombre);
+        
+        return ResponseEntity.ok(service.buscarAproximado(nombre, limit));
+    }
+
+    /**
+     * Sugiere clientes activos por prefijo del nombre (autocompletado).
+     * No distingue mayúsculas ni tildes y no consulta la base de datos.
+     * 
+     * @param prefijo prefijo del nombre
+     * @param limit número máximo de sugerencias
+     * @return sugerencias en orden alfabético
+     */
+    @GetMapping("/sugerir")
+    public ResponseEntity<List<ClienteSugerenciaDTO>> sugerir(
+            @RequestParam String prefijo,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/v1/clientes/sugerir?prefijo={} - Sugerir clientes", prefijo);
+        
+        return ResponseEntity.ok(service.sugerir(prefijo, limit));
+    }
+
+    /**
+     * Lista los clientes activos (acotado al máximo configurado).
+     * La cabecera {@code X-Clientes-Generacion} cambia sólo cuando cambia la lista,
+     * lo que permite a los clientes detectar modificaciones con un {@code HEAD}.
+     * El ETag deriva de la generación, así que un {@code If-None-Match} vigente recibe
+     * 304 sin serializar la lista.
      * 
+     * @param request petición, para negociar el formato como Spring MVC
      * @return lista de clientes
      */
-    @GetMapping
-    public ResponseEntity<List<ClienteResponseDTO>> listar() {
-        log.info("GET /api/v1/clientes - Listar todos los clientes");
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<ClienteResponseDTO>> listar(HttpServletRequest request) {
+        log.debug("GET /api/v1/clientes - Listar todos los clientes");
         
-        List<ClienteResponseDTO> response = service.listar();
-        return ResponseEntity.ok(response);
+        ClientesSnapshotDTO snapshot = service.listarSnapshot();
+        return ResponseEntity.ok()
+                .header(GENERACION_HEADER, String.valueOf(snapshot.generacion()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(ClienteEtag.deLista(snapshot.version(),
+                        ClienteEtag.esCbor(request, negociacion) ? ClienteEtag.CBOR : null))
+                .lastModified(snapshot.modificado())
+                .body(snapshot.clientes());
     }
 
     /**
-     * Actualiza un cliente existente
+     * Lista los clientes activos paginados por cursor.
+     * Si existe una página siguiente se incluye su enlace en la cabecera {@code Link}.
+     * 
+     * @param after cursor opaco devuelto por la página anterior
+     * @param limit tamaño de la página
+     * @param sort campo de orden (id, nombre o fechaRegistro)
+     * @return página de clientes
+     */
+    @GetMapping("/pagina")
+    public ResponseEntity<ClientePaginaDTO> listarPagina(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "id") String sort) {
+        if (log.isDebugEnabled()) {
+            log.debug("GET /api/v1/clientes/pagina - Listar página (sort: {}, limit: {})", sort, limit);
+        }
+        
+        ClientePaginaDTO response = service.listarPagina(after, limit, ClienteOrden.desde(sort));
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.getSiguienteCursor() != null) {
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", response.getSiguienteCursor())
+                    .build()
+                    .toUriString();
+            builder.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return builder.body(response);
+    }
+
+    /**
+     * Exporta todos los clientes en streaming (NDJSON o CSV).
+     * Las filas se escriben en la respuesta a medida que se leen de la base de datos.
+     * 
+     * @param formato formato de salida (ndjson o csv)
+     * @return cuerpo de respuesta en streaming
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "ndjson") String formato) {
+        log.debug("GET /api/v1/clientes/export?formato={} - Exportar clientes", formato);
+        
+        FormatoExportacion formatoExportacion = FormatoExportacion.desde(formato);
+        StreamingResponseBody body = salida -> {
+            ClienteExportWriter writer = ClienteExportWriter.crear(formatoExportacion, salida, objectMapper);
+            service.exportar(writer::escribir);
+            writer.finalizar();
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes." + formatoExportacion.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Actualiza un cliente existente.
+     * Con {@code If-Match} la actualización sólo se aplica si el ETag es el actual (si no, 412).
      * 
      * @param id ID del cliente a actualizar
      * @param requestDTO nuevos datos del cliente
+     * @param ifMatch ETag leído por el cliente
+     * @param request petición, para negociar el formato como Spring MVC
      * @return cliente actualizado
      */
-    @PutMapping("/{id}")
+    @PutMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<ClienteResponseDTO> actualizar(
             @PathVariable Long id, 
-            @Valid @RequestBody ClienteRequestDTO requestDTO) {
+            @Valid @RequestBody ClienteRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletRequest request) {
         log.info("PUT /api/v1/clientes/{} - Actualizar cliente", id);
         
-        ClienteResponseDTO response = service.actualizar(id, requestDTO);
-        return ResponseEntity.ok(response);
+        ClienteResponseDTO response = service.actualizar(id, requestDTO, ClienteEtag.versionEsperada(id, ifMatch));
+        return conVersion(ResponseEntity.ok(), response, ClienteEtag.esCbor(request, negociacion)).body(response);
+    }
+
+    /**
+     * Actualiza parcialmente un cliente; sólo se modifican los campos enviados
+     * 
+     * @param id ID del cliente
+     * @param patchDTO campos a modificar
+     * @param ifMatch ETag leído por el cliente
+     * @param request petición, para negociar el formato como Spring MVC
+     * @return cliente actualizado
+     */
+    @PatchMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ClienteResponseDTO> actualizarParcial(
+            @PathVariable Long id, 
+            @Valid @RequestBody ClientePatchDTO patchDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletRequest request) {
+        log.info("PATCH /api/v1/clientes/{} - Actualizar parcialmente cliente", id);
+        
+        ClienteResponseDTO response = service.actualizarParcial(id, patchDTO, ClienteEtag.versionEsperada(id, ifMatch));
+        return conVersion(ResponseEntity.ok(), response, ClienteEtag.esCbor(request, negociacion)).body(response);
     }
 
     /**
@@ -118,4 +326,30 @@ public class ClienteController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Cliente Service is UP");
     }
+
+    /**
+     * Cabeceras según las que varía {@code GET /{id}}: también la codificación si gzip está habilitado,
+     * aunque esta respuesta concreta no se haya comprimido
+     */
+    private String[] varianteObtener() {
+        return respuestas.isGzip()
+                ? new String[]{HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING}
+                : new String[]{HttpHeaders.ACCEPT};
+    }
+
+    private static ResponseEntity.BodyBuilder conVersion(ResponseEntity.BodyBuilder builder, ClienteResponseDTO cliente,
+                                                         boolean cbor) {
+        String etag = ClienteEtag.de(cliente.getId(), cliente.getVersion(), cbor ? ClienteEtag.CBOR : null);
+        return conVersion(builder, etag, cliente.getFechaActualizacion(), HttpHeaders.ACCEPT);
+    }
+
+    private static ResponseEntity.BodyBuilder conVersion(ResponseEntity.BodyBuilder builder, String etag,
+                                                         LocalDateTime fechaActualizacion, String... vary) {
+        // Cada representación tiene su propio ETag; las cachés las distinguen por estas cabeceras
+        builder.eTag(etag).varyBy(vary);
+        if (fechaActualizacion != null) {
+            builder.lastModified(ClienteEtag.fecha(fechaActualizacion));
+        }
+        return builder;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.demo.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Construcción y lectura de los ETag de clientes.
+ * <p>
+ * El ETag de un cliente es fuerte y tiene la forma {@code "id-version"} para JSON sin comprimir.
+ * Cada otra representación de la misma versión lleva su propio sufijo ({@code -cbor}, {@code -gzip}),
+ * porque un validador fuerte identifica los bytes exactos: una caché o una petición condicional no
+ * pueden confundir una con otra. {@code If-Match} compara sólo el id y la versión, así que cualquier
+ * representación sirve para actualizar.
+ */
+final class ClienteEtag {
+
+    static final String CBOR = "cbor";
+    static final String GZIP = "gzip";
+
+    private ClienteEtag() {
+    }
+
+    /**
+     * @param id       id del cliente
+     * @param version  versión del cliente
+     * @param variante sufijo de la representación ({@link #CBOR}, {@link #GZIP}), o null para JSON sin comprimir
+     * @return ETag de esa representación
+     */
+    static String de(Long id, Long version, String variante) {
+        return "\"" + id + "-" + version + (variante == null ? "" : "-" + variante) + "\"";
+    }
+
+    static String deLista(String version, String variante) {
+        return "\"" + version + (variante == null ? "" : "-" + variante) + "\"";
+    }
+
+    /**
+     * Indica si Spring MVC escribirá la respuesta en CBOR en lugar de JSON. Usa su misma resolución:
+     * los tipos aceptados salen de la estrategia de negociación configurada y se cruzan con los que
+     * produce el handler ({@code produces} del mapeo), ordenados por especificidad y calidad, igual que
+     * al elegir el conversor. Así el ETag corresponde siempre a la representación que se envía.
+     *
+     * @param request     petición en curso, ya asignada a su handler
+     * @param negociacion negociación de contenido de Spring MVC
+     * @return true si la respuesta será CBOR
+     */
+    static boolean esCbor(HttpServletRequest request, ContentNegotiationManager negociacion) {
+        @SuppressWarnings("unchecked")
+        Set<MediaType> producibles = (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        if (producibles == null) {
+            return false;
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = negociacion.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return false;
+        }
+        List<MediaType> compatibles = new ArrayList<>();
+        for (MediaType aceptado : aceptados) {
+            for (MediaType producible : producibles) {
+                if (aceptado.isCompatibleWith(producible)) {
+                    MediaType concreto = producible.copyQualityValue(aceptado);
+                    compatibles.add(aceptado.isLessSpecific(concreto) ? concreto : aceptado);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatibles);
+        return compatibles.stream()
+                .filter(MediaType::isConcrete)
+                .findFirst()
+                .map(MediaType.APPLICATION_CBOR::equalsTypeAndSubtype)
+                .orElse(false);
+    }
+
+    /**
+     * Indica si el valor de {@code If-None-Match} incluye el ETag dado (comparación débil, RFC 9110)
+     *
+     * @param ifNoneMatch valor de la cabecera
+     * @param etag        ETag actual
+     * @return true si el cliente ya tiene esa versión
+     */
+    static boolean coincide(String ifNoneMatch, String etag) {
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || (valor.startsWith("W/") ? valor.substring(2) : valor).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene la versión esperada a partir de {@code If-Match}, con el ETag de cualquier representación.
+     * La cabecera puede traer una lista: vale la primera entrada de este cliente. Un ETag débil, de
+     * otro cliente o mal formado nunca coincide (comparación fuerte).
+     *
+     * @param id      id del cliente
+     * @param ifMatch valor de la cabecera, o null
+     * @return versión esperada, -1 si no puede coincidir, o null si no hay condición
+     */
+    static Long versionEsperada(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        for (String candidato : ifMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return null;
+            }
+            Long version = version(id, valor);
+            if (version != null) {
+                return version;
+            }
+        }
+        return -1L;
+    }
+
+    static ZonedDateTime fecha(LocalDateTime fecha) {
+        return fecha == null ? null : fecha.atZone(ZoneId.systemDefault());
+    }
+
+    private static Long version(Long id, String etag) {
+        String prefijo = "\"" + id + "-";
+        if (!etag.startsWith(prefijo) || !etag.endsWith("\"") || etag.length() <= prefijo.length() + 1) {
+            return null;
+        }
+        String resto = etag.substring(prefijo.length(), etag.length() - 1);
+        int fin = resto.indexOf('-');
+        if (fin >= 0 && !esVariante(resto.substring(fin + 1))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(fin < 0 ? resto : resto.substring(0, fin));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static boolean esVariante(String sufijo) {
+        return sufijo.equals(CBOR) || sufijo.equals(GZIP);
+    }
+}
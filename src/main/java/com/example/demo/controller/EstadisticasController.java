@@ -0,0 +1,53 @@
+package com.example.demo.controller;
+
+import com.example.demo.cache.ClienteCache;
+import com.example.demo.cache.ClienteRespuestaCache;
+import com.example.demo.cache.ClientesActivosSnapshot;
+import com.example.demo.model.dto.CacheEstadisticasDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST de solo lectura con estadísticas internas del servicio
+ */
+@RestController
+@RequestMapping("/api/v1/estadisticas")
+@RequiredArgsConstructor
+public class EstadisticasController {
+
+    private final ClienteCache clienteCache;
+    private final ClienteRespuestaCache clienteRespuestas;
+    private final ClientesActivosSnapshot clientesActivos;
+
+    /**
+     * Obtiene los contadores de aciertos, fallos y desalojos de la caché de clientes
+     *
+     * @return estadísticas por caché
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheEstadisticasDTO>> cache() {
+        return ResponseEntity.ok(List.of(
+                CacheEstadisticasDTO.desde("clientes.porId", clienteCache.getPorId()),
+                CacheEstadisticasDTO.desde("clientes.porNombre", clienteCache.getPorNombre()),
+                CacheEstadisticasDTO.desde("clientes.idsInexistentes", clienteCache.getIdsInexistentes()),
+                CacheEstadisticasDTO.desde("clientes.nombresInexistentes", clienteCache.getNombresInexistentes()),
+                CacheEstadisticasDTO.desde("clientes.respuestas", clienteRespuestas.getPorId())
+        ));
+    }
+
+    /**
+     * Obtiene la generación actual de la lista de clientes activos sin cargarla
+     *
+     * @return generación de la lista
+     */
+    @GetMapping("/clientes/generacion")
+    public ResponseEntity<Map<String, Long>> generacionClientes() {
+        return ResponseEntity.ok(Map.of("generacion", clientesActivos.generacion()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Estado de consistencia de lectura cuando las transacciones de solo lectura van a réplicas.
+ * <p>
+ * Las réplicas se actualizan de forma asíncrona, así que durante una ventana tras cada escritura
+ * confirmada pueden no tenerla todavía. Para que un cliente vea sus propias escrituras, su
+ * petición abre una {@link Sesion} con el instante hasta el que sus lecturas deben ir al primario;
+ * cada escritura confirmada en el hilo extiende ese instante y lo notifica (la cookie de
+ * {@link LecturaPropiaFilter}). Sin réplicas configuradas la ventana es cero y nada cambia.
+ * <p>
+ * Hay una instancia por contexto de Spring, compartida por el enrutador, el filtro y las copias en memoria.
+ */
+@Component
+public class ConsistenciaLectura {
+
+    private final ThreadLocal<Sesion> actual = new ThreadLocal<>();
+    private final long ventanaMillis;
+    private volatile long ultimaEscritura;
+
+    @Autowired
+    public ConsistenciaLectura(
+            @Value("${app.datasource.replicas.habilitado:false}") boolean replicas,
+            @Value("${app.datasource.replicas.ventana-lectura-propia:2s}") Duration ventana) {
+        this(replicas ? ventana : Duration.ZERO);
+    }
+
+    /**
+     * @param ventana duración tras una escritura durante la cual las réplicas pueden estar atrasadas
+     *                (el retraso de replicación esperado), o cero sin réplicas
+     */
+    public ConsistenciaLectura(Duration ventana) {
+        this.ventanaMillis = ventana.toMillis();
+    }
+
+    /**
+     * @return ventana de lectura propia
+     */
+    public Duration getVentana() {
+        return Duration.ofMillis(ventanaMillis);
+    }
+
+    /**
+     * Abre la sesión de lectura de una petición en el hilo actual; debe cerrarse en el mismo hilo
+     *
+     * @param primarioHasta instante (epoch ms) hasta el que leer del primario, o 0
+     * @param alEscribir    recibe el nuevo instante tras cada escritura confirmada en el hilo
+     * @return sesión abierta
+     */
+    public Sesion abrir(long primarioHasta, LongConsumer alEscribir) {
+        Sesion sesion = new Sesion(actual, actual.get(), primarioHasta, alEscribir);
+        actual.set(sesion);
+        return sesion;
+    }
+
+    /**
+     * Indica si las lecturas del hilo deben ir al primario porque su cliente escribió hace poco
+     *
+     * @return true dentro de la ventana de lectura propia
+     */
+    boolean requierePrimario() {
+        Sesion sesion = actual.get();
+        return sesion != null && System.currentTimeMillis() < sesion.primarioHasta;
+    }
+
+    /**
+     * Registra una escritura confirmada en el primario desde el hilo actual
+     */
+    void escrituraConfirmada() {
+        long ahora = System.currentTimeMillis();
+        ultimaEscritura = ahora;
+        Sesion sesion = actual.get();
+        if (sesion != null && ventanaMillis > 0) {
+            sesion.primarioHasta = ahora + ventanaMillis;
+            sesion.alEscribir.accept(sesion.primarioHasta);
+        }
+    }
+
+    /**
+     * Indica si cualquier réplica debería tener ya todas las escrituras confirmadas.
+     * Las copias en memoria compartidas sólo publican lo leído cuando es así, para no
+     * guardar un dato atrasado que otra petición serviría después.
+     *
+     * @return true sin réplicas o si la última escritura es anterior a la ventana
+     */
+    public boolean replicasAlDia() {
+        return ventanaMillis == 0 || System.currentTimeMillis() >= ultimaEscritura + ventanaMillis;
+    }
+
+    /**
+     * Sesión de lectura de una petición
+     */
+    public static final class Sesion implements AutoCloseable {
+
+        private final ThreadLocal<Sesion> actual;
+        private final Sesion anterior;
+        private final LongConsumer alEscribir;
+        private long primarioHasta;
+
+        private Sesion(ThreadLocal<Sesion> actual, Sesion anterior, long primarioHasta, LongConsumer alEscribir) {
+            this.actual = actual;
+            this.anterior = anterior;
+            this.primarioHasta = primarioHasta;
+            this.alEscribir = alEscribir;
+        }
+
+        @Override
+        public void close() {
+            if (anterior == null) {
+                actual.remove();
+            } else {
+                actual.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.datasource;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas y todo lo demás al primario.
+ * <p>
+ * La decisión se toma al pedir la conexión, así que debe usarse detrás de un
+ * {@link LazyConnectionDataSourceProxy}: la conexión física se obtiene en la primera sentencia,
+ * cuando la transacción ya marcó si es de solo lectura. Una lectura también va al primario si
+ * el cliente escribió hace poco ({@link ConsistenciaLectura#requierePrimario()}). Las transacciones
+ * de escritura registran su commit en {@link ConsistenciaLectura} para abrir esa ventana.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+
+    private final String[] replicas;
+    private final PoliticaBalanceo politica;
+    private final ConsistenciaLectura consistencia;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public EnrutadorDataSource(DataSource primario, List<? extends DataSource> replicas, PoliticaBalanceo politica,
+                               ConsistenciaLectura consistencia) {
+        this.replicas = new String[replicas.size()];
+        this.politica = politica;
+        this.consistencia = consistencia;
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIO, primario);
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas[i] = "replica-" + i;
+            destinos.put(this.replicas[i], replicas.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicas.length == 0 || consistencia.requierePrimario() ? PRIMARIO : elegirReplica();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.getResource(EscrituraEnCurso.class) == null) {
+            EscrituraEnCurso escritura = new EscrituraEnCurso(consistencia);
+            TransactionSynchronizationManager.bindResource(EscrituraEnCurso.class, escritura);
+            TransactionSynchronizationManager.registerSynchronization(escritura);
+        }
+        return PRIMARIO;
+    }
+
+    private String elegirReplica() {
+        int indice = switch (politica) {
+            case ROUND_ROBIN -> Math.floorMod(siguiente.getAndIncrement(), replicas.length);
+            case ALEATORIA -> ThreadLocalRandom.current().nextInt(replicas.length);
+        };
+        return replicas[indice];
+    }
+
+    /**
+     * Transacción de escritura en curso en el primario; su commit abre la ventana de lectura propia.
+     * Se ejecuta antes que los listeners de {@code ClienteEvento}, de modo que cuando las copias en
+     * memoria se actualizan la ventana ya está abierta.
+     */
+    private static final class EscrituraEnCurso implements TransactionSynchronization {
+
+        private final ConsistenciaLectura consistencia;
+
+        private EscrituraEnCurso(ConsistenciaLectura consistencia) {
+            this.consistencia = consistencia;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            consistencia.escrituraConfirmada();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EscrituraEnCurso.class);
+        }
+    }
+}
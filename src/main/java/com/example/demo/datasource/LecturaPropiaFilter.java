@@ -0,0 +1,69 @@
+package com.example.demo.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Garantiza que un cliente lea sus propias escrituras aunque las lecturas vayan a réplicas.
+ * <p>
+ * Tras una escritura confirmada la respuesta lleva la cookie {@value #COOKIE} con el instante
+ * (epoch ms) hasta el que ese cliente debe leer del primario; mientras la envíe, sus transacciones
+ * de solo lectura no van a las réplicas. El resto de los clientes sigue leyendo de las réplicas.
+ */
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "app_primario_hasta";
+
+    private final ConsistenciaLectura consistencia;
+    private final Duration ventana;
+
+    public LecturaPropiaFilter(ConsistenciaLectura consistencia) {
+        this.consistencia = consistencia;
+        this.ventana = consistencia.getVentana();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Un valor manipulado no puede fijar el cliente al primario más allá de una ventana
+        long primarioHasta = Math.min(primarioHasta(request), System.currentTimeMillis() + ventana.toMillis());
+        try (ConsistenciaLectura.Sesion sesion = consistencia.abrir(primarioHasta, hasta -> marcar(request, response, hasta))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void marcar(HttpServletRequest request, HttpServletResponse response, long hasta) {
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(COOKIE, Long.toString(hasta));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge((int) Math.max(1, ventana.toSeconds()));
+        cookie.setHttpOnly(true);
+        response.addCookie(cookie);
+    }
+
+    private static long primarioHasta(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.datasource;
+
+/**
+ * Criterio para repartir las transacciones de solo lectura entre las réplicas
+ */
+public enum PoliticaBalanceo {
+    /**
+     * Cada transacción va a la réplica siguiente, en orden circular
+     */
+    ROUND_ROBIN,
+    /**
+     * Cada transacción va a una réplica elegida al azar
+     */
+    ALEATORIA
+}
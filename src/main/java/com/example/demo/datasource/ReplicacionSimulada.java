@@ -0,0 +1,142 @@
+package com.example.demo.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustituto local de la replicación, sólo para réplicas H2: cada {@code retraso} copia el
+ * contenido de las tablas del primario a cada réplica, de modo que las réplicas quedan
+ * atrasadas como con una replicación asíncrona real.
+ * <p>
+ * Cada réplica enlaza las tablas del primario ({@code CREATE LINKED TABLE}) y las copia en una
+ * sola transacción, así que sus lectores ven el estado anterior o el nuevo, nunca uno a medias.
+ * Las tablas de la réplica se crean con las columnas del primario, sin índices ni restricciones.
+ */
+@Slf4j
+public class ReplicacionSimulada {
+
+    private final DataSource primario;
+    private final List<? extends DataSource> replicas;
+    private final String url;
+    private final String usuario;
+    private final String clave;
+    private final Duration retraso;
+    private ScheduledExecutorService programador;
+
+    public ReplicacionSimulada(DataSource primario, List<? extends DataSource> replicas,
+                               String url, String usuario, String clave, Duration retraso) {
+        this.primario = primario;
+        this.replicas = replicas;
+        this.url = url;
+        this.usuario = usuario;
+        this.clave = clave;
+        this.retraso = retraso;
+    }
+
+    /**
+     * Copia inicial, una vez creado el esquema y cargados los datos del primario,
+     * y luego una copia cada {@code retraso}
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        replicar();
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "replicacion-simulada");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(this::replicarSinFallar, retraso.toMillis(), retraso.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Replicación simulada hacia {} réplicas cada {}", replicas.size(), retraso);
+    }
+
+    /**
+     * Detiene las copias periódicas
+     */
+    public void detener() {
+        if (programador != null) {
+            programador.shutdownNow();
+        }
+    }
+
+    /**
+     * Copia ahora el estado confirmado del primario a todas las réplicas
+     */
+    public synchronized void replicar() {
+        try {
+            List<String> tablas = tablas();
+            for (DataSource replica : replicas) {
+                copiar(replica, tablas);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("No se pudo replicar el primario", ex);
+        }
+    }
+
+    private void replicarSinFallar() {
+        try {
+            replicar();
+        } catch (RuntimeException ex) {
+            log.warn("Replicación simulada fallida: {}", ex.getMessage());
+        }
+    }
+
+    private List<String> tablas() throws SQLException {
+        List<String> tablas = new ArrayList<>();
+        try (Connection conexion = primario.getConnection();
+             ResultSet resultado = conexion.getMetaData().getTables(null, "PUBLIC", "%", new String[]{"TABLE", "BASE TABLE"})) {
+            while (resultado.next()) {
+                tablas.add(resultado.getString("TABLE_NAME"));
+            }
+        }
+        return tablas;
+    }
+
+    private void copiar(DataSource replica, List<String> tablas) throws SQLException {
+        try (Connection conexion = replica.getConnection(); Statement sentencia = conexion.createStatement()) {
+            for (String tabla : tablas) {
+                sentencia.execute("CREATE LINKED TABLE IF NOT EXISTS " + origen(tabla) + "('org.h2.Driver', " + literal(url) + ", "
+                        + literal(usuario) + ", " + literal(clave) + ", 'PUBLIC', " + literal(tabla) + ") READONLY");
+                sentencia.execute("CREATE TABLE IF NOT EXISTS " + nombre(tabla) + " AS SELECT * FROM " + origen(tabla) + " WITH NO DATA");
+            }
+            boolean autoCommit = conexion.getAutoCommit();
+            conexion.setAutoCommit(false);
+            try {
+                for (String tabla : tablas) {
+                    sentencia.execute("DELETE FROM " + nombre(tabla));
+                    sentencia.execute("INSERT INTO " + nombre(tabla) + " SELECT * FROM " + origen(tabla));
+                }
+                conexion.commit();
+            } catch (SQLException ex) {
+                conexion.rollback();
+                throw ex;
+            } finally {
+                conexion.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static String nombre(String tabla) {
+        return "\"" + tabla.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String origen(String tabla) {
+        return nombre("ORIGEN_" + tabla);
+    }
+
+    private static String literal(String valor) {
+        return "'" + (valor == null ? "" : valor.replace("'", "''")) + "'";
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.event;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+
+/**
+ * Evento publicado por el servicio en cada escritura sobre un cliente.
+ * Los componentes que mantienen copias en memoria (caché, índices, snapshots)
+ * lo consumen después del commit para mantenerse consistentes con la base de datos.
+ *
+ * @param tipo           tipo de escritura
+ * @param id             id del cliente afectado
+ * @param nombreAnterior nombre previo a la escritura (sólo en actualizaciones), o null
+ * @param cliente        estado del cliente tras la escritura, o null si no está disponible
+ */
+public record ClienteEvento(Tipo tipo, Long id, String nombreAnterior, ClienteResponseDTO cliente) {
+
+    /**
+     * Tipos de escritura sobre un cliente
+     */
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        DESACTIVADO,
+        ELIMINADO
+    }
+
+    public static ClienteEvento creado(ClienteResponseDTO cliente) {
+        return new ClienteEvento(Tipo.CREADO, cliente.getId(), null, cliente);
+    }
+
+    public static ClienteEvento actualizado(String nombreAnterior, ClienteResponseDTO cliente) {
+        return new ClienteEvento(Tipo.ACTUALIZADO, cliente.getId(), nombreAnterior, cliente);
+    }
+
+    public static ClienteEvento desactivado(Long id) {
+        return new ClienteEvento(Tipo.DESACTIVADO, id, null, null);
+    }
+
+    public static ClienteEvento eliminado(Long id) {
+        return new ClienteEvento(Tipo.ELIMINADO, id, null, null);
+    }
+}
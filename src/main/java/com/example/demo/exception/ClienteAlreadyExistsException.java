@@ -1,11 +1,16 @@
 package com.example.demo.exception;
 
 /**
- * Excepción lanzada cuando se intenta crear un cliente que ya existe
+ * Excepción lanzada cuando se intenta crear un cliente que ya existe.
+ * Se crea sin traza, como {@link ClienteNotFoundException}: es un resultado esperado (409).
  */
 public class ClienteAlreadyExistsException extends RuntimeException {
     
     public ClienteAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
+    }
+    
+    public ClienteAlreadyExistsException(String field, String value) {
+        this("Ya existe un cliente con el " + field + ": " + value);
     }
 }
@@ -1,19 +1,21 @@
 package com.example.demo.exception;
 
 /**
- * Excepción lanzada cuando un cliente no es encontrado
+ * Excepción lanzada cuando un cliente no es encontrado.
+ * Es un resultado esperado (404) que puede repetirse miles de veces por segundo, así que se crea
+ * sin traza: el manejador sólo usa el mensaje.
  */
 public class ClienteNotFoundException extends RuntimeException {
     
     public ClienteNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ClienteNotFoundException(Long id) {
-        super("Cliente no encontrado con id: " + id);
+        this("Cliente no encontrado con id: " + id);
     }
     
     public ClienteNotFoundException(String field, String value) {
-        super(String.format("Cliente no encontrado con %s: %s", field, value));
+        this("Cliente no encontrado con " + field + ": " + value);
     }
 }
@@ -0,0 +1,53 @@
+package com.example.demo.exception;
+
+import com.example.demo.model.entity.Cliente;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Restricciones de unicidad de la tabla clientes y el campo que protege cada una.
+ * Permite traducir una violación de integridad de la base de datos al campo en conflicto.
+ */
+public enum ClienteRestriccionUnica {
+
+    NOMBRE(Cliente.UK_NOMBRE, "nombre"),
+    EMAIL(Cliente.UK_EMAIL, "email");
+
+    private final String restriccion;
+    private final String campo;
+
+    ClienteRestriccionUnica(String restriccion, String campo) {
+        this.restriccion = restriccion;
+        this.campo = campo;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    /**
+     * Identifica la restricción violada a partir de la excepción lanzada por el driver o Hibernate
+     *
+     * @param error excepción de integridad (se recorre la cadena de causas)
+     * @return restricción violada, o vacío si no es una restricción de unicidad de clientes
+     */
+    public static Optional<ClienteRestriccionUnica> desde(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            String texto = causa instanceof ConstraintViolationException violacion && violacion.getConstraintName() != null
+                    ? violacion.getConstraintName()
+                    : causa.getMessage();
+            if (texto == null) {
+                continue;
+            }
+            String normalizado = texto.toLowerCase(Locale.ROOT);
+            for (ClienteRestriccionUnica valor : values()) {
+                if (normalizado.contains(valor.restriccion)) {
+                    return Optional.of(valor);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
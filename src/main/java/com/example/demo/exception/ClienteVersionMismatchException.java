@@ -0,0 +1,16 @@
+package com.example.demo.exception;
+
+/**
+ * Excepción lanzada cuando la versión indicada en {@code If-Match} no es la versión actual del cliente.
+ * Se crea sin traza, como {@link ClienteNotFoundException}: es un resultado esperado (412).
+ */
+public class ClienteVersionMismatchException extends RuntimeException {
+    
+    public ClienteVersionMismatchException(Long id) {
+        super("El cliente con id " + id + " fue modificado por otra petición", null, false, false);
+    }
+    
+    public ClienteVersionMismatchException(Long id, Long versionActual) {
+        super("El cliente con id " + id + " fue modificado (versión actual: " + versionActual + ")", null, false, false);
+    }
+}
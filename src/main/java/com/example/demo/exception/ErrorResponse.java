@@ -4,17 +4,24 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Map;
 
 /**
- * DTO para respuestas de error
+ * DTO para respuestas de error.
+ * <p>
+ * {@link #de} fecha la respuesta al milisegundo y reutiliza la misma {@link LocalDateTime} para
+ * todos los errores del mismo milisegundo, que bajo una ráfaga de 404 son la mayoría.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ErrorResponse {
     
+    private static volatile Marca ultimaMarca = new Marca(Long.MIN_VALUE, null);
+    
     private LocalDateTime timestamp;
     private int status;
     private String error;
@@ -29,4 +36,32 @@ public class ErrorResponse {
         this.message = message;
         this.path = path;
     }
+    
+    /**
+     * Crea una respuesta de error con la hora actual
+     *
+     * @param status           código HTTP
+     * @param error            descripción corta del código
+     * @param message          detalle para el cliente
+     * @param path             URI de la petición
+     * @param validationErrors errores por campo, o null
+     * @return respuesta de error
+     */
+    public static ErrorResponse de(int status, String error, String message, String path,
+                                   Map<String, String> validationErrors) {
+        return new ErrorResponse(ahora(), status, error, message, path, validationErrors);
+    }
+    
+    private static LocalDateTime ahora() {
+        long milis = System.currentTimeMillis();
+        Marca marca = ultimaMarca;
+        if (marca.milis() != milis) {
+            marca = new Marca(milis, LocalDateTime.ofInstant(Instant.ofEpochMilli(milis), ZoneId.systemDefault()));
+            ultimaMarca = marca;
+        }
+        return marca.fecha();
+    }
+    
+    private record Marca(long milis, LocalDateTime fecha) {
+    }
 }
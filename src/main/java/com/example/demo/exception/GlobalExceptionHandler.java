@@ -2,6 +2,10 @@ package com.example.demo.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,31 +13,48 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Manejador global de excepciones para toda la aplicación
+ * Manejador global de excepciones para toda la aplicación.
+ * <p>
+ * Los errores esperados (4xx) se registran en WARN con un límite por tipo
+ * ({@code app.errores.registro.maximo-por-segundo}); los que lo superan sólo se ven en DEBUG y el
+ * siguiente registro indica cuántos se omitieron. Los errores internos se registran siempre en ERROR.
  */
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final RegistroLimitado noEncontrados;
+    private final RegistroLimitado conflictos;
+    private final RegistroLimitado precondiciones;
+    private final RegistroLimitado invalidas;
+
+    public GlobalExceptionHandler(@Value("${app.errores.registro.maximo-por-segundo:10}") int maximoPorSegundo) {
+        Duration segundo = Duration.ofSeconds(1);
+        this.noEncontrados = new RegistroLimitado(maximoPorSegundo, segundo);
+        this.conflictos = new RegistroLimitado(maximoPorSegundo, segundo);
+        this.precondiciones = new RegistroLimitado(maximoPorSegundo, segundo);
+        this.invalidas = new RegistroLimitado(maximoPorSegundo, segundo);
+    }
+
     /**
      * Maneja excepciones cuando un cliente no es encontrado
      */
     @ExceptionHandler(ClienteNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleClienteNotFoundException(
             ClienteNotFoundException ex, HttpServletRequest request) {
-        log.error("Cliente no encontrado: {}", ex.getMessage());
+        registrar(noEncontrados, "Cliente no encontrado: {}", ex.getMessage());
         
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
+        ErrorResponse errorResponse = ErrorResponse.de(
                 HttpStatus.NOT_FOUND.value(),
                 "Not Found",
                 ex.getMessage(),
-                request.getRequestURI()
+                request.getRequestURI(),
+                null
         );
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
@@ -45,14 +66,98 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ClienteAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleClienteAlreadyExistsException(
             ClienteAlreadyExistsException ex, HttpServletRequest request) {
-        log.error("Cliente ya existe: {}", ex.getMessage());
+        registrar(conflictos, "Cliente ya existe: {}", ex.getMessage());
         
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
+        ErrorResponse errorResponse = ErrorResponse.de(
                 HttpStatus.CONFLICT.value(),
                 "Conflict",
                 ex.getMessage(),
-                request.getRequestURI()
+                request.getRequestURI(),
+                null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Maneja peticiones cuyo {@code If-Match} no corresponde a la versión actual del cliente
+     */
+    @ExceptionHandler(ClienteVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleClienteVersionMismatchException(
+            ClienteVersionMismatchException ex, HttpServletRequest request) {
+        registrar(precondiciones, "Precondición fallida: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.de(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * Maneja peticiones rechazadas por el control de admisión. Bajo sobrecarga puede haber miles
+     * por segundo, así que sólo se registran en DEBUG.
+     */
+    @ExceptionHandler(ServicioSobrecargadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicioSobrecargadoException(
+            ServicioSobrecargadoException ex, HttpServletRequest request) {
+        log.debug("Petición rechazada: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.de(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getReintentarEn().toSeconds())))
+                .body(errorResponse);
+    }
+
+    /**
+     * Maneja escrituras concurrentes sobre el mismo cliente detectadas por el bloqueo optimista
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        registrar(conflictos, "Modificación concurrente: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.de(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "El cliente fue modificado por otra petición, vuelva a intentarlo",
+                request.getRequestURI(),
+                null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Maneja violaciones de integridad que no fueron traducidas por el servicio
+     * (por ejemplo, un email duplicado detectado al confirmar una actualización)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, HttpServletRequest request) {
+        registrar(conflictos, "Violación de integridad: {}", ex.getMostSpecificCause().getMessage());
+        
+        String message = ClienteRestriccionUnica.desde(ex)
+                .map(restriccion -> "Ya existe un cliente con el mismo " + restriccion.getCampo())
+                .orElse("Los datos entran en conflicto con un registro existente");
+        
+        ErrorResponse errorResponse = ErrorResponse.de(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                message,
+                request.getRequestURI(),
+                null
         );
         
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
@@ -64,7 +169,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
-        log.error("Error de validación: {}", ex.getMessage());
+        registrar(invalidas, "Error de validación: {}", ex.getMessage());
         
         Map<String, String> validationErrors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -73,8 +178,7 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
         
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
+        ErrorResponse errorResponse = ErrorResponse.de(
                 HttpStatus.BAD_REQUEST.value(),
                 "Validation Error",
                 "Error de validación en los datos proporcionados",
@@ -93,12 +197,12 @@ public class GlobalExceptionHandler {
             Exception ex, HttpServletRequest request) {
         log.error("Error interno del servidor: {}", ex.getMessage(), ex);
         
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
+        ErrorResponse errorResponse = ErrorResponse.de(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Internal Server Error",
                 "Ha ocurrido un error interno en el servidor",
-                request.getRequestURI()
+                request.getRequestURI(),
+                null
         );
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
@@ -110,16 +214,30 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, HttpServletRequest request) {
-        log.error("Argumento ilegal: {}", ex.getMessage());
+        registrar(invalidas, "Argumento ilegal: {}", ex.getMessage());
         
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
+        ErrorResponse errorResponse = ErrorResponse.de(
                 HttpStatus.BAD_REQUEST.value(),
                 "Bad Request",
                 ex.getMessage(),
-                request.getRequestURI()
+                request.getRequestURI(),
+                null
         );
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+
+    /**
+     * Registra un error esperado en WARN si el límite lo permite, o en DEBUG si no
+     */
+    private static void registrar(RegistroLimitado limite, String formato, Object detalle) {
+        long omitidos = limite.permitir();
+        if (omitidos == RegistroLimitado.OMITIR) {
+            log.debug(formato, detalle);
+        } else if (omitidos > 0) {
+            log.warn(formato + " ({} similares omitidos)", detalle, omitidos);
+        } else {
+            log.warn(formato, detalle);
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.demo.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de frecuencia para registrar errores esperados (4xx): deja pasar hasta {@code maximo}
+ * registros por ventana y cuenta los que omite, para informarlos en el siguiente que pasa.
+ * <p>
+ * Sin candados; en el cambio de ventana pueden colarse unos pocos registros de más.
+ */
+class RegistroLimitado {
+
+    /**
+     * Valor de {@link #permitir()} cuando el registro debe omitirse
+     */
+    static final long OMITIR = -1;
+
+    private final int maximo;
+    private final long ventanaNanos;
+    private final LongSupplier reloj;
+    private final AtomicLong inicioVentana;
+    private final AtomicInteger emitidos = new AtomicInteger();
+    private final AtomicLong omitidos = new AtomicLong();
+
+    RegistroLimitado(int maximo, Duration ventana) {
+        this(maximo, ventana, System::nanoTime);
+    }
+
+    RegistroLimitado(int maximo, Duration ventana, LongSupplier reloj) {
+        this.maximo = maximo;
+        this.ventanaNanos = ventana.toNanos();
+        this.reloj = reloj;
+        this.inicioVentana = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Decide si registrar un error
+     *
+     * @return {@link #OMITIR}, o el número de registros omitidos desde el último permitido
+     */
+    long permitir() {
+        long ahora = reloj.getAsLong();
+        long inicio = inicioVentana.get();
+        if (ahora - inicio >= ventanaNanos && inicioVentana.compareAndSet(inicio, ahora)) {
+            emitidos.set(0);
+        }
+        if (emitidos.get() >= maximo || emitidos.incrementAndGet() > maximo) {
+            omitidos.incrementAndGet();
+            return OMITIR;
+        }
+        return omitidos.getAndSet(0);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando una petición no es admitida porque su clase de endpoint alcanzó el
+ * límite de concurrencia. Se rechaza antes de ocupar un hilo de base de datos, así que se crea sin
+ * traza: es un resultado esperado bajo carga y debe ser barato.
+ */
+public class ServicioSobrecargadoException extends RuntimeException {
+
+    private final transient Duration reintentarEn;
+
+    public ServicioSobrecargadoException(String clase, int limite, Duration reintentarEn) {
+        super(String.format("Servicio sobrecargado: se alcanzó el límite de %d %ss simultáneas", limite, clase),
+                null, false, false);
+        this.reintentarEn = reintentarEn;
+    }
+
+    public Duration getReintentarEn() {
+        return reintentarEn;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.export;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escribe clientes uno a uno sobre un flujo de salida, sin acumularlos en memoria.
+ * Los errores de E/S se propagan como {@link java.io.UncheckedIOException} para
+ * poder usarse como {@link java.util.function.Consumer}.
+ */
+public interface ClienteExportWriter {
+
+    /**
+     * Escribe un cliente en el flujo de salida
+     *
+     * @param cliente cliente a escribir
+     */
+    void escribir(ClienteResponseDTO cliente);
+
+    /**
+     * Vacía los buffers pendientes; no cierra el flujo subyacente
+     *
+     * @throws IOException si falla la escritura
+     */
+    void finalizar() throws IOException;
+
+    /**
+     * Crea el writer correspondiente al formato solicitado
+     *
+     * @param formato formato de exportación
+     * @param salida flujo de salida de la respuesta
+     * @param objectMapper mapper JSON configurado por Spring
+     * @return writer listo para usarse
+     * @throws IOException si no se puede inicializar el flujo
+     */
+    static ClienteExportWriter crear(FormatoExportacion formato, OutputStream salida, ObjectMapper objectMapper) throws IOException {
+        return switch (formato) {
+            case NDJSON -> new NdjsonClienteExportWriter(salida, objectMapper);
+            case CSV -> new CsvClienteExportWriter(salida);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.export;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exportación en formato CSV (RFC 4180) con fila de encabezado
+ */
+class CsvClienteExportWriter implements ClienteExportWriter {
+
+    static final String ENCABEZADO = "id,nombre,email,telefono,fechaRegistro,activo";
+
+    private final Writer writer;
+
+    CsvClienteExportWriter(OutputStream salida) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        this.writer.write(ENCABEZADO);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void escribir(ClienteResponseDTO cliente) {
+        try {
+            writer.write(String.valueOf(cliente.getId()));
+            writer.write(',');
+            escribirCampo(cliente.getNombre());
+            writer.write(',');
+            escribirCampo(cliente.getEmail());
+            writer.write(',');
+            escribirCampo(cliente.getTelefono());
+            writer.write(',');
+            escribirCampo(cliente.getFechaRegistro() != null ? cliente.getFechaRegistro().toString() : null);
+            writer.write(',');
+            escribirCampo(cliente.getActivo() != null ? cliente.getActivo().toString() : null);
+            writer.write("\r\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        writer.flush();
+    }
+
+    private void escribirCampo(String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean requiereComillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!requiereComillas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        writer.write(valor.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
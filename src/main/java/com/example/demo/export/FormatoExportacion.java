@@ -0,0 +1,44 @@
+package com.example.demo.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * Formatos soportados por la exportación en streaming de clientes
+ */
+public enum FormatoExportacion {
+
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    FormatoExportacion(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resuelve el formato a partir del parámetro recibido en la petición
+     *
+     * @param valor nombre del formato (ndjson o csv)
+     * @return formato correspondiente
+     * @throws IllegalArgumentException si el formato no es soportado
+     */
+    public static FormatoExportacion desde(String valor) {
+        return Arrays.stream(values())
+                .filter(formato -> formato.extension.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Formato de exportación no soportado: " + valor));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.export;
+
+import com.example.demo.json.ClienteJsonWriter;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Exportación en formato NDJSON: un objeto JSON por línea.
+ * Reutiliza un único {@link JsonGenerator} y sólo vacía el buffer cuando se llena;
+ * cada línea la escribe {@link ClienteJsonWriter}, sin introspección de beans.
+ */
+class NdjsonClienteExportWriter implements ClienteExportWriter {
+
+    private final JsonGenerator generator;
+    private final ClienteJsonWriter writer;
+
+    NdjsonClienteExportWriter(OutputStream salida, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory()
+                .createGenerator(salida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.writer = new ClienteJsonWriter(generator);
+    }
+
+    @Override
+    public void escribir(ClienteResponseDTO cliente) {
+        try {
+            writer.escribir(cliente);
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.json;
+
+import com.example.demo.exception.ErrorResponse;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Conversor HTTP que escribe {@link ClienteResponseDTO} y colecciones de ellos con
+ * {@link ClienteJsonWriter}, en streaming sobre el cuerpo de la respuesta. Un
+ * {@link ClienteJsonSerializado} se copia tal cual, con su {@code Content-Length}. Las respuestas de
+ * error ({@link ErrorResponse}) van por {@link ErrorResponseJsonWriter}, para que un 404 tampoco
+ * pague la serialización reflexiva.
+ * <p>
+ * Spring Boot coloca los conversores declarados como bean antes de los predeterminados, así que
+ * estas respuestas no pasan por la serialización reflexiva de Jackson; el resto de tipos y la
+ * lectura de peticiones siguen en {@code MappingJackson2HttpMessageConverter}. El generador sale
+ * de la fábrica del {@code ObjectMapper} de Spring, con su misma configuración de escritura.
+ */
+@Component
+public class ClienteJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonFactory factory;
+
+    public ClienteJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.factory = objectMapper.getFactory();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ClienteResponseDTO.class.isAssignableFrom(clazz)
+                || ClienteJsonSerializado.class.isAssignableFrom(clazz)
+                || ErrorResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (ClienteJsonSerializado.class.isAssignableFrom(clazz) || ErrorResponse.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        ResolvableType tipo = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (tipo.isAssignableFrom(ClienteResponseDTO.class) && ClienteResponseDTO.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(tipo.toClass())
+                && Collection.class.isAssignableFrom(clazz)
+                && tipo.asCollection().getGeneric(0).toClass() == ClienteResponseDTO.class;
+    }
+
+    @Override
+    protected Long getContentLength(Object valor, MediaType contentType) {
+        return valor instanceof ClienteJsonSerializado serializado ? (long) serializado.getBytes().length : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object valor, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (valor instanceof ClienteJsonSerializado serializado) {
+            // La codificación se declara aquí: sólo aplica si la respuesta se negoció como JSON.
+            // El controlador ya declara Vary: Accept-Encoding en todas las respuestas si gzip está habilitado
+            if (serializado.getCodificacion() != null) {
+                outputMessage.getHeaders().set(HttpHeaders.CONTENT_ENCODING, serializado.getCodificacion());
+            }
+            outputMessage.getBody().write(serializado.getBytes());
+            return;
+        }
+        try (JsonGenerator generator = factory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (valor instanceof ErrorResponse error) {
+                new ErrorResponseJsonWriter(generator).escribir(error);
+                return;
+            }
+            ClienteJsonWriter writer = new ClienteJsonWriter(generator);
+            if (valor instanceof ClienteResponseDTO cliente) {
+                writer.escribir(cliente);
+            } else {
+                writer.escribirLista((Collection<ClienteResponseDTO>) valor);
+            }
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor sólo de escritura", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversor sólo de escritura", inputMessage);
+    }
+}
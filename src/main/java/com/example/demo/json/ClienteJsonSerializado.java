@@ -0,0 +1,93 @@
+package com.example.demo.json;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Representación JSON de un cliente ya codificada en UTF-8, lista para copiarse a la respuesta.
+ * Guarda la versión de la que proviene para validarla contra la del cliente y, bajo demanda,
+ * su variante comprimida con gzip (que se calcula una sola vez).
+ * <p>
+ * Si la respuesta se negocia en otro formato (CBOR), los conversores basados en Jackson
+ * serializan el cliente original a través de {@link #getCliente()}.
+ */
+public final class ClienteJsonSerializado {
+
+    private final ClienteResponseDTO cliente;
+    private final byte[] bytes;
+    private final String codificacion;
+    private volatile ClienteJsonSerializado comprimido;
+
+    public ClienteJsonSerializado(ClienteResponseDTO cliente, byte[] bytes) {
+        this(cliente, bytes, null);
+    }
+
+    private ClienteJsonSerializado(ClienteResponseDTO cliente, byte[] bytes, String codificacion) {
+        this.cliente = cliente;
+        this.bytes = bytes;
+        this.codificacion = codificacion;
+    }
+
+    /**
+     * @return cliente del que se generaron los bytes
+     */
+    @JsonValue
+    public ClienteResponseDTO getCliente() {
+        return cliente;
+    }
+
+    public Long getId() {
+        return cliente.getId();
+    }
+
+    public Long getVersion() {
+        return cliente.getVersion();
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return cliente.getFechaActualizacion();
+    }
+
+    /**
+     * @return contenido listo para escribir; no debe modificarse
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return valor de {@code Content-Encoding} del contenido, o null si no está comprimido
+     */
+    public String getCodificacion() {
+        return codificacion;
+    }
+
+    /**
+     * Variante comprimida con gzip, calculada la primera vez que se pide
+     *
+     * @return misma representación con el contenido comprimido
+     */
+    public ClienteJsonSerializado comprimido() {
+        if (codificacion != null) {
+            return this;
+        }
+        ClienteJsonSerializado resultado = comprimido;
+        if (resultado == null) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(bytes.length);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+                gzip.write(bytes);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            resultado = new ClienteJsonSerializado(cliente, salida.toByteArray(), "gzip");
+            comprimido = resultado;
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.json;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializa {@link ClienteResponseDTO} sobre un {@link JsonGenerator} sin introspección de beans.
+ * <p>
+ * Produce exactamente los mismos bytes que el {@code ObjectMapper} de Spring Boot: mismas propiedades
+ * y orden, nulos incluidos, campos {@code @JsonIgnore} omitidos y fechas en ISO-8601 como
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}. Los nombres de los campos van pre-codificados y las
+ * fechas se escriben dígito a dígito con {@link FechaJson}, sin pasar por el formateador.
+ * El escapado de cadenas lo sigue haciendo el generador, igual que en Jackson.
+ * <p>
+ * Una instancia no es thread-safe: se crea una por respuesta.
+ */
+public final class ClienteJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NOMBRE = new SerializedString("nombre");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString TELEFONO = new SerializedString("telefono");
+    private static final SerializableString FECHA_REGISTRO = new SerializedString("fechaRegistro");
+    private static final SerializableString ACTIVO = new SerializedString("activo");
+
+    private final JsonGenerator generator;
+    private final FechaJson fechas;
+
+    public ClienteJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+        this.fechas = new FechaJson(generator);
+    }
+
+    /**
+     * Escribe un cliente como objeto JSON
+     *
+     * @param cliente cliente a escribir, o null
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(ClienteResponseDTO cliente) throws IOException {
+        if (cliente == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        if (cliente.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(cliente.getId());
+        }
+        generator.writeFieldName(NOMBRE);
+        generator.writeString(cliente.getNombre());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(cliente.getEmail());
+        generator.writeFieldName(TELEFONO);
+        generator.writeString(cliente.getTelefono());
+        generator.writeFieldName(FECHA_REGISTRO);
+        fechas.escribir(cliente.getFechaRegistro());
+        generator.writeFieldName(ACTIVO);
+        if (cliente.getActivo() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(cliente.getActivo());
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Escribe los clientes como arreglo JSON, uno a uno sobre el generador
+     *
+     * @param clientes clientes a escribir
+     * @throws IOException si falla la escritura
+     */
+    public void escribirLista(Iterable<ClienteResponseDTO> clientes) throws IOException {
+        generator.writeStartArray();
+        for (ClienteResponseDTO cliente : clientes) {
+            escribir(cliente);
+        }
+        generator.writeEndArray();
+    }
+}
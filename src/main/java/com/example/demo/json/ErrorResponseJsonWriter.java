@@ -0,0 +1,69 @@
+package com.example.demo.json;
+
+import com.example.demo.exception.ErrorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serializa {@link ErrorResponse} sobre un {@link JsonGenerator} sin introspección de beans,
+ * con los mismos bytes que el {@code ObjectMapper} de Spring Boot (como {@link ClienteJsonWriter}).
+ * <p>
+ * Una instancia no es thread-safe: se crea una por respuesta.
+ */
+public final class ErrorResponseJsonWriter {
+
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ERROR = new SerializedString("error");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString PATH = new SerializedString("path");
+    private static final SerializableString VALIDATION_ERRORS = new SerializedString("validationErrors");
+
+    private final JsonGenerator generator;
+    private final FechaJson fechas;
+
+    public ErrorResponseJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+        this.fechas = new FechaJson(generator);
+    }
+
+    /**
+     * Escribe una respuesta de error como objeto JSON
+     *
+     * @param error respuesta a escribir, o null
+     * @throws IOException si falla la escritura
+     */
+    public void escribir(ErrorResponse error) throws IOException {
+        if (error == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(TIMESTAMP);
+        fechas.escribir(error.getTimestamp());
+        generator.writeFieldName(STATUS);
+        generator.writeNumber(error.getStatus());
+        generator.writeFieldName(ERROR);
+        generator.writeString(error.getError());
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(error.getMessage());
+        generator.writeFieldName(PATH);
+        generator.writeString(error.getPath());
+        generator.writeFieldName(VALIDATION_ERRORS);
+        if (error.getValidationErrors() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartObject();
+            for (Map.Entry<String, String> campo : error.getValidationErrors().entrySet()) {
+                generator.writeFieldName(campo.getKey());
+                generator.writeString(campo.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+}
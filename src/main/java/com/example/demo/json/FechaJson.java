@@ -0,0 +1,65 @@
+package com.example.demo.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escribe fechas como {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, igual que Jackson con
+ * JavaTimeModule, dígito a dígito en un buffer reutilizado y sin pasar por el formateador.
+ * <p>
+ * Una instancia no es thread-safe: la comparten los writers de una misma respuesta.
+ */
+final class FechaJson {
+
+    private final JsonGenerator generator;
+    private final char[] fecha = new char[29];
+
+    FechaJson(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    void escribir(LocalDateTime valor) throws IOException {
+        if (valor == null) {
+            generator.writeNull();
+            return;
+        }
+        int anio = valor.getYear();
+        if (anio < 0 || anio > 9999) {
+            generator.writeString(valor.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        digitos(anio, 0, 4);
+        fecha[4] = '-';
+        digitos(valor.getMonthValue(), 5, 2);
+        fecha[7] = '-';
+        digitos(valor.getDayOfMonth(), 8, 2);
+        fecha[10] = 'T';
+        digitos(valor.getHour(), 11, 2);
+        fecha[13] = ':';
+        digitos(valor.getMinute(), 14, 2);
+        fecha[16] = ':';
+        digitos(valor.getSecond(), 17, 2);
+        int largo = 19;
+        int nanos = valor.getNano();
+        if (nanos != 0) {
+            // Como ISO_LOCAL_DATE_TIME: fracción de hasta 9 dígitos sin ceros a la derecha
+            fecha[19] = '.';
+            digitos(nanos, 20, 9);
+            largo = 29;
+            while (fecha[largo - 1] == '0') {
+                largo--;
+            }
+        }
+        generator.writeString(fecha, 0, largo);
+    }
+
+    private void digitos(int valor, int desde, int cantidad) {
+        for (int i = desde + cantidad - 1; i >= desde; i--) {
+            fecha[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.util.Duration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archivo de log rotativo con escrituras por lotes, para el perfil {@code prod} ({@code logback-spring.xml}).
+ * <p>
+ * Los eventos se acumulan en el buffer del archivo ({@code bufferSize}) en lugar de vaciarse uno a
+ * uno ({@code immediateFlush=false}), así que el disco recibe bloques grandes. Para que con poco
+ * tráfico nada quede retenido en el buffer, se vacía cada {@code intervaloVaciado} y después de
+ * cada evento WARN o ERROR. Al detenerse el contexto de Logback se vacía lo pendiente; ante una
+ * caída abrupta se pierde a lo sumo el contenido del buffer.
+ * <p>
+ * Pensado para ir detrás de un {@code AsyncAppender}: las escrituras ocurren en su hilo, fuera
+ * del camino de las peticiones.
+ */
+public class ArchivoPorLotesAppender extends RollingFileAppender<ILoggingEvent> {
+
+    private Duration intervaloVaciado = Duration.buildBySeconds(1);
+    private ScheduledFuture<?> vaciado;
+
+    public ArchivoPorLotesAppender() {
+        setImmediateFlush(false);
+    }
+
+    public void setIntervaloVaciado(Duration intervaloVaciado) {
+        this.intervaloVaciado = intervaloVaciado;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            long milis = Math.max(1, intervaloVaciado.getMilliseconds());
+            vaciado = getContext().getScheduledExecutorService()
+                    .scheduleAtFixedRate(this::vaciar, milis, milis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (vaciado != null) {
+            vaciado.cancel(false);
+            vaciado = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void subAppend(ILoggingEvent evento) {
+        super.subAppend(evento);
+        if (evento.getLevel().isGreaterOrEqual(Level.WARN)) {
+            vaciar();
+        }
+    }
+
+    /**
+     * Vacía el buffer con el mismo candado que las escrituras y la rotación del archivo, para no
+     * cruzarse con un evento a medio escribir ni con un flujo que se está cerrando
+     */
+    private void vaciar() {
+        streamWriteLock.lock();
+        try {
+            OutputStream salida = getOutputStream();
+            if (salida == null || !isStarted()) {
+                return;
+            }
+            salida.flush();
+        } catch (IOException e) {
+            addError("No se pudo vaciar el archivo de log " + getFile(), e);
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+}
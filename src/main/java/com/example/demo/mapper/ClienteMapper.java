@@ -50,6 +50,8 @@ public class ClienteMapper {
         dto.setTelefono(cliente.getTelefono());
         dto.setFechaRegistro(cliente.getFechaRegistro());
         dto.setActivo(cliente.getActivo());
+        dto.setVersion(cliente.getVersion());
+        dto.setFechaActualizacion(cliente.getFechaActualizacion());
         return dto;
     }
     
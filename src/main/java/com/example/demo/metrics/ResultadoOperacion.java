@@ -0,0 +1,58 @@
+package com.example.demo.metrics;
+
+import com.example.demo.exception.ClienteAlreadyExistsException;
+import com.example.demo.exception.ClienteNotFoundException;
+import com.example.demo.exception.ClienteVersionMismatchException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Resultado de una operación sobre clientes, usado como etiqueta {@code resultado} de las métricas.
+ * Los valores coinciden con la respuesta HTTP que termina generando {@code GlobalExceptionHandler}.
+ */
+public enum ResultadoOperacion {
+
+    OK("ok"),
+    NOT_FOUND("not-found"),
+    CONFLICT("conflict"),
+    PRECONDITION_FAILED("precondition-failed"),
+    INVALID("invalid"),
+    ERROR("error");
+
+    private final String etiqueta;
+
+    ResultadoOperacion(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * Clasifica la excepción con la que terminó una operación
+     *
+     * @param error excepción lanzada, o null si la operación terminó bien
+     * @return resultado correspondiente
+     */
+    public static ResultadoOperacion desde(Throwable error) {
+        if (error == null) {
+            return OK;
+        }
+        if (error instanceof ClienteNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof ClienteAlreadyExistsException
+                || error instanceof DataIntegrityViolationException
+                || error instanceof OptimisticLockingFailureException) {
+            return CONFLICT;
+        }
+        if (error instanceof ClienteVersionMismatchException) {
+            return PRECONDITION_FAILED;
+        }
+        if (error instanceof IllegalArgumentException) {
+            return INVALID;
+        }
+        return ERROR;
+    }
+}
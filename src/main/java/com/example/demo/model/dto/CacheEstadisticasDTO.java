@@ -0,0 +1,36 @@
+package com.example.demo.model.dto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con los contadores de una caché en memoria
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEstadisticasDTO {
+
+    private String nombre;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private double tasaAciertos;
+    private long tamanio;
+
+    /**
+     * Construye las estadísticas a partir de una caché Caffeine
+     *
+     * @param nombre nombre con el que se publica la caché
+     * @param cache  caché con estadísticas habilitadas
+     * @return estadísticas actuales
+     */
+    public static CacheEstadisticasDTO desde(String nombre, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheEstadisticasDTO(nombre, stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                stats.hitRate(), cache.estimatedSize());
+    }
+}
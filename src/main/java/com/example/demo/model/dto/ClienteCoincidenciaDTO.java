@@ -0,0 +1,19 @@
+package com.example.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con un resultado de la búsqueda aproximada por nombre.
+ * {@code similitud} es la fracción de los trigramas buscados presentes en el nombre (0 a 1).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteCoincidenciaDTO {
+
+    private Long id;
+    private String nombre;
+    private double similitud;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de un alta masiva de clientes.
+ * Los resultados conservan el orden de la petición.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteLoteResponseDTO {
+
+    private int creados;
+    private int conflictos;
+    private int invalidos;
+    private List<ClienteLoteResultadoDTO> resultados;
+}
@@ -0,0 +1,31 @@
+package com.example.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO con el resultado de un elemento dentro de un alta masiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteLoteResultadoDTO {
+
+    /**
+     * Estado final de un elemento del lote
+     */
+    public enum Estado {
+        CREADO,
+        CONFLICTO,
+        INVALIDO
+    }
+
+    private int indice;
+    private Estado estado;
+    private ClienteResponseDTO cliente;
+    private String mensaje;
+    private Map<String, String> errores;
+}
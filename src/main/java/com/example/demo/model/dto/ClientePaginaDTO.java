@@ -0,0 +1,21 @@
+package com.example.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una página de clientes obtenida con paginación por cursor
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientePaginaDTO {
+
+    private List<ClienteResponseDTO> contenido;
+    private String siguienteCursor;
+    private int limite;
+    private String orden;
+}
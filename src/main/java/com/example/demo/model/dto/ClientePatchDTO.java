@@ -0,0 +1,32 @@
+package com.example.demo.model.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para la actualización parcial de un cliente.
+ * Los campos nulos (o ausentes en el JSON) se dejan sin cambios.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientePatchDTO {
+
+    @Pattern(regexp = "^(?!\\s*$).+", message = "El nombre no puede estar vacío")
+    @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
+    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ ]+$", message = "El nombre solo puede contener letras y espacios")
+    private String nombre;
+
+    @Pattern(regexp = "^(?!\\s*$).+", message = "El email no puede estar vacío")
+    @Email(message = "El email debe ser válido")
+    private String email;
+
+    @Size(max = 15, message = "El teléfono no puede exceder 15 caracteres")
+    private String telefono;
+
+    private Boolean activo;
+}
@@ -1,5 +1,6 @@
 package com.example.demo.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,4 +21,26 @@ public class ClienteResponseDTO {
     private String telefono;
     private LocalDateTime fechaRegistro;
     private Boolean activo;
+    
+    /**
+     * Versión del cliente; no se serializa, viaja en la cabecera ETag
+     */
+    @JsonIgnore
+    private Long version;
+    
+    /**
+     * Fecha de la última modificación; no se serializa, viaja en la cabecera Last-Modified
+     */
+    @JsonIgnore
+    private LocalDateTime fechaActualizacion;
+    
+    public ClienteResponseDTO(Long id, String nombre, String email, String telefono,
+                              LocalDateTime fechaRegistro, Boolean activo) {
+        this.id = id;
+        this.nombre = nombre;
+        this.email = email;
+        this.telefono = telefono;
+        this.fechaRegistro = fechaRegistro;
+        this.activo = activo;
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.demo.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de una sugerencia de autocompletado: lo mínimo para mostrar y seleccionar un cliente
+ * (el nombre tal como está registrado)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteSugerenciaDTO {
+
+    private Long id;
+    private String nombre;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión de un cliente, suficiente para responder peticiones condicionales
+ * sin leer ni serializar el cliente completo
+ *
+ * @param id                 id del cliente
+ * @param version            versión actual
+ * @param fechaActualizacion fecha de la última modificación
+ */
+public record ClienteVersionDTO(Long id, Long version, LocalDateTime fechaActualizacion) {
+}
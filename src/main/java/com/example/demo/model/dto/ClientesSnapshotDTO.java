@@ -0,0 +1,21 @@
+package com.example.demo.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Copia inmutable de la lista de clientes activos.
+ * La generación aumenta con cada escritura confirmada que afecta a la lista,
+ * de modo que dos respuestas con la misma generación tienen el mismo contenido.
+ *
+ * @param generacion número de versión de la lista
+ * @param version    identificador de la lista para ETag: distingue además reinicios del servicio
+ * @param modificado instante de la última escritura que afectó a la lista
+ * @param clientes   clientes activos ordenados por id (lista no modificable)
+ */
+public record ClientesSnapshotDTO(long generacion, String version, Instant modificado, List<ClienteResponseDTO> clientes) {
+
+    public ClientesSnapshotDTO {
+        clientes = List.copyOf(clientes);
+    }
+}
@@ -7,31 +7,54 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 /**
  * Entidad Cliente que representa un cliente en el sistema.
  * Utiliza JPA para persistencia en base de datos.
+ * Los índices compuestos (activo + clave de orden + id) soportan la paginación por cursor.
+ * Las restricciones de unicidad tienen nombre para poder identificar el campo en conflicto.
+ * Con {@code @DynamicUpdate} los UPDATE sólo incluyen las columnas modificadas.
+ * Con shards, {@code META-INF/orm-shards.xml} cambia el generador de ids y agrega la reserva de
+ * unicidad entre bases; sin shards la entidad no depende de ellos.
  */
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", uniqueConstraints = {
+        @UniqueConstraint(name = Cliente.UK_NOMBRE, columnNames = "nombre"),
+        @UniqueConstraint(name = Cliente.UK_EMAIL, columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_clientes_activo_id", columnList = "activo, id"),
+        @Index(name = "idx_clientes_activo_nombre", columnList = "activo, nombre, id"),
+        @Index(name = "idx_clientes_activo_fecha", columnList = "activo, fecha_registro, id")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cliente {
     
+    public static final String UK_NOMBRE = "uk_clientes_nombre";
+    public static final String UK_EMAIL = "uk_clientes_email";
+    
+    /**
+     * Id generado por secuencia con optimizador pooled: Hibernate reserva bloques de
+     * {@code allocationSize} ids por viaje, lo que permite agrupar los INSERT en lotes JDBC
+     * (con IDENTITY Hibernate desactiva el batching de inserciones). Con shards el id lleva
+     * además el número de shard en sus bits altos.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientes_seq")
+    @SequenceGenerator(name = "clientes_seq", sequenceName = "clientes_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "El nombre no puede estar vacío")
     @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String nombre;
     
     @Email(message = "El email debe ser válido")
-    @Column(unique = true)
     private String email;
     
     @Size(max = 15, message = "El teléfono no puede exceder 15 caracteres")
@@ -44,14 +67,31 @@ public class Cliente {
     @Column(name = "activo")
     private Boolean activo = true;
     
+    /**
+     * Versión para bloqueo optimista; junto con el id forma el ETag del cliente.
+     * Los UPDATE directos del repositorio también la incrementan.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+    
     @PrePersist
     protected void onCreate() {
         fechaRegistro = LocalDateTime.now();
+        fechaActualizacion = fechaRegistro;
         if (activo == null) {
             activo = true;
         }
     }
     
+    @PreUpdate
+    protected void onUpdate() {
+        fechaActualizacion = LocalDateTime.now();
+    }
+    
     /**
      * Constructor de conveniencia para crear un cliente solo con nombre
      * 
@@ -0,0 +1,65 @@
+package com.example.demo.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para la paginación por keyset de clientes.
+ * Guarda el orden usado y la última clave devuelta (valor + id de desempate),
+ * de modo que la siguiente página se obtiene con un rango sobre el índice
+ * sin importar cuán profunda sea.
+ *
+ * @param orden orden con el que se generó el cursor
+ * @param valor valor de la clave de orden del último elemento
+ * @param id    id del último elemento
+ */
+public record ClienteCursor(ClienteOrden orden, String valor, long id) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Codifica el cursor en un token Base64 URL-safe
+     *
+     * @return token opaco
+     */
+    public String codificar() {
+        String plano = orden.name() + SEPARADOR + id + SEPARADOR + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Interpreta el valor del cursor como fecha de registro
+     *
+     * @return fecha de registro del último elemento
+     * @throws IllegalArgumentException si el valor no es una fecha válida
+     */
+    public LocalDateTime valorComoFecha() {
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    /**
+     * Decodifica un token generado por {@link #codificar()}
+     *
+     * @param token token opaco recibido en el parámetro {@code after}
+     * @return cursor decodificado
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static ClienteCursor decodificar(String token) {
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = plano.split("\\|", 3);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new ClienteCursor(ClienteOrden.valueOf(partes[0]), partes[2], Long.parseLong(partes[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.pagination;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Claves de ordenamiento soportadas por la paginación por cursor de clientes.
+ * Todas usan el id como desempate para que el orden sea total y estable.
+ */
+public enum ClienteOrden {
+
+    ID("id"),
+    NOMBRE("nombre"),
+    FECHA_REGISTRO("fechaRegistro");
+
+    private final String campo;
+
+    ClienteOrden(String campo) {
+        this.campo = campo;
+    }
+
+    /**
+     * Nombre del atributo de la entidad por el que se ordena
+     *
+     * @return nombre del atributo
+     */
+    public String getCampo() {
+        return campo;
+    }
+
+    /**
+     * Obtiene el valor de la clave de orden de un cliente, tal como se guarda en el cursor
+     *
+     * @param cliente cliente del que se extrae la clave
+     * @return valor de la clave en formato texto
+     */
+    public String valorDe(ClienteResponseDTO cliente) {
+        return switch (this) {
+            case ID -> String.valueOf(cliente.getId());
+            case NOMBRE -> cliente.getNombre();
+            case FECHA_REGISTRO -> cliente.getFechaRegistro().toString();
+        };
+    }
+
+    /**
+     * Resuelve el orden a partir del parámetro recibido en la petición
+     *
+     * @param valor nombre del campo (id, nombre, fechaRegistro)
+     * @return orden correspondiente
+     * @throws IllegalArgumentException si el campo no es soportado
+     */
+    public static ClienteOrden desde(String valor) {
+        return Arrays.stream(values())
+                .filter(orden -> orden.campo.equalsIgnoreCase(valor) || orden.name().equals(valor.toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Orden no soportado: " + valor));
+    }
+}
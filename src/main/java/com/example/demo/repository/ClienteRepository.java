@@ -1,11 +1,23 @@
 package com.example.demo.repository;
 
+import com.example.demo.model.dto.ClienteResponseDTO;
 import com.example.demo.model.entity.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para gestionar las operaciones de persistencia de Cliente
@@ -13,6 +25,19 @@ import java.util.Optional;
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     
+    /**
+     * Filas que el driver JDBC trae por viaje al recorrer la exportación
+     */
+    int EXPORT_FETCH_SIZE = 500;
+    
+    /**
+     * Proyección de las consultas de lectura: construye el DTO de respuesta en la consulta,
+     * sin entidades gestionadas, snapshots para dirty checking ni copia posterior en el mapper
+     */
+    String SELECT_RESPUESTA = "select new com.example.demo.model.dto.ClienteResponseDTO("
+            + "c.id, c.nombre, c.email, c.telefono, c.fechaRegistro, c.activo, c.version, c.fechaActualizacion) "
+            + "from Cliente c ";
+    
     /**
      * Busca un cliente por su nombre
      * 
@@ -29,6 +54,16 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     boolean existsByNombre(String nombre);
     
+    /**
+     * Obtiene, en una sola consulta, las claves únicas ya registradas entre los nombres y emails dados
+     * 
+     * @param nombres nombres a verificar
+     * @param emails emails a verificar
+     * @return claves (nombre, email) de los clientes que coinciden
+     */
+    @Query("select c.nombre as nombre, c.email as email from Cliente c where c.nombre in :nombres or c.email in :emails")
+    List<ClaveUnica> findClavesExistentes(@Param("nombres") Collection<String> nombres, @Param("emails") Collection<String> emails);
+    
     /**
      * Busca clientes activos
      * 
@@ -37,6 +72,99 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      */
     List<Cliente> findByActivo(Boolean activo);
     
+    /**
+     * Busca clientes activos con orden y límite explícitos (primera página o listado acotado),
+     * proyectados directamente al DTO de respuesta
+     * 
+     * @param sort orden de los resultados
+     * @param limit número máximo de resultados
+     * @return lista de clientes
+     */
+    @Query(SELECT_RESPUESTA + "where c.activo = true")
+    List<ClienteResponseDTO> findActivos(Sort sort, Limit limit);
+    
+    /**
+     * Página de clientes activos ordenada por id, a partir del cursor dado
+     * 
+     * @param id último id devuelto
+     * @param limit tamaño de la página
+     * @return lista de clientes
+     */
+    @Query(SELECT_RESPUESTA + "where c.activo = true and c.id > :id order by c.id")
+    List<ClienteResponseDTO> findActivosDespuesDeId(@Param("id") Long id, Limit limit);
+    
+    /**
+     * Página de clientes activos ordenada por nombre, a partir del cursor dado
+     * 
+     * @param nombre último nombre devuelto
+     * @param id último id devuelto (desempate)
+     * @param limit tamaño de la página
+     * @return lista de clientes
+     */
+    @Query(SELECT_RESPUESTA + "where c.activo = true "
+            + "and (c.nombre > :nombre or (c.nombre = :nombre and c.id > :id)) "
+            + "order by c.nombre, c.id")
+    List<ClienteResponseDTO> findActivosDespuesDeNombre(@Param("nombre") String nombre, @Param("id") Long id, Limit limit);
+    
+    /**
+     * Página de clientes activos ordenada por fecha de registro, a partir del cursor dado
+     * 
+     * @param fechaRegistro última fecha devuelta
+     * @param id último id devuelto (desempate)
+     * @param limit tamaño de la página
+     * @return lista de clientes
+     */
+    @Query(SELECT_RESPUESTA + "where c.activo = true "
+            + "and (c.fechaRegistro > :fechaRegistro or (c.fechaRegistro = :fechaRegistro and c.id > :id)) "
+            + "order by c.fechaRegistro, c.id")
+    List<ClienteResponseDTO> findActivosDespuesDeFechaRegistro(@Param("fechaRegistro") LocalDateTime fechaRegistro, @Param("id") Long id, Limit limit);
+    
+    /**
+     * Recorre todos los clientes ordenados por id como un cursor de base de datos.
+     * Las filas se proyectan al DTO, así que el contexto de persistencia no crece con el recorrido.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * 
+     * @return stream de clientes
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_RESPUESTA + "order by c.id")
+    Stream<ClienteResponseDTO> streamTodos();
+    
+    /**
+     * Recorre el id y el nombre de los clientes activos, para construir índices en memoria.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * 
+     * @return stream de nombres de clientes activos
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select c.id as id, c.nombre as nombre from Cliente c where c.activo = true")
+    Stream<NombreCliente> streamNombresActivos();
+    
+    /**
+     * Obtiene un cliente por id proyectado al DTO de respuesta, sin cargar la entidad
+     * en el contexto de persistencia (lecturas; las escrituras usan {@link #findById})
+     * 
+     * @param id ID del cliente
+     * @return Optional con el cliente si existe
+     */
+    @Query(SELECT_RESPUESTA + "where c.id = :id")
+    Optional<ClienteResponseDTO> findRespuestaById(@Param("id") Long id);
+    
+    /**
+     * Obtiene un cliente por nombre proyectado al DTO de respuesta
+     * 
+     * @param nombre nombre del cliente
+     * @return Optional con el cliente si existe
+     */
+    @Query(SELECT_RESPUESTA + "where c.nombre = :nombre")
+    Optional<ClienteResponseDTO> findRespuestaByNombre(@Param("nombre") String nombre);
+    
     /**
      * Busca un cliente por email
      * 
@@ -44,4 +172,64 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @return Optional con el cliente si existe
      */
     Optional<Cliente> findByEmail(String email);
+    
+    /**
+     * Obtiene sólo la versión de un cliente, para responder peticiones condicionales
+     * sin cargar ni mapear la entidad
+     * 
+     * @param id ID del cliente
+     * @return Optional con la versión si el cliente existe
+     */
+    @Query("select c.id as id, c.version as version, c.fechaActualizacion as fechaActualizacion from Cliente c where c.id = :id")
+    Optional<VersionCliente> findVersionById(@Param("id") Long id);
+    
+    /**
+     * Desactiva un cliente con un único UPDATE, sin cargar la entidad (incrementa la versión)
+     * 
+     * @param id ID del cliente
+     * @return filas afectadas (0 si no existe o ya estaba inactivo)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Cliente c set c.activo = false, c.version = c.version + 1, c.fechaActualizacion = local datetime "
+            + "where c.id = :id and (c.activo = true or c.activo is null)")
+    int desactivar(@Param("id") Long id);
+    
+    /**
+     * Elimina un cliente con un único DELETE, sin cargar la entidad
+     * 
+     * @param id ID del cliente
+     * @return filas afectadas (0 si no existe)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Cliente c where c.id = :id")
+    int eliminarPorId(@Param("id") Long id);
+    
+    /**
+     * Proyección con las columnas únicas de un cliente
+     */
+    interface ClaveUnica {
+        String getNombre();
+        
+        String getEmail();
+    }
+    
+    /**
+     * Proyección con el id y el nombre de un cliente
+     */
+    interface NombreCliente {
+        Long getId();
+        
+        String getNombre();
+    }
+    
+    /**
+     * Proyección con la versión de un cliente
+     */
+    interface VersionCliente {
+        Long getId();
+        
+        Long getVersion();
+        
+        LocalDateTime getFechaActualizacion();
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.demo.search;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import com.example.demo.repository.ClienteRepository;
+import com.example.demo.repository.ClienteRepository.NombreCliente;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Sugerencias por nombre, sin distinguir mayúsculas ni tildes: autocompletado por prefijo
+ * ({@link IndicePrefijos}) y búsqueda aproximada tolerante a errores de escritura ({@link IndiceTrigramas}).
+ * <p>
+ * Los nombres de los clientes activos se cargan una vez al arrancar, con una sola lectura para
+ * ambos índices, y a partir de ahí se mantienen con las escrituras confirmadas ({@link ClienteEvento}),
+ * de modo que una sugerencia nunca consulta la base de datos. Hasta que termina la carga inicial
+ * las sugerencias pueden estar incompletas.
+ */
+@Component
+@Slf4j
+public class ClienteSugerencias {
+
+    private final IndicePrefijos prefijos = new IndicePrefijos();
+    private final IndiceTrigramas trigramas = new IndiceTrigramas();
+    private final List<IndiceNombres> indices = List.of(prefijos, trigramas);
+    private final ClienteRepository repository;
+    private final TransactionTemplate lectura;
+
+    public ClienteSugerencias(ClienteRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    /**
+     * Carga los nombres de los clientes activos con un stream de solo lectura
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        long inicio = System.nanoTime();
+        lectura.executeWithoutResult(estado -> {
+            try (Stream<NombreCliente> nombres = repository.streamNombresActivos()) {
+                nombres.forEach(nombre -> indices.forEach(indice -> indice.cargar(nombre.getId(), nombre.getNombre())));
+            }
+        });
+        indices.forEach(IndiceNombres::cargaFinalizada);
+        log.info("Índices de sugerencias cargados: {} clientes en {} ms", prefijos.tamano(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Busca clientes activos cuyo nombre empieza por el prefijo
+     *
+     * @param prefijo prefijo tal como lo escribe el usuario
+     * @param limite  máximo de resultados
+     * @return sugerencias en orden alfabético
+     */
+    public List<ClienteSugerenciaDTO> porPrefijo(String prefijo, int limite) {
+        return prefijos.buscar(NormalizadorNombre.normalizar(prefijo), limite);
+    }
+
+    /**
+     * Busca clientes activos con nombres parecidos al texto, por similitud de trigramas
+     *
+     * @param texto  nombre, posiblemente incompleto o mal escrito
+     * @param umbral similitud mínima (0 a 1)
+     * @param limite máximo de resultados
+     * @return coincidencias de mayor a menor similitud
+     */
+    public List<ClienteCoincidenciaDTO> aproximadas(String texto, double umbral, int limite) {
+        return trigramas.buscar(NormalizadorNombre.normalizar(texto), umbral, limite);
+    }
+
+    /**
+     * Refleja en el índice una escritura confirmada: los clientes activos se indexan con su
+     * nombre vigente y los inactivos o eliminados se retiran
+     *
+     * @param evento escritura confirmada sobre un cliente
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        ClienteResponseDTO cliente = evento.cliente();
+        boolean activo = cliente != null && Boolean.TRUE.equals(cliente.getActivo());
+        String nombre = activo ? cliente.getNombre() : null;
+        indices.forEach(indice -> indice.aplicar(evento.id(), nombre));
+    }
+
+    /**
+     * @return número de clientes indexados
+     */
+    public int tamano() {
+        return prefijos.tamano();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.search;
+
+/**
+ * Índice en memoria sobre los nombres de los clientes activos, cargado al arrancar
+ * y mantenido después con las escrituras confirmadas.
+ * <p>
+ * Mientras dura la carga inicial, los ids modificados con {@link #aplicar} se recuerdan y
+ * {@link #cargar} no los sobrescribe con un valor leído antes de esa escritura.
+ */
+public interface IndiceNombres {
+
+    /**
+     * Aplica el estado de un cliente tras una escritura
+     *
+     * @param id     id del cliente
+     * @param nombre nombre vigente, o null si el cliente ya no debe indexarse (inactivo o eliminado)
+     */
+    void aplicar(Long id, String nombre);
+
+    /**
+     * Agrega un cliente leído durante la carga inicial, salvo que una escritura ya lo haya actualizado
+     *
+     * @param id     id del cliente
+     * @param nombre nombre leído de la base de datos
+     */
+    void cargar(Long id, String nombre);
+
+    /**
+     * Marca el fin de la carga inicial
+     */
+    void cargaFinalizada();
+
+    /**
+     * @return número de clientes indexados
+     */
+    int tamano();
+}
@@ -0,0 +1,102 @@
+package com.example.demo.search;
+
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Índice ordenado de nombres normalizados para búsquedas por prefijo.
+ * <p>
+ * Las claves (nombre normalizado, id) viven en un {@link ConcurrentSkipListMap}: una búsqueda es
+ * un descenso O(log n) hasta el prefijo y un recorrido de a lo sumo {@code limite} entradas, sin
+ * bloqueos; altas, cambios y bajas son O(log n) y no copian el índice. Un segundo mapa por id
+ * conserva la clave vigente de cada cliente para poder retirarla cuando cambia o se da de baja.
+ * <p>
+ * Los cambios de un mismo id se serializan en {@link ConcurrentMap#compute}.
+ */
+public class IndicePrefijos implements IndiceNombres {
+
+    private final ConcurrentSkipListMap<Clave, ClienteSugerenciaDTO> porNombre = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Clave> porId = new ConcurrentHashMap<>();
+    private final Set<Long> modificadosDuranteCarga = ConcurrentHashMap.newKeySet();
+    private volatile boolean cargado;
+
+    @Override
+    public void aplicar(Long id, String nombre) {
+        porId.compute(id, (clave, anterior) -> {
+            if (!cargado) {
+                modificadosDuranteCarga.add(id);
+            }
+            return reemplazar(id, anterior, nombre);
+        });
+    }
+
+    @Override
+    public void cargar(Long id, String nombre) {
+        porId.compute(id, (clave, anterior) -> modificadosDuranteCarga.contains(id) ? anterior : reemplazar(id, anterior, nombre));
+    }
+
+    @Override
+    public void cargaFinalizada() {
+        cargado = true;
+        modificadosDuranteCarga.clear();
+    }
+
+    /**
+     * Busca los clientes cuyo nombre normalizado empieza por el prefijo normalizado,
+     * en orden alfabético (y por id ante nombres equivalentes)
+     *
+     * @param prefijo prefijo ya normalizado con {@link NormalizadorNombre}
+     * @param limite  máximo de resultados
+     * @return sugerencias encontradas
+     */
+    public List<ClienteSugerenciaDTO> buscar(String prefijo, int limite) {
+        List<ClienteSugerenciaDTO> resultado = new ArrayList<>(Math.min(limite, 16));
+        Clave desde = new Clave(prefijo, Long.MIN_VALUE);
+        for (var entrada : porNombre.tailMap(desde, true).entrySet()) {
+            if (resultado.size() >= limite || !entrada.getKey().texto().startsWith(prefijo)) {
+                break;
+            }
+            resultado.add(entrada.getValue());
+        }
+        return resultado;
+    }
+
+    @Override
+    public int tamano() {
+        return porId.size();
+    }
+
+    /**
+     * @return true cuando terminó la carga inicial
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    private Clave reemplazar(Long id, Clave anterior, String nombre) {
+        if (anterior != null) {
+            porNombre.remove(anterior);
+        }
+        if (nombre == null) {
+            return null;
+        }
+        Clave nueva = new Clave(NormalizadorNombre.normalizar(nombre), id);
+        porNombre.put(nueva, new ClienteSugerenciaDTO(id, nombre));
+        return nueva;
+    }
+
+    private record Clave(String texto, long id) implements Comparable<Clave> {
+
+        @Override
+        public int compareTo(Clave otra) {
+            int comparacion = texto.compareTo(otra.texto);
+            return comparacion != 0 ? comparacion : Long.compare(id, otra.id);
+        }
+    }
+}
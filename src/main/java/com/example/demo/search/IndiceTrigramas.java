@@ -0,0 +1,298 @@
+package com.example.demo.search;
+
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas de los nombres normalizados, para búsquedas aproximadas
+ * ("Migel Lopes" → "Miguel Ángel López").
+ * <p>
+ * Cada palabra se rellena como en {@code pg_trgm} ({@code "  palabra "}) y se parte en trigramas.
+ * Un trigrama se codifica en 18 bits (6 por carácter), así que las listas de aparición viven en
+ * un arreglo indexado directamente por el código, sin hashing. Cada cliente recibe un ordinal
+ * interno ({@code int}, reutilizado tras las bajas) y las listas son {@code int[]} ordenados:
+ * unos 4 bytes por trigrama y cliente.
+ * <p>
+ * La similitud es la fracción de los trigramas de la consulta presentes en el nombre; los
+ * empates se resuelven por Jaccard (prefiere el nombre más parecido en longitud) y por nombre.
+ * Con un umbral {@code t} un resultado debe compartir al menos {@code m = ⌈t·n⌉} de los {@code n}
+ * trigramas de la consulta, por lo que sólo puede aparecer en alguna de las {@code n - m + 1}
+ * listas más cortas: los candidatos salen de ellas y en el resto sólo se comprueba su presencia
+ * con búsqueda binaria. Las listas de los trigramas más frecuentes no se recorren.
+ * <p>
+ * Lecturas concurrentes bajo un candado de lectura; altas, cambios y bajas bajo el de escritura.
+ */
+public class IndiceTrigramas implements IndiceNombres {
+
+    private static final int BITS_POR_CARACTER = 6;
+    private static final int CODIGOS = 1 << (3 * BITS_POR_CARACTER);
+
+    private static final Comparator<Coincidencia> POR_RELEVANCIA = Comparator
+            .comparingDouble(Coincidencia::similitud)
+            .thenComparingDouble(Coincidencia::jaccard)
+            .thenComparing(Coincidencia::nombre, Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final int[][] apariciones = new int[CODIGOS][];
+    private final int[] tamanos = new int[CODIGOS];
+    private final Map<Long, Integer> ordinalPorId = new HashMap<>();
+    private final Set<Long> modificadosDuranteCarga = new HashSet<>();
+    private long[] ids = new long[1024];
+    private String[] nombres = new String[1024];
+    private int[][] trigramas = new int[1024][];
+    private int[] libres = new int[16];
+    private int cantidadLibres;
+    private int siguienteOrdinal;
+    private boolean cargado;
+
+    @Override
+    public void aplicar(Long id, String nombre) {
+        candado.writeLock().lock();
+        try {
+            if (!cargado) {
+                modificadosDuranteCarga.add(id);
+            }
+            reemplazar(id, nombre);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void cargar(Long id, String nombre) {
+        candado.writeLock().lock();
+        try {
+            if (!modificadosDuranteCarga.contains(id)) {
+                reemplazar(id, nombre);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void cargaFinalizada() {
+        candado.writeLock().lock();
+        try {
+            cargado = true;
+            modificadosDuranteCarga.clear();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los nombres más parecidos al texto
+     *
+     * @param texto   texto ya normalizado con {@link NormalizadorNombre}
+     * @param umbral  similitud mínima, entre 0 (exclusivo) y 1
+     * @param limite  máximo de resultados
+     * @return coincidencias ordenadas de mayor a menor similitud
+     */
+    public List<ClienteCoincidenciaDTO> buscar(String texto, double umbral, int limite) {
+        int[] consulta = trigramas(texto);
+        if (consulta.length == 0) {
+            return List.of();
+        }
+        int minimo = Math.max(1, (int) Math.ceil(umbral * consulta.length - 1e-9));
+
+        candado.readLock().lock();
+        try {
+            Integer[] porFrecuencia = new Integer[consulta.length];
+            for (int i = 0; i < consulta.length; i++) {
+                porFrecuencia[i] = consulta[i];
+            }
+            Arrays.sort(porFrecuencia, Comparator.comparingInt(codigo -> tamanos[codigo]));
+
+            int listasCandidatas = consulta.length - minimo + 1;
+            Map<Integer, Integer> compartidos = new HashMap<>();
+            for (int i = 0; i < listasCandidatas; i++) {
+                int codigo = porFrecuencia[i];
+                int[] lista = apariciones[codigo];
+                for (int j = 0; j < tamanos[codigo]; j++) {
+                    compartidos.merge(lista[j], 1, Integer::sum);
+                }
+            }
+
+            PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(limite + 1, POR_RELEVANCIA);
+            for (Map.Entry<Integer, Integer> candidato : compartidos.entrySet()) {
+                int ordinal = candidato.getKey();
+                int comunes = candidato.getValue();
+                for (int i = listasCandidatas; i < consulta.length && comunes + consulta.length - i >= minimo; i++) {
+                    int codigo = porFrecuencia[i];
+                    if (Arrays.binarySearch(apariciones[codigo], 0, tamanos[codigo], ordinal) >= 0) {
+                        comunes++;
+                    }
+                }
+                if (comunes < minimo) {
+                    continue;
+                }
+                double similitud = (double) comunes / consulta.length;
+                double jaccard = (double) comunes / (consulta.length + trigramas[ordinal].length - comunes);
+                mejores.add(new Coincidencia(ids[ordinal], nombres[ordinal], similitud, jaccard));
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+
+            List<ClienteCoincidenciaDTO> resultado = new ArrayList<>(mejores.size());
+            while (!mejores.isEmpty()) {
+                Coincidencia coincidencia = mejores.poll();
+                resultado.add(new ClienteCoincidenciaDTO(coincidencia.id(), coincidencia.nombre(), redondear(coincidencia.similitud())));
+            }
+            return resultado.reversed();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int tamano() {
+        candado.readLock().lock();
+        try {
+            return ordinalPorId.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Trigramas distintos de un texto normalizado, codificados y ordenados
+     *
+     * @param texto texto ya normalizado con {@link NormalizadorNombre}
+     * @return códigos de trigrama sin repetidos, en orden ascendente
+     */
+    public static int[] trigramas(String texto) {
+        int[] codigos = new int[texto.length() * 3 + 3];
+        int cantidad = 0;
+        int inicio = 0;
+        while (inicio < texto.length()) {
+            int fin = texto.indexOf(' ', inicio);
+            if (fin < 0) {
+                fin = texto.length();
+            }
+            if (fin > inicio) {
+                // "  palabra ": dos espacios al inicio y uno al final
+                int a = 0;
+                int b = 0;
+                for (int i = inicio; i <= fin; i++) {
+                    int c = i < fin ? simbolo(texto.charAt(i)) : 0;
+                    codigos[cantidad++] = (a << (2 * BITS_POR_CARACTER)) | (b << BITS_POR_CARACTER) | c;
+                    a = b;
+                    b = c;
+                }
+            }
+            inicio = fin + 1;
+        }
+        int[] ordenados = Arrays.copyOf(codigos, cantidad);
+        Arrays.sort(ordenados);
+        int distintos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            if (i == 0 || ordenados[i] != ordenados[i - 1]) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+        return Arrays.copyOf(ordenados, distintos);
+    }
+
+    /**
+     * Espacio = 0, letras 1-26, dígitos 27-36; cualquier otro carácter comparte uno de los 27 restantes
+     */
+    private static int simbolo(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 27 + c - '0';
+        }
+        return c == ' ' ? 0 : 37 + c % 27;
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+
+    private void reemplazar(Long id, String nombre) {
+        Integer anterior = ordinalPorId.remove(id);
+        if (anterior != null) {
+            for (int codigo : trigramas[anterior]) {
+                quitar(codigo, anterior);
+            }
+            nombres[anterior] = null;
+            trigramas[anterior] = null;
+            liberar(anterior);
+        }
+        if (nombre == null) {
+            return;
+        }
+        int ordinal = nuevoOrdinal();
+        int[] codigos = trigramas(NormalizadorNombre.normalizar(nombre));
+        ids[ordinal] = id;
+        nombres[ordinal] = nombre;
+        trigramas[ordinal] = codigos;
+        for (int codigo : codigos) {
+            agregar(codigo, ordinal);
+        }
+        ordinalPorId.put(id, ordinal);
+    }
+
+    private void agregar(int codigo, int ordinal) {
+        int[] lista = apariciones[codigo];
+        int tamano = tamanos[codigo];
+        if (lista == null) {
+            lista = new int[4];
+        } else if (tamano == lista.length) {
+            lista = Arrays.copyOf(lista, tamano + (tamano >> 1) + 1);
+        }
+        // Los ordinales nuevos suelen ser los mayores: el caso común es agregar al final
+        int posicion = tamano == 0 || lista[tamano - 1] < ordinal ? tamano : -Arrays.binarySearch(lista, 0, tamano, ordinal) - 1;
+        System.arraycopy(lista, posicion, lista, posicion + 1, tamano - posicion);
+        lista[posicion] = ordinal;
+        apariciones[codigo] = lista;
+        tamanos[codigo] = tamano + 1;
+    }
+
+    private void quitar(int codigo, int ordinal) {
+        int[] lista = apariciones[codigo];
+        int tamano = tamanos[codigo];
+        int posicion = Arrays.binarySearch(lista, 0, tamano, ordinal);
+        System.arraycopy(lista, posicion + 1, lista, posicion, tamano - posicion - 1);
+        tamanos[codigo] = tamano - 1;
+        if (tamano == 1) {
+            apariciones[codigo] = null;
+        }
+    }
+
+    private int nuevoOrdinal() {
+        if (cantidadLibres > 0) {
+            return libres[--cantidadLibres];
+        }
+        if (siguienteOrdinal == ids.length) {
+            int capacidad = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            trigramas = Arrays.copyOf(trigramas, capacidad);
+        }
+        return siguienteOrdinal++;
+    }
+
+    private void liberar(int ordinal) {
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, libres.length * 2);
+        }
+        libres[cantidadLibres++] = ordinal;
+    }
+
+    private record Coincidencia(long id, String nombre, double similitud, double jaccard) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canónica de los nombres para búsquedas: sin tildes ni diéresis, en minúsculas
+ * y con los espacios colapsados ("  Miguel  Ángel" → "miguel angel").
+ */
+public final class NormalizadorNombre {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private NormalizadorNombre() {
+    }
+
+    /**
+     * @param texto nombre o prefijo tal como lo escribe el usuario
+     * @return texto normalizado, vacío si era nulo o sólo espacios
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinMarcas.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+}
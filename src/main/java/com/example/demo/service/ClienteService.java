@@ -1,9 +1,18 @@
 package com.example.demo.service;
 
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import com.example.demo.model.dto.ClienteLoteResponseDTO;
+import com.example.demo.model.dto.ClientePaginaDTO;
+import com.example.demo.model.dto.ClientePatchDTO;
 import com.example.demo.model.dto.ClienteRequestDTO;
 import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import com.example.demo.model.dto.ClienteVersionDTO;
+import com.example.demo.model.dto.ClientesSnapshotDTO;
+import com.example.demo.pagination.ClienteOrden;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz del servicio de clientes
@@ -18,6 +27,15 @@ public interface ClienteService {
      */
     ClienteResponseDTO crear(ClienteRequestDTO requestDTO);
     
+    /**
+     * Crea varios clientes en una sola transacción, con inserciones en lotes JDBC.
+     * Cada elemento se valida y se reporta de forma independiente.
+     * 
+     * @param requestDTOs datos de los clientes a crear
+     * @return resultado por elemento, en el orden recibido
+     */
+    ClienteLoteResponseDTO crearLote(List<ClienteRequestDTO> requestDTOs);
+    
     /**
      * Obtiene un cliente por su ID
      * 
@@ -35,12 +53,67 @@ public interface ClienteService {
     ClienteResponseDTO obtenerPorNombre(String nombre);
     
     /**
-     * Lista todos los clientes activos
+     * Obtiene sólo la versión de un cliente, para responder peticiones condicionales
+     * 
+     * @param id ID del cliente
+     * @return versión del cliente
+     */
+    ClienteVersionDTO obtenerVersion(Long id);
+    
+    /**
+     * Lista los clientes activos, acotado al máximo configurado
      * 
      * @return lista de clientes
      */
     List<ClienteResponseDTO> listar();
     
+    /**
+     * Obtiene la lista de clientes activos junto con su número de generación,
+     * que cambia cada vez que una escritura confirmada modifica la lista
+     * 
+     * @return snapshot de clientes activos
+     */
+    ClientesSnapshotDTO listarSnapshot();
+    
+    /**
+     * Sugiere clientes activos cuyo nombre empieza por el prefijo,
+     * sin distinguir mayúsculas ni tildes
+     * 
+     * @param prefijo prefijo del nombre
+     * @param limite número máximo de sugerencias
+     * @return sugerencias en orden alfabético
+     */
+    List<ClienteSugerenciaDTO> sugerir(String prefijo, int limite);
+    
+    /**
+     * Busca clientes activos con nombres parecidos, tolerando errores de escritura,
+     * mayúsculas y tildes
+     * 
+     * @param nombre nombre, posiblemente incompleto o mal escrito
+     * @param limite número máximo de resultados
+     * @return coincidencias de mayor a menor similitud
+     */
+    List<ClienteCoincidenciaDTO> buscarAproximado(String nombre, int limite);
+    
+    /**
+     * Obtiene una página de clientes activos usando paginación por cursor
+     * 
+     * @param cursor cursor opaco de la página anterior, o null para la primera página
+     * @param limite tamaño de la página
+     * @param orden clave de ordenamiento
+     * @return página de clientes con el cursor de la siguiente página
+     */
+    ClientePaginaDTO listarPagina(String cursor, int limite, ClienteOrden orden);
+    
+    /**
+     * Recorre todos los clientes (activos e inactivos) ordenados por id y los entrega
+     * uno a uno al consumidor, sin materializar la colección completa
+     * 
+     * @param consumidor receptor de cada cliente
+     * @return número de clientes exportados
+     */
+    long exportar(Consumer<ClienteResponseDTO> consumidor);
+    
     /**
      * Actualiza un cliente existente
      * 
@@ -50,6 +123,26 @@ public interface ClienteService {
      */
     ClienteResponseDTO actualizar(Long id, ClienteRequestDTO requestDTO);
     
+    /**
+     * Actualiza un cliente existente si su versión es la esperada (bloqueo optimista)
+     * 
+     * @param id ID del cliente a actualizar
+     * @param requestDTO nuevos datos del cliente
+     * @param versionEsperada versión que el cliente leyó, o null para no verificarla
+     * @return cliente actualizado
+     */
+    ClienteResponseDTO actualizar(Long id, ClienteRequestDTO requestDTO, Long versionEsperada);
+    
+    /**
+     * Actualiza parcialmente un cliente existente; los campos nulos no se modifican
+     * 
+     * @param id ID del cliente a actualizar
+     * @param patchDTO campos a modificar
+     * @param versionEsperada versión que el cliente leyó, o null para no verificarla
+     * @return cliente actualizado
+     */
+    ClienteResponseDTO actualizarParcial(Long id, ClientePatchDTO patchDTO, Long versionEsperada);
+    
     /**
      * Elimina (desactiva) un cliente
      * 
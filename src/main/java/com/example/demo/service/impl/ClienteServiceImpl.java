@@ -1,19 +1,55 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.ClienteCache;
+import com.example.demo.cache.ClienteConsultasCompartidas;
+import com.example.demo.cache.ClientesExistentes;
+import com.example.demo.cache.ClientesActivosSnapshot;
+import com.example.demo.event.ClienteEvento;
 import com.example.demo.exception.ClienteAlreadyExistsException;
 import com.example.demo.exception.ClienteNotFoundException;
+import com.example.demo.exception.ClienteRestriccionUnica;
+import com.example.demo.exception.ClienteVersionMismatchException;
 import com.example.demo.mapper.ClienteMapper;
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import com.example.demo.model.dto.ClienteLoteResponseDTO;
+import com.example.demo.model.dto.ClienteLoteResultadoDTO;
+import com.example.demo.model.dto.ClientePaginaDTO;
+import com.example.demo.model.dto.ClientePatchDTO;
 import com.example.demo.model.dto.ClienteRequestDTO;
 import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import com.example.demo.model.dto.ClienteVersionDTO;
+import com.example.demo.model.dto.ClientesSnapshotDTO;
 import com.example.demo.model.entity.Cliente;
+import com.example.demo.pagination.ClienteCursor;
+import com.example.demo.pagination.ClienteOrden;
 import com.example.demo.repository.ClienteRepository;
+import com.example.demo.search.ClienteSugerencias;
+import com.example.demo.search.NormalizadorNombre;
 import com.example.demo.service.ClienteService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio que gestiona la lógica de negocio de clientes
@@ -26,113 +62,470 @@ public class ClienteServiceImpl implements ClienteService {
     
     private final ClienteRepository repository;
     private final ClienteMapper mapper;
+    private final Validator validator;
+    private final ClienteCache cache;
+    private final ClienteConsultasCompartidas consultas;
+    private final ClientesExistentes existentes;
+    private final ClientesActivosSnapshot activos;
+    private final ApplicationEventPublisher eventos;
+    private final ClienteSugerencias sugerencias;
+    
+    @Value("${app.clientes.listar.maximo:1000}")
+    private int maximoListado = 1000;
+    
+    @Value("${app.clientes.pagina.limite-maximo:500}")
+    private int limiteMaximoPagina = 500;
+    
+    @Value("${app.clientes.lote.maximo:1000}")
+    private int maximoLote = 1000;
+    
+    @Value("${app.clientes.sugerir.limite-maximo:50}")
+    private int limiteMaximoSugerencias = 50;
+    
+    @Value("${app.clientes.buscar-aproximado.similitud-minima:0.5}")
+    private double similitudMinima = 0.5;
 
     /**
-     * Crea un nuevo cliente
+     * Crea un nuevo cliente.
+     * Se inserta directamente y se deja que las restricciones de unicidad detecten los
+     * duplicados: una sola ida a la base de datos y sin carrera entre comprobar e insertar.
      * 
      * @param requestDTO datos del cliente a crear
      * @return cliente creado
-     * @throws ClienteAlreadyExistsException si ya existe un cliente con el mismo nombre
+     * @throws ClienteAlreadyExistsException si ya existe un cliente con el mismo nombre o email
      */
     @Override
     public ClienteResponseDTO crear(ClienteRequestDTO requestDTO) {
         log.info("Creando cliente con nombre: {}", requestDTO.getNombre());
         
-        if (repository.existsByNombre(requestDTO.getNombre())) {
-            log.warn("Ya existe un cliente con el nombre: {}", requestDTO.getNombre());
-            throw new ClienteAlreadyExistsException("Ya existe un cliente con el nombre: " + requestDTO.getNombre());
-        }
-        
         Cliente cliente = mapper.toEntity(requestDTO);
-        Cliente clienteGuardado = repository.save(cliente);
+        Cliente clienteGuardado;
+        try {
+            clienteGuardado = repository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException ex) {
+            throw conflicto(ex, requestDTO.getNombre(), requestDTO.getEmail());
+        }
+        ClienteResponseDTO response = mapper.toResponseDTO(clienteGuardado);
+        eventos.publishEvent(ClienteEvento.creado(response));
         
         log.info("Cliente creado exitosamente con id: {}", clienteGuardado.getId());
-        return mapper.toResponseDTO(clienteGuardado);
+        return response;
     }
 
     /**
-     * Obtiene un cliente por su ID
+     * Crea varios clientes en una sola transacción.
+     * Los duplicados contra la base de datos se detectan con una única consulta, que se omite
+     * cuando {@link ClientesExistentes} asegura que ningún nombre ni email del lote existe, y los
+     * INSERT se agrupan en lotes JDBC gracias a los ids por secuencia.
+     * 
+     * @param requestDTOs datos de los clientes a crear
+     * @return resultado por elemento, en el orden recibido
+     * @throws IllegalArgumentException si el lote está vacío o supera el máximo configurado
+     */
+    @Override
+    public ClienteLoteResponseDTO crearLote(List<ClienteRequestDTO> requestDTOs) {
+        log.info("Creando lote de {} clientes", requestDTOs == null ? 0 : requestDTOs.size());
+        
+        if (requestDTOs == null || requestDTOs.isEmpty() || requestDTOs.size() > maximoLote) {
+            throw new IllegalArgumentException("El lote debe contener entre 1 y " + maximoLote + " clientes");
+        }
+        
+        ClienteLoteResultadoDTO[] resultados = new ClienteLoteResultadoDTO[requestDTOs.size()];
+        List<Integer> candidatos = new ArrayList<>();
+        Set<String> nombresLote = new HashSet<>();
+        Set<String> emailsLote = new HashSet<>();
+        
+        for (int i = 0; i < requestDTOs.size(); i++) {
+            ClienteRequestDTO requestDTO = requestDTOs.get(i);
+            Map<String, String> errores = validar(requestDTO);
+            if (!errores.isEmpty()) {
+                resultados[i] = new ClienteLoteResultadoDTO(i, ClienteLoteResultadoDTO.Estado.INVALIDO, null,
+                        "Error de validación en los datos proporcionados", errores);
+            } else if (!nombresLote.add(requestDTO.getNombre()) || !emailsLote.add(requestDTO.getEmail())) {
+                resultados[i] = new ClienteLoteResultadoDTO(i, ClienteLoteResultadoDTO.Estado.CONFLICTO, null,
+                        "Nombre o email repetido dentro del lote", null);
+            } else {
+                candidatos.add(i);
+            }
+        }
+        
+        Set<String> nombresExistentes = new HashSet<>();
+        Set<String> emailsExistentes = new HashSet<>();
+        if (!candidatos.isEmpty() && existentes.algunoPuedeExistir(nombresLote, emailsLote)) {
+            repository.findClavesExistentes(nombresLote, emailsLote).forEach(clave -> {
+                nombresExistentes.add(clave.getNombre());
+                emailsExistentes.add(clave.getEmail());
+            });
+        }
+        
+        List<Cliente> nuevos = new ArrayList<>(candidatos.size());
+        List<Integer> indicesNuevos = new ArrayList<>(candidatos.size());
+        for (int i : candidatos) {
+            ClienteRequestDTO requestDTO = requestDTOs.get(i);
+            if (nombresExistentes.contains(requestDTO.getNombre())) {
+                resultados[i] = new ClienteLoteResultadoDTO(i, ClienteLoteResultadoDTO.Estado.CONFLICTO, null,
+                        "Ya existe un cliente con el nombre: " + requestDTO.getNombre(), null);
+            } else if (emailsExistentes.contains(requestDTO.getEmail())) {
+                resultados[i] = new ClienteLoteResultadoDTO(i, ClienteLoteResultadoDTO.Estado.CONFLICTO, null,
+                        "Ya existe un cliente con el email: " + requestDTO.getEmail(), null);
+            } else {
+                nuevos.add(mapper.toEntity(requestDTO));
+                indicesNuevos.add(i);
+            }
+        }
+        
+        List<Cliente> guardados = repository.saveAll(nuevos);
+        for (int j = 0; j < guardados.size(); j++) {
+            int i = indicesNuevos.get(j);
+            ClienteResponseDTO creado = mapper.toResponseDTO(guardados.get(j));
+            eventos.publishEvent(ClienteEvento.creado(creado));
+            resultados[i] = new ClienteLoteResultadoDTO(i, ClienteLoteResultadoDTO.Estado.CREADO, creado, null, null);
+        }
+        
+        int invalidos = 0;
+        int conflictos = 0;
+        for (ClienteLoteResultadoDTO resultado : resultados) {
+            if (resultado.getEstado() == ClienteLoteResultadoDTO.Estado.INVALIDO) {
+                invalidos++;
+            } else if (resultado.getEstado() == ClienteLoteResultadoDTO.Estado.CONFLICTO) {
+                conflictos++;
+            }
+        }
+        
+        log.info("Lote procesado: {} creados, {} conflictos, {} inválidos", guardados.size(), conflictos, invalidos);
+        return new ClienteLoteResponseDTO(guardados.size(), conflictos, invalidos, List.of(resultados));
+    }
+
+    /**
+     * Obtiene un cliente por su ID.
+     * Se consulta primero la caché; sólo en un fallo se abre la transacción de lectura
+     * (la del repositorio), por eso el método no crea una propia. La consulta proyecta
+     * directamente al DTO, sin cargar la entidad, y las peticiones concurrentes por el
+     * mismo id comparten una sola ({@link ClienteConsultasCompartidas}). Los ids buscados
+     * sin éxito hace poco responden 404 sin consultar.
      * 
      * @param id ID del cliente
      * @return cliente encontrado
      * @throws ClienteNotFoundException si el cliente no existe
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO obtenerPorId(Long id) {
-        log.info("Buscando cliente con id: {}", id);
+        log.debug("Buscando cliente con id: {}", id);
         
-        Cliente cliente = repository.findById(id)
-                .orElseThrow(() -> new ClienteNotFoundException(id));
+        ClienteResponseDTO enCache = cache.obtenerPorId(id);
+        if (enCache != null) {
+            return enCache;
+        }
+        if (cache.esIdInexistente(id)) {
+            throw new ClienteNotFoundException(id);
+        }
+        
+        long marca = cache.marca();
+        ClienteResponseDTO response = consultas.getPorId().obtener(id, marca, () -> repository.findRespuestaById(id)
+                .orElseThrow(() -> {
+                    cache.guardarIdInexistente(id, marca);
+                    return new ClienteNotFoundException(id);
+                }));
         
-        return mapper.toResponseDTO(cliente);
+        cache.guardar(response, marca);
+        return response;
     }
 
     /**
-     * Obtiene un cliente por su nombre
+     * Obtiene un cliente por su nombre.
+     * Un nombre que seguro no existe ({@link ClientesExistentes}) o que se buscó sin éxito
+     * hace poco responde 404 sin consultar.
      * 
      * @param nombre nombre del cliente
      * @return cliente encontrado
      * @throws ClienteNotFoundException si el cliente no existe
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ClienteResponseDTO obtenerPorNombre(String nombre) {
-        log.info("Buscando cliente con nombre: {}", nombre);
+        log.debug("Buscando cliente con nombre: {}", nombre);
+        
+        ClienteResponseDTO enCache = cache.obtenerPorNombre(nombre);
+        if (enCache != null) {
+            return enCache;
+        }
+        if (!existentes.nombrePuedeExistir(nombre) || cache.esNombreInexistente(nombre)) {
+            throw new ClienteNotFoundException("nombre", nombre);
+        }
         
-        Cliente cliente = repository.findByNombre(nombre)
-                .orElseThrow(() -> new ClienteNotFoundException("nombre", nombre));
+        long marca = cache.marca();
+        ClienteResponseDTO response = consultas.getPorNombre().obtener(nombre, marca, () -> repository.findRespuestaByNombre(nombre)
+                .orElseThrow(() -> {
+                    cache.guardarNombreInexistente(nombre, marca);
+                    return new ClienteNotFoundException("nombre", nombre);
+                }));
         
-        return mapper.toResponseDTO(cliente);
+        cache.guardar(response, marca);
+        return response;
     }
 
     /**
-     * Lista todos los clientes activos
+     * Obtiene la versión de un cliente desde la caché o, en un fallo, con una consulta
+     * que sólo lee la versión (sin cargar ni mapear la entidad)
+     * 
+     * @param id ID del cliente
+     * @return versión del cliente
+     * @throws ClienteNotFoundException si el cliente no existe
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ClienteVersionDTO obtenerVersion(Long id) {
+        ClienteResponseDTO enCache = cache.obtenerPorId(id);
+        if (enCache != null) {
+            return new ClienteVersionDTO(id, enCache.getVersion(), enCache.getFechaActualizacion());
+        }
+        if (cache.esIdInexistente(id)) {
+            throw new ClienteNotFoundException(id);
+        }
+        
+        return repository.findVersionById(id)
+                .map(version -> new ClienteVersionDTO(version.getId(), version.getVersion(), version.getFechaActualizacion()))
+                .orElseThrow(() -> new ClienteNotFoundException(id));
+    }
+
+    /**
+     * Lista los clientes activos ordenados por id, acotado al máximo configurado.
+     * Para recorrer todos los clientes se debe usar {@link #listarPagina}.
      * 
      * @return lista de clientes
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ClienteResponseDTO> listar() {
-        log.info("Listando todos los clientes activos");
+        return listarSnapshot().clientes();
+    }
+
+    /**
+     * Obtiene el snapshot de clientes activos.
+     * Mientras esté vigente no se accede a la base de datos; las escrituras lo
+     * actualizan después del commit.
+     * 
+     * @return snapshot con su número de generación
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ClientesSnapshotDTO listarSnapshot() {
+        if (log.isDebugEnabled()) {
+            log.debug("Listando clientes activos (máximo {})", maximoListado);
+        }
+        
+        return activos.obtener(() -> repository.findActivos(Sort.by(ClienteOrden.ID.getCampo()), Limit.of(maximoListado)));
+    }
+
+    /**
+     * Sugiere clientes activos por prefijo del nombre desde el índice en memoria,
+     * sin consultar la base de datos
+     * 
+     * @param prefijo prefijo del nombre
+     * @param limite número máximo de sugerencias
+     * @return sugerencias en orden alfabético
+     * @throws IllegalArgumentException si el prefijo está vacío o el límite está fuera de rango
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ClienteSugerenciaDTO> sugerir(String prefijo, int limite) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sugiriendo clientes (prefijo: {}, límite: {})", prefijo, limite);
+        }
+        
+        if (NormalizadorNombre.normalizar(prefijo).isEmpty()) {
+            throw new IllegalArgumentException("El prefijo no puede estar vacío");
+        }
+        if (limite < 1 || limite > limiteMaximoSugerencias) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximoSugerencias);
+        }
+        return sugerencias.porPrefijo(prefijo, limite);
+    }
+
+    /**
+     * Busca clientes activos con nombres parecidos desde el índice de trigramas en memoria,
+     * sin consultar la base de datos
+     * 
+     * @param nombre nombre, posiblemente incompleto o mal escrito
+     * @param limite número máximo de resultados
+     * @return coincidencias de mayor a menor similitud
+     * @throws IllegalArgumentException si el nombre está vacío o el límite está fuera de rango
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ClienteCoincidenciaDTO> buscarAproximado(String nombre, int limite) {
+        if (log.isDebugEnabled()) {
+            log.debug("Búsqueda aproximada de clientes (nombre: {}, límite: {})", nombre, limite);
+        }
         
-        List<Cliente> clientes = repository.findByActivo(true);
-        return mapper.toResponseDTOList(clientes);
+        if (NormalizadorNombre.normalizar(nombre).isEmpty()) {
+            throw new IllegalArgumentException("El nombre no puede estar vacío");
+        }
+        if (limite < 1 || limite > limiteMaximoSugerencias) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximoSugerencias);
+        }
+        return sugerencias.aproximadas(nombre, similitudMinima, limite);
+    }
+
+    /**
+     * Obtiene una página de clientes activos usando paginación por cursor (keyset).
+     * Se consulta un elemento extra para saber si existe una página siguiente.
+     * 
+     * @param cursor cursor opaco de la página anterior, o null para la primera página
+     * @param limite tamaño de la página
+     * @param orden clave de ordenamiento
+     * @return página de clientes con el cursor de la siguiente página
+     * @throws IllegalArgumentException si el límite está fuera de rango o el cursor no es válido
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ClientePaginaDTO listarPagina(String cursor, int limite, ClienteOrden orden) {
+        if (log.isDebugEnabled()) {
+            log.debug("Listando página de clientes activos (orden: {}, límite: {})", orden, limite);
+        }
+        
+        if (limite < 1 || limite > limiteMaximoPagina) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + limiteMaximoPagina);
+        }
+        
+        Limit limit = Limit.of(limite + 1);
+        List<ClienteResponseDTO> clientes;
+        if (cursor == null || cursor.isBlank()) {
+            Sort sort = Sort.by(orden.getCampo()).and(Sort.by(ClienteOrden.ID.getCampo()));
+            clientes = repository.findActivos(sort, limit);
+        } else {
+            ClienteCursor anterior = ClienteCursor.decodificar(cursor);
+            if (anterior.orden() != orden) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden solicitado: " + orden.getCampo());
+            }
+            clientes = switch (orden) {
+                case ID -> repository.findActivosDespuesDeId(anterior.id(), limit);
+                case NOMBRE -> repository.findActivosDespuesDeNombre(anterior.valor(), anterior.id(), limit);
+                case FECHA_REGISTRO -> repository.findActivosDespuesDeFechaRegistro(anterior.valorComoFecha(), anterior.id(), limit);
+            };
+        }
+        
+        boolean haySiguiente = clientes.size() > limite;
+        List<ClienteResponseDTO> contenido = haySiguiente ? clientes.subList(0, limite) : clientes;
+        
+        String siguienteCursor = null;
+        if (haySiguiente) {
+            ClienteResponseDTO ultimo = contenido.get(contenido.size() - 1);
+            siguienteCursor = new ClienteCursor(orden, orden.valorDe(ultimo), ultimo.getId()).codificar();
+        }
+        
+        return new ClientePaginaDTO(contenido, siguienteCursor, limite, orden.getCampo());
     }
 
     /**
-     * Actualiza un cliente existente
+     * Recorre todos los clientes con un stream JDBC de solo lectura.
+     * Las filas se proyectan al DTO, así que la memoria se mantiene constante sin
+     * importar el número de filas.
+     * 
+     * @param consumidor receptor de cada cliente
+     * @return número de clientes exportados
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Consumer<ClienteResponseDTO> consumidor) {
+        log.info("Exportando clientes");
+        
+        long total = 0;
+        try (Stream<ClienteResponseDTO> clientes = repository.streamTodos()) {
+            var iterador = clientes.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(iterador.next());
+                total++;
+            }
+        }
+        
+        log.info("Exportación finalizada: {} clientes", total);
+        return total;
+    }
+
+    /**
+     * Actualiza un cliente existente.
+     * Si los valores no cambian no se ejecuta ningún UPDATE; si cambian, el UPDATE sólo
+     * incluye las columnas modificadas y la unicidad la verifica la base de datos.
      * 
      * @param id ID del cliente a actualizar
      * @param requestDTO nuevos datos del cliente
      * @return cliente actualizado
      * @throws ClienteNotFoundException si el cliente no existe
+     * @throws ClienteAlreadyExistsException si el nombre o el email pertenecen a otro cliente
      */
     @Override
     public ClienteResponseDTO actualizar(Long id, ClienteRequestDTO requestDTO) {
+        return actualizar(id, requestDTO, null);
+    }
+
+    /**
+     * Actualiza un cliente existente si su versión es la esperada
+     * 
+     * @param id ID del cliente a actualizar
+     * @param requestDTO nuevos datos del cliente
+     * @param versionEsperada versión que el cliente leyó, o null para no verificarla
+     * @return cliente actualizado
+     * @throws ClienteNotFoundException si el cliente no existe
+     * @throws ClienteVersionMismatchException si el cliente fue modificado desde la versión esperada
+     */
+    @Override
+    public ClienteResponseDTO actualizar(Long id, ClienteRequestDTO requestDTO, Long versionEsperada) {
         log.info("Actualizando cliente con id: {}", id);
         
         Cliente cliente = repository.findById(id)
                 .orElseThrow(() -> new ClienteNotFoundException(id));
+        verificarVersion(cliente, versionEsperada);
         
-        // Verificar si el nuevo nombre ya existe en otro cliente
-        if (!cliente.getNombre().equals(requestDTO.getNombre()) 
-                && repository.existsByNombre(requestDTO.getNombre())) {
-            throw new ClienteAlreadyExistsException("Ya existe un cliente con el nombre: " + requestDTO.getNombre());
-        }
+        String nombreAnterior = cliente.getNombre();
+        boolean modificado = cambiar(cliente.getNombre(), requestDTO.getNombre(), cliente::setNombre)
+                | cambiar(cliente.getEmail(), requestDTO.getEmail(), cliente::setEmail)
+                | cambiar(cliente.getTelefono(), requestDTO.getTelefono(), cliente::setTelefono);
         
-        cliente.setNombre(requestDTO.getNombre());
-        cliente.setEmail(requestDTO.getEmail());
-        cliente.setTelefono(requestDTO.getTelefono());
+        return confirmarCambios(cliente, nombreAnterior, modificado, versionEsperada);
+    }
+
+    /**
+     * Actualiza parcialmente un cliente: sólo se aplican los campos no nulos
+     * 
+     * @param id ID del cliente a actualizar
+     * @param patchDTO campos a modificar
+     * @param versionEsperada versión que el cliente leyó, o null para no verificarla
+     * @return cliente actualizado
+     * @throws ClienteNotFoundException si el cliente no existe
+     * @throws ClienteAlreadyExistsException si el nombre o el email pertenecen a otro cliente
+     * @throws ClienteVersionMismatchException si el cliente fue modificado desde la versión esperada
+     */
+    @Override
+    public ClienteResponseDTO actualizarParcial(Long id, ClientePatchDTO patchDTO, Long versionEsperada) {
+        log.info("Actualizando parcialmente cliente con id: {}", id);
+        
+        Cliente cliente = repository.findById(id)
+                .orElseThrow(() -> new ClienteNotFoundException(id));
+        verificarVersion(cliente, versionEsperada);
         
-        Cliente clienteActualizado = repository.save(cliente);
+        String nombreAnterior = cliente.getNombre();
+        boolean modificado = false;
+        if (patchDTO.getNombre() != null) {
+            modificado |= cambiar(cliente.getNombre(), patchDTO.getNombre(), cliente::setNombre);
+        }
+        if (patchDTO.getEmail() != null) {
+            modificado |= cambiar(cliente.getEmail(), patchDTO.getEmail(), cliente::setEmail);
+        }
+        if (patchDTO.getTelefono() != null) {
+            modificado |= cambiar(cliente.getTelefono(), patchDTO.getTelefono(), cliente::setTelefono);
+        }
+        if (patchDTO.getActivo() != null) {
+            modificado |= cambiar(cliente.getActivo(), patchDTO.getActivo(), cliente::setActivo);
+        }
         
-        log.info("Cliente actualizado exitosamente con id: {}", clienteActualizado.getId());
-        return mapper.toResponseDTO(clienteActualizado);
+        return confirmarCambios(cliente, nombreAnterior, modificado, versionEsperada);
     }
 
     /**
-     * Elimina (desactiva) un cliente
+     * Elimina (desactiva) un cliente con un único UPDATE.
+     * Desactivar un cliente ya inactivo no modifica nada.
      * 
      * @param id ID del cliente a eliminar
      * @throws ClienteNotFoundException si el cliente no existe
@@ -141,17 +534,20 @@ public class ClienteServiceImpl implements ClienteService {
     public void eliminar(Long id) {
         log.info("Eliminando cliente con id: {}", id);
         
-        Cliente cliente = repository.findById(id)
-                .orElseThrow(() -> new ClienteNotFoundException(id));
-        
-        cliente.setActivo(false);
-        repository.save(cliente);
+        if (repository.desactivar(id) == 0) {
+            if (!repository.existsById(id)) {
+                throw new ClienteNotFoundException(id);
+            }
+            log.info("El cliente con id {} ya estaba desactivado", id);
+            return;
+        }
+        eventos.publishEvent(ClienteEvento.desactivado(id));
         
         log.info("Cliente eliminado (desactivado) exitosamente con id: {}", id);
     }
 
     /**
-     * Elimina permanentemente un cliente de la base de datos
+     * Elimina permanentemente un cliente de la base de datos con un único DELETE
      * 
      * @param id ID del cliente a eliminar
      * @throws ClienteNotFoundException si el cliente no existe
@@ -160,12 +556,70 @@ public class ClienteServiceImpl implements ClienteService {
     public void eliminarPermanente(Long id) {
         log.info("Eliminando permanentemente cliente con id: {}", id);
         
-        if (!repository.existsById(id)) {
+        if (repository.eliminarPorId(id) == 0) {
             throw new ClienteNotFoundException(id);
         }
-        
-        repository.deleteById(id);
+        eventos.publishEvent(ClienteEvento.eliminado(id));
         
         log.info("Cliente eliminado permanentemente con id: {}", id);
     }
+
+    private static <T> boolean cambiar(T actual, T nuevo, Consumer<T> asignar) {
+        if (Objects.equals(actual, nuevo)) {
+            return false;
+        }
+        asignar.accept(nuevo);
+        return true;
+    }
+
+    private static void verificarVersion(Cliente cliente, Long versionEsperada) {
+        if (versionEsperada != null && !versionEsperada.equals(cliente.getVersion())) {
+            throw new ClienteVersionMismatchException(cliente.getId(), cliente.getVersion());
+        }
+    }
+
+    private ClienteResponseDTO confirmarCambios(Cliente cliente, String nombreAnterior, boolean modificado,
+                                                Long versionEsperada) {
+        if (!modificado) {
+            log.info("Cliente con id {} sin cambios", cliente.getId());
+            return mapper.toResponseDTO(cliente);
+        }
+        
+        try {
+            repository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw conflicto(ex, cliente.getNombre(), cliente.getEmail());
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            if (versionEsperada == null) {
+                throw ex;
+            }
+            throw new ClienteVersionMismatchException(cliente.getId());
+        }
+        ClienteResponseDTO response = mapper.toResponseDTO(cliente);
+        eventos.publishEvent(ClienteEvento.actualizado(nombreAnterior, response));
+        
+        log.info("Cliente actualizado exitosamente con id: {}", cliente.getId());
+        return response;
+    }
+
+    private RuntimeException conflicto(DataIntegrityViolationException ex, String nombre, String email) {
+        return ClienteRestriccionUnica.desde(ex)
+                .<RuntimeException>map(restriccion -> {
+                    String valor = restriccion == ClienteRestriccionUnica.NOMBRE ? nombre : email;
+                    log.warn("Ya existe un cliente con el {}: {}", restriccion.getCampo(), valor);
+                    return new ClienteAlreadyExistsException(restriccion.getCampo(), valor);
+                })
+                .orElse(ex);
+    }
+
+    private Map<String, String> validar(ClienteRequestDTO requestDTO) {
+        if (requestDTO == null) {
+            return Map.of("cliente", "El cliente no puede ser nulo");
+        }
+        Map<String, String> errores = new TreeMap<>();
+        for (ConstraintViolation<ClienteRequestDTO> violacion : validator.validate(requestDTO)) {
+            errores.put(violacion.getPropertyPath().toString(), violacion.getMessage());
+        }
+        return errores;
+    }
 }
\ No newline at end of file
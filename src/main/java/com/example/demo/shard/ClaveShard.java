@@ -0,0 +1,45 @@
+package com.example.demo.shard;
+
+/**
+ * Clave de shard embebida en el id del cliente.
+ * <p>
+ * Los 48 bits bajos son el valor de la secuencia del shard y los bits altos el número de shard.
+ * El shard 0 coincide con los ids sin shards (los datos existentes no cambian de id) y con
+ * hasta {@value #MAXIMO_SHARDS} shards los ids siguen siendo enteros exactos en JavaScript
+ * (menores que 2<sup>53</sup>). Como el shard ocupa los bits altos, ordenar por id equivale a
+ * concatenar los shards en orden.
+ */
+public final class ClaveShard {
+
+    public static final int BITS_SECUENCIA = 48;
+    public static final int MAXIMO_SHARDS = 32;
+
+    private static final long MASCARA_SECUENCIA = (1L << BITS_SECUENCIA) - 1;
+
+    private ClaveShard() {
+    }
+
+    /**
+     * Shard que guarda el cliente con el id dado
+     *
+     * @param id id del cliente
+     * @return número de shard
+     */
+    public static int shardDe(long id) {
+        return (int) (id >>> BITS_SECUENCIA);
+    }
+
+    /**
+     * Compone el id de un cliente a partir de su shard y del valor de la secuencia del shard
+     *
+     * @param shard     número de shard
+     * @param secuencia valor de la secuencia, menor que 2<sup>48</sup>
+     * @return id del cliente
+     */
+    public static long componer(int shard, long secuencia) {
+        if (secuencia > MASCARA_SECUENCIA) {
+            throw new IllegalStateException("La secuencia del shard " + shard + " se agotó");
+        }
+        return ((long) shard << BITS_SECUENCIA) | secuencia;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.shard;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generador de ids de cliente con la clave de shard embebida ({@link ClaveShard}).
+ * <p>
+ * Cada shard tiene su propia secuencia {@code clientes_seq}. En el shard 0, el único que existe
+ * sin shards, se usa el optimizador pooled de Hibernate sin cambios, así que los ids son los de
+ * siempre. En el resto se reserva por shard el mismo bloque que reservaría el optimizador
+ * ({@code (valor - incremento, valor]} por cada viaje a la secuencia) y el valor se compone con
+ * el número de shard.
+ */
+public class ClienteIdGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Nombre del generador, declarado en {@code package-info.java} y usado por {@code META-INF/orm-shards.xml}
+     */
+    public static final String NOMBRE = "clientes_shards";
+
+    private final Map<Integer, Bloque> bloques = new HashMap<>();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        int shard = ShardActual.actual();
+        if (shard == 0) {
+            return super.generate(session, object);
+        }
+        synchronized (bloques) {
+            Bloque bloque = bloques.get(shard);
+            if (bloque == null || bloque.siguiente > bloque.limite) {
+                long valor = getDatabaseStructure().buildCallback(session).getNextValue().makeValue().longValue();
+                long inicio = Math.max(bloque == null ? 1 : bloque.limite + 1, valor - getDatabaseStructure().getIncrementSize() + 1);
+                bloque = new Bloque(inicio, valor);
+                bloques.put(shard, bloque);
+            }
+            return ClaveShard.componer(shard, bloque.siguiente++);
+        }
+    }
+
+    private static final class Bloque {
+
+        private long siguiente;
+        private final long limite;
+
+        private Bloque(long siguiente, long limite) {
+            this.siguiente = siguiente;
+            this.limite = limite;
+        }
+    }
+}
@@ -0,0 +1,714 @@
+package com.example.demo.shard;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+import com.example.demo.repository.ClienteRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link ClienteRepository} repartido entre shards, por delante del repositorio de Spring Data.
+ * <p>
+ * <ul>
+ *   <li>Por id: al shard embebido en el id ({@link ClaveShard}); un id de un shard inexistente no
+ *   existe, sin ir a la base.</li>
+ *   <li>Por nombre o email: el {@link DirectorioClientes} da el id y con él el shard; si la clave no
+ *   está registrada el cliente no existe, también sin ir a la base.</li>
+ *   <li>Altas: a un shard por turnos, salvo que la transacción ya trabaje sobre uno.</li>
+ *   <li>Por varios ids o entidades: agrupados por shard, una llamada por shard.</li>
+ *   <li>Listados, conteos, consultas por ejemplo y exportación: en todos los shards en paralelo
+ *   ({@link DispersionShards}), mezclando los resultados con el mismo orden y límite de la consulta.</li>
+ *   <li>Borrados masivos: shard por shard, cada uno en su transacción; dentro de una transacción
+ *   fallan como cualquier operación que abarque varios shards.</li>
+ * </ul>
+ * Al implementar la interfaz completa, un método nuevo del repositorio no compila hasta decidir
+ * aquí cómo se reparte.
+ */
+public class ClienteRepositoryShards implements ClienteRepository {
+
+    private static final Comparator<ClienteResponseDTO> POR_ID = Comparator.comparing(ClienteResponseDTO::getId);
+    private static final Comparator<ClienteResponseDTO> POR_NOMBRE =
+            Comparator.comparing(ClienteResponseDTO::getNombre).thenComparing(POR_ID);
+    private static final Comparator<ClienteResponseDTO> POR_FECHA_REGISTRO =
+            Comparator.comparing(ClienteResponseDTO::getFechaRegistro).thenComparing(POR_ID);
+
+    private final ClienteRepository destino;
+    private final ObjectProvider<DispersionShards> dispersion;
+    private final ObjectProvider<DirectorioClientes> directorio;
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    /**
+     * Envuelve el repositorio de Spring Data. Los colaboradores se resuelven en la primera llamada,
+     * para no adelantar su creación a la de los post-procesadores.
+     *
+     * @param destino    repositorio de Spring Data, que trabaja sobre el shard actual
+     * @param dispersion consultas en todos los shards
+     * @param directorio índice global de nombres y emails
+     */
+    public ClienteRepositoryShards(ClienteRepository destino, ObjectProvider<DispersionShards> dispersion,
+                                   ObjectProvider<DirectorioClientes> directorio) {
+        this.destino = destino;
+        this.dispersion = dispersion;
+        this.directorio = directorio;
+    }
+
+    // Por id
+
+    @Override
+    public Optional<Cliente> findById(Long id) {
+        return porId(id, () -> destino.findById(id), Optional.empty());
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> findRespuestaById(Long id) {
+        return porId(id, () -> destino.findRespuestaById(id), Optional.empty());
+    }
+
+    @Override
+    public Optional<VersionCliente> findVersionById(Long id) {
+        return porId(id, () -> destino.findVersionById(id), Optional.empty());
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return porId(id, () -> destino.existsById(id), false);
+    }
+
+    @Override
+    public Cliente getReferenceById(Long id) {
+        if (id != null && !existe(ClaveShard.shardDe(id))) {
+            throw new EntityNotFoundException("No existe el shard " + ClaveShard.shardDe(id) + " del cliente " + id);
+        }
+        return porId(id, () -> destino.getReferenceById(id), null);
+    }
+
+    @Override
+    @Deprecated
+    public Cliente getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Cliente getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        porId(id, () -> {
+            destino.deleteById(id);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public int desactivar(Long id) {
+        return porId(id, () -> destino.desactivar(id), 0);
+    }
+
+    @Override
+    public int eliminarPorId(Long id) {
+        return porId(id, () -> destino.eliminarPorId(id), 0);
+    }
+
+    // Por nombre o email
+
+    @Override
+    public Optional<Cliente> findByNombre(String nombre) {
+        return porClave(directorio.getObject().idPorNombre(nombre), () -> destino.findByNombre(nombre), Optional.empty());
+    }
+
+    @Override
+    public Optional<ClienteResponseDTO> findRespuestaByNombre(String nombre) {
+        return porClave(directorio.getObject().idPorNombre(nombre), () -> destino.findRespuestaByNombre(nombre),
+                Optional.empty());
+    }
+
+    @Override
+    public boolean existsByNombre(String nombre) {
+        return porClave(directorio.getObject().idPorNombre(nombre), () -> destino.existsByNombre(nombre), false);
+    }
+
+    @Override
+    public Optional<Cliente> findByEmail(String email) {
+        return porClave(directorio.getObject().idPorEmail(email), () -> destino.findByEmail(email), Optional.empty());
+    }
+
+    @Override
+    public List<ClaveUnica> findClavesExistentes(Collection<String> nombres, Collection<String> emails) {
+        return directorio.getObject().existentes(nombres, emails);
+    }
+
+    // Escrituras
+
+    @Override
+    public <S extends Cliente> S save(S cliente) {
+        return enShard(shardPara(cliente), () -> destino.save(cliente));
+    }
+
+    @Override
+    public <S extends Cliente> S saveAndFlush(S cliente) {
+        return enShard(shardPara(cliente), () -> destino.saveAndFlush(cliente));
+    }
+
+    /**
+     * Una transacción escribe en un solo shard: el lote va entero al shard del primer cliente
+     */
+    @Override
+    public <S extends Cliente> List<S> saveAll(Iterable<S> clientes) {
+        return enShard(shardPara(primero(clientes)), () -> destino.saveAll(clientes));
+    }
+
+    @Override
+    public <S extends Cliente> List<S> saveAllAndFlush(Iterable<S> clientes) {
+        return enShard(shardPara(primero(clientes)), () -> destino.saveAllAndFlush(clientes));
+    }
+
+    @Override
+    public void flush() {
+        destino.flush();
+    }
+
+    @Override
+    public void delete(Cliente cliente) {
+        if (cliente.getId() == null) {
+            destino.delete(cliente);
+            return;
+        }
+        porId(cliente.getId(), () -> {
+            destino.delete(cliente);
+            return null;
+        }, null);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        porShard(ids, id -> id, parte -> destino.deleteAllById(parte));
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        porShard(ids, id -> id, parte -> destino.deleteAllByIdInBatch(parte));
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Cliente> clientes) {
+        porShard(clientes, Cliente::getId, parte -> destino.deleteAll(parte));
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Cliente> clientes) {
+        porShard(clientes, Cliente::getId, parte -> destino.deleteAllInBatch(parte));
+    }
+
+    @Override
+    public void deleteAll() {
+        enCadaShard(() -> destino.deleteAll());
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        enCadaShard(() -> destino.deleteAllInBatch());
+    }
+
+    // En todos los shards
+
+    @Override
+    public List<ClienteResponseDTO> findActivos(Sort sort, Limit limit) {
+        return mezclar(() -> destino.findActivos(sort, limit), comparador(sort, ClienteRepositoryShards::valorRespuesta), limit);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> findActivosDespuesDeId(Long id, Limit limit) {
+        return mezclar(() -> destino.findActivosDespuesDeId(id, limit), POR_ID, limit);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> findActivosDespuesDeNombre(String nombre, Long id, Limit limit) {
+        return mezclar(() -> destino.findActivosDespuesDeNombre(nombre, id, limit), POR_NOMBRE, limit);
+    }
+
+    @Override
+    public List<ClienteResponseDTO> findActivosDespuesDeFechaRegistro(LocalDateTime fechaRegistro, Long id, Limit limit) {
+        return mezclar(() -> destino.findActivosDespuesDeFechaRegistro(fechaRegistro, id, limit), POR_FECHA_REGISTRO, limit);
+    }
+
+    @Override
+    public List<Cliente> findByActivo(Boolean activo) {
+        return mezclar(() -> destino.findByActivo(activo), null, Limit.unlimited());
+    }
+
+    @Override
+    public List<Cliente> findAll() {
+        return mezclar(() -> destino.findAll(), null, Limit.unlimited());
+    }
+
+    @Override
+    public List<Cliente> findAll(Sort sort) {
+        return mezclar(() -> destino.findAll(sort), comparador(sort, ClienteRepositoryShards::valorCliente), Limit.unlimited());
+    }
+
+    @Override
+    public Page<Cliente> findAll(Pageable pageable) {
+        return paginar(pageable, parte -> destino.findAll(parte));
+    }
+
+    @Override
+    public List<Cliente> findAllById(Iterable<Long> ids) {
+        List<Cliente> clientes = new ArrayList<>();
+        porShard(ids, id -> id, parte -> clientes.addAll(destino.findAllById(parte)));
+        return clientes;
+    }
+
+    @Override
+    public long count() {
+        return dispersion.getObject().enTodos(shard -> destino.count()).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Stream<ClienteResponseDTO> streamTodos() {
+        return dispersion.getObject().concatenar(shard -> destino.streamTodos());
+    }
+
+    @Override
+    public Stream<NombreCliente> streamNombresActivos() {
+        return dispersion.getObject().concatenar(shard -> destino.streamNombresActivos());
+    }
+
+    // Por ejemplo
+
+    /**
+     * Como en Spring Data, más de una coincidencia es un error; aquí sólo se detecta dentro de un shard
+     */
+    @Override
+    public <S extends Cliente> Optional<S> findOne(Example<S> example) {
+        return dispersion.getObject().enTodos(shard -> destino.findOne(example)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    @Override
+    public <S extends Cliente> List<S> findAll(Example<S> example) {
+        return mezclar(() -> destino.findAll(example), null, Limit.unlimited());
+    }
+
+    @Override
+    public <S extends Cliente> List<S> findAll(Example<S> example, Sort sort) {
+        return mezclar(() -> destino.findAll(example, sort), comparador(sort, ClienteRepositoryShards::valorCliente),
+                Limit.unlimited());
+    }
+
+    @Override
+    public <S extends Cliente> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return paginar(pageable, parte -> destino.findAll(example, parte));
+    }
+
+    @Override
+    public <S extends Cliente> long count(Example<S> example) {
+        return dispersion.getObject().enTodos(shard -> destino.count(example)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public <S extends Cliente> boolean exists(Example<S> example) {
+        return dispersion.getObject().enTodos(shard -> destino.exists(example)).contains(true);
+    }
+
+    /**
+     * La consulta fluida se reparte como las demás consultas por ejemplo: se registra cómo se arma y
+     * cada operación final se repite en todos los shards con la misma configuración
+     */
+    @Override
+    public <S extends Cliente, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> consulta) {
+        return consulta.apply(new ConsultaDispersa<>(example, null, Sort.unsorted(), Limit.unlimited(), null));
+    }
+
+    private <T> T porId(Long id, Supplier<T> consulta, T ausente) {
+        if (id == null) {
+            return consulta.get();
+        }
+        int shard = ClaveShard.shardDe(id);
+        return existe(shard) ? enShard(shard, consulta) : ausente;
+    }
+
+    private <T> T porClave(Optional<Long> id, Supplier<T> consulta, T ausente) {
+        return id.map(encontrado -> enShard(ClaveShard.shardDe(encontrado), consulta)).orElse(ausente);
+    }
+
+    private boolean existe(int shard) {
+        return shard < dispersion.getObject().getCantidad();
+    }
+
+    private static <T> T enShard(int shard, Supplier<T> accion) {
+        return ShardActual.en(shard, accion);
+    }
+
+    private <T> List<T> mezclar(Supplier<List<T>> consulta, Comparator<? super T> orden, Limit limite) {
+        int maximo = limite.isLimited() ? limite.max() : Integer.MAX_VALUE;
+        return dispersion.getObject().mezclar(shard -> consulta.get(), orden, maximo);
+    }
+
+    /**
+     * Página sobre todos los shards: cada uno devuelve sus primeros {@code offset + tamaño} con el
+     * orden de la página, se mezclan y se descarta el desplazamiento; el total es la suma de los totales
+     */
+    private <T extends Cliente> Page<T> paginar(Pageable pageable, Function<Pageable, Page<T>> consulta) {
+        if (pageable.isUnpaged()) {
+            List<T> todos = mezclar(() -> consulta.apply(pageable).getContent(),
+                    comparador(pageable.getSort(), ClienteRepositoryShards::valorCliente), Limit.unlimited());
+            return new PageImpl<>(todos, pageable, todos.size());
+        }
+        long hasta = pageable.getOffset() + pageable.getPageSize();
+        if (hasta > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Página fuera de rango con shards: " + pageable);
+        }
+        Pageable primeras = PageRequest.of(0, (int) hasta, pageable.getSort());
+        List<Page<T>> partes = dispersion.getObject().enTodos(shard -> consulta.apply(primeras));
+        List<T> mezcla = dispersion.getObject().mezclar(shard -> partes.get(shard).getContent(),
+                comparador(pageable.getSort(), ClienteRepositoryShards::valorCliente), (int) hasta);
+        List<T> contenido = mezcla.subList((int) Math.min(pageable.getOffset(), mezcla.size()), mezcla.size());
+        long total = partes.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(new ArrayList<>(contenido), pageable, total);
+    }
+
+    /**
+     * Ejecuta la operación en cada shard con la parte que le corresponde; los ids de shards
+     * inexistentes se descartan
+     */
+    private <T> void porShard(Iterable<T> elementos, Function<T, Long> id, Consumer<List<T>> operacion) {
+        Map<Integer, List<T>> partes = new TreeMap<>();
+        for (T elemento : elementos) {
+            Long clave = id.apply(elemento);
+            int shard = clave == null ? ShardActual.actual() : ClaveShard.shardDe(clave);
+            if (existe(shard)) {
+                partes.computeIfAbsent(shard, s -> new ArrayList<>()).add(elemento);
+            }
+        }
+        partes.forEach((shard, parte) -> enShard(shard, () -> {
+            operacion.accept(parte);
+            return null;
+        }));
+    }
+
+    private void enCadaShard(Runnable operacion) {
+        for (int shard = 0; shard < dispersion.getObject().getCantidad(); shard++) {
+            enShard(shard, () -> {
+                operacion.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Shard de una entidad a guardar: el de su id si ya lo tiene, el de la transacción si ya
+     * trabaja sobre uno y, si no, el siguiente por turnos
+     */
+    private int shardPara(Cliente cliente) {
+        if (cliente != null && cliente.getId() != null) {
+            return ClaveShard.shardDe(cliente.getId());
+        }
+        Integer enTransaccion = ShardActual.deLaTransaccion();
+        if (enTransaccion != null) {
+            return enTransaccion;
+        }
+        return Math.floorMod(siguiente.getAndIncrement(), dispersion.getObject().getCantidad());
+    }
+
+    /**
+     * Orden de una consulta sobre los resultados ya leídos, o null si no tiene. Los nulos van
+     * primero en orden ascendente, como en H2.
+     */
+    private static <T> Comparator<T> comparador(Sort sort, BiFunction<T, String, Comparable<?>> campos) {
+        Comparator<T> orden = null;
+        for (Sort.Order campo : sort) {
+            Comparator<T> porCampo = Comparator.comparing(
+                    (T elemento) -> comparable(campos.apply(elemento, campo.getProperty())),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (campo.isDescending()) {
+                porCampo = porCampo.reversed();
+            }
+            orden = orden == null ? porCampo : orden.thenComparing(porCampo);
+        }
+        return orden;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> comparable(Comparable<?> valor) {
+        return (Comparable<Object>) valor;
+    }
+
+    private static Comparable<?> valorRespuesta(ClienteResponseDTO cliente, String campo) {
+        return switch (campo) {
+            case "id" -> cliente.getId();
+            case "nombre" -> cliente.getNombre();
+            case "email" -> cliente.getEmail();
+            case "telefono" -> cliente.getTelefono();
+            case "fechaRegistro" -> cliente.getFechaRegistro();
+            case "activo" -> cliente.getActivo();
+            case "version" -> cliente.getVersion();
+            case "fechaActualizacion" -> cliente.getFechaActualizacion();
+            default -> throw new IllegalArgumentException("Orden no soportado con shards: " + campo);
+        };
+    }
+
+    private static Comparable<?> valorCliente(Cliente cliente, String campo) {
+        return switch (campo) {
+            case "id" -> cliente.getId();
+            case "nombre" -> cliente.getNombre();
+            case "email" -> cliente.getEmail();
+            case "telefono" -> cliente.getTelefono();
+            case "fechaRegistro" -> cliente.getFechaRegistro();
+            case "activo" -> cliente.getActivo();
+            case "version" -> cliente.getVersion();
+            case "fechaActualizacion" -> cliente.getFechaActualizacion();
+            default -> throw new IllegalArgumentException("Orden no soportado con shards: " + campo);
+        };
+    }
+
+    private static Comparable<?> valorPropiedad(Object elemento, String campo) {
+        Object valor = PropertyAccessorFactory.forBeanPropertyAccess(elemento).getPropertyValue(campo);
+        if (valor != null && !(valor instanceof Comparable<?>)) {
+            throw new IllegalArgumentException("Orden no soportado con shards: " + campo);
+        }
+        return (Comparable<?>) valor;
+    }
+
+    private static <T> T primero(Iterable<T> elementos) {
+        Iterator<T> iterador = elementos.iterator();
+        return iterador.hasNext() ? iterador.next() : null;
+    }
+
+    /**
+     * Consulta fluida por ejemplo en todos los shards. Orden, límite, proyección y tipo de resultado
+     * se aplican igual en cada shard; las listas se mezclan con ese orden y los conteos se suman.
+     * Sin orden, los resultados se concatenan en orden de shard.
+     */
+    private final class ConsultaDispersa<S extends Cliente, T> implements FluentQuery.FetchableFluentQuery<T> {
+
+        private final Example<S> example;
+        private final Class<T> tipo;
+        private final Sort orden;
+        private final Limit limite;
+        private final Collection<String> propiedades;
+
+        private ConsultaDispersa(Example<S> example, Class<T> tipo, Sort orden, Limit limite,
+                                 Collection<String> propiedades) {
+            this.example = example;
+            this.tipo = tipo;
+            this.orden = orden;
+            this.limite = limite;
+            this.propiedades = propiedades;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> sortBy(Sort sort) {
+            return new ConsultaDispersa<>(example, tipo, orden.and(sort), limite, propiedades);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("El límite no puede ser negativo: " + limit);
+            }
+            return new ConsultaDispersa<>(example, tipo, orden, Limit.of(limit), propiedades);
+        }
+
+        @Override
+        public <R> FluentQuery.FetchableFluentQuery<R> as(Class<R> resultType) {
+            return new ConsultaDispersa<>(example, resultType, orden, limite, propiedades);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> project(Collection<String> properties) {
+            return new ConsultaDispersa<>(example, tipo, orden, limite, List.copyOf(properties));
+        }
+
+        /**
+         * Como en Spring Data, más de una coincidencia es un error, también si están en shards distintos
+         */
+        @Override
+        public T oneValue() {
+            List<T> encontrados = enTodos(consulta -> consulta.oneValue()).stream().filter(Objects::nonNull).toList();
+            if (encontrados.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, encontrados.size());
+            }
+            return primero(encontrados);
+        }
+
+        @Override
+        public T firstValue() {
+            List<T> primeros = enTodos(consulta -> consulta.firstValue()).stream().filter(Objects::nonNull).toList();
+            Comparator<T> porOrden = comparador(orden, ClienteRepositoryShards::valorPropiedad);
+            return porOrden == null ? primero(primeros) : primeros.stream().min(porOrden).orElse(null);
+        }
+
+        @Override
+        public List<T> all() {
+            return mezclar(limite, orden);
+        }
+
+        /**
+         * Por desplazamiento, cada shard devuelve sus primeros {@code desplazamiento + límite + 1} y
+         * se descarta el desplazamiento de la mezcla, como en las páginas. Por claves, la posición vale
+         * igual en todos los shards: cada uno sigue desde ella y la mezcla se recorta al límite, por el
+         * final si se retrocede. Las claves incluyen el id para desempatar, como en Spring Data JPA.
+         */
+        @Override
+        public Window<T> scroll(ScrollPosition scrollPosition) {
+            if (scrollPosition instanceof OffsetScrollPosition desplazamiento) {
+                long inicio = desplazamiento.isInitial() ? 0 : desplazamiento.getOffset() + 1;
+                Limit hasta = limite;
+                if (limite.isLimited()) {
+                    long maximo = inicio + limite.max() + 1;
+                    if (maximo > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Posición fuera de rango con shards: " + scrollPosition);
+                    }
+                    hasta = Limit.of((int) maximo);
+                }
+                List<T> mezcla = mezclar(hasta, orden);
+                List<T> contenido = mezcla.subList((int) Math.min(inicio, mezcla.size()), mezcla.size());
+                boolean hayMas = limite.isLimited() && contenido.size() > limite.max();
+                List<T> ventana = new ArrayList<>(hayMas ? contenido.subList(0, limite.max()) : contenido);
+                return Window.from(ventana, indice -> ScrollPosition.offset(inicio + indice), hayMas);
+            }
+            KeysetScrollPosition claves = (KeysetScrollPosition) scrollPosition;
+            Sort ordenConId = orden.getOrderFor("id") == null ? orden.and(Sort.by("id")) : orden;
+            List<Window<T>> partes = enTodos(consulta -> consulta.scroll(claves));
+            List<T> mezcla = dispersion.getObject().mezclar(shard -> partes.get(shard).getContent(),
+                    comparador(ordenConId, ClienteRepositoryShards::valorPropiedad), Integer.MAX_VALUE);
+            boolean sobran = limite.isLimited() && mezcla.size() > limite.max();
+            if (sobran) {
+                mezcla = claves.scrollsBackward()
+                        ? mezcla.subList(mezcla.size() - limite.max(), mezcla.size())
+                        : mezcla.subList(0, limite.max());
+            }
+            boolean hayMas = sobran || partes.stream().anyMatch(Window::hasNext);
+            List<T> ventana = new ArrayList<>(mezcla);
+            return Window.from(ventana,
+                    indice -> ScrollPosition.of(clavesDe(ventana.get(indice), ordenConId), claves.getDirection()), hayMas);
+        }
+
+        /**
+         * Cada shard devuelve sus primeros {@code offset + tamaño} con el orden de la consulta seguido
+         * del de la página, se mezclan y se descarta el desplazamiento; el total es la suma de los totales
+         */
+        @Override
+        public Page<T> page(Pageable pageable) {
+            Sort ordenPagina = orden.and(pageable.getSort());
+            if (pageable.isUnpaged()) {
+                List<T> todos = mezclar(Limit.unlimited(), ordenPagina);
+                return new PageImpl<>(todos, pageable, todos.size());
+            }
+            long hasta = pageable.getOffset() + pageable.getPageSize();
+            if (hasta > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Página fuera de rango con shards: " + pageable);
+            }
+            Pageable primeras = PageRequest.of(0, (int) hasta);
+            List<Page<T>> partes = dispersion.getObject().enTodos(shard ->
+                    destino.findBy(example, consulta -> configurar(consulta, ordenPagina, limite).page(primeras)));
+            List<T> mezcla = dispersion.getObject().mezclar(shard -> partes.get(shard).getContent(),
+                    comparador(ordenPagina, ClienteRepositoryShards::valorPropiedad), (int) hasta);
+            List<T> contenido = mezcla.subList((int) Math.min(pageable.getOffset(), mezcla.size()), mezcla.size());
+            long total = partes.stream().mapToLong(Page::getTotalElements).sum();
+            return new PageImpl<>(new ArrayList<>(contenido), pageable, total);
+        }
+
+        /**
+         * Sin orden ni límite se concatenan los streams de los shards; si no, hay que mezclar y se
+         * leen antes todos los resultados
+         */
+        @Override
+        public Stream<T> stream() {
+            if (orden.isUnsorted() && !limite.isLimited()) {
+                return dispersion.getObject().concatenar(shard ->
+                        destino.findBy(example, consulta -> configurar(consulta, orden, limite).stream()));
+            }
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return enTodos(consulta -> consulta.count()).stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public boolean exists() {
+            return enTodos(consulta -> consulta.exists()).contains(true);
+        }
+
+        private <V> List<V> enTodos(Function<FluentQuery.FetchableFluentQuery<T>, V> operacion) {
+            return dispersion.getObject().enTodos(shard ->
+                    destino.findBy(example, consulta -> operacion.apply(configurar(consulta, orden, limite))));
+        }
+
+        private List<T> mezclar(Limit hasta, Sort ordenMezcla) {
+            int maximo = hasta.isLimited() ? hasta.max() : Integer.MAX_VALUE;
+            return dispersion.getObject().mezclar(shard ->
+                            destino.findBy(example, consulta -> configurar(consulta, ordenMezcla, hasta).all()),
+                    comparador(ordenMezcla, ClienteRepositoryShards::valorPropiedad), maximo);
+        }
+
+        @SuppressWarnings("unchecked")
+        private FluentQuery.FetchableFluentQuery<T> configurar(FluentQuery.FetchableFluentQuery<S> consulta,
+                                                               Sort ordenShard, Limit limiteShard) {
+            FluentQuery.FetchableFluentQuery<?> configurada = consulta.sortBy(ordenShard);
+            if (limiteShard.isLimited()) {
+                configurada = configurada.limit(limiteShard.max());
+            }
+            if (propiedades != null) {
+                configurada = configurada.project(propiedades);
+            }
+            if (tipo != null) {
+                configurada = configurada.as(tipo);
+            }
+            return (FluentQuery.FetchableFluentQuery<T>) configurada;
+        }
+
+        private static Map<String, Object> clavesDe(Object elemento, Sort orden) {
+            BeanWrapper valores = PropertyAccessorFactory.forBeanPropertyAccess(elemento);
+            Map<String, Object> claves = new LinkedHashMap<>();
+            for (Sort.Order campo : orden) {
+                claves.put(campo.getProperty(), valores.getPropertyValue(campo.getProperty()));
+            }
+            return claves;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ClienteRepository con " + dispersion.getObject().getCantidad() + " shards";
+    }
+}
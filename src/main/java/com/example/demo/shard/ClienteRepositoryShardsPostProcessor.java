@@ -0,0 +1,29 @@
+package com.example.demo.shard;
+
+import com.example.demo.repository.ClienteRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Reemplaza el {@link ClienteRepository} de Spring Data por su versión con shards
+ * ({@link ClienteRepositoryShards}); el servicio y el resto de componentes no cambian.
+ */
+public class ClienteRepositoryShardsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DispersionShards> dispersion;
+    private final ObjectProvider<DirectorioClientes> directorio;
+
+    public ClienteRepositoryShardsPostProcessor(ObjectProvider<DispersionShards> dispersion,
+                                                ObjectProvider<DirectorioClientes> directorio) {
+        this.dispersion = dispersion;
+        this.directorio = directorio;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ClienteRepository repository) {
+            return new ClienteRepositoryShards(repository, dispersion, directorio);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.shard;
+
+import com.example.demo.model.entity.Cliente;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Reserva el nombre y el email del cliente en el {@link DirectorioClientes} antes de escribirlo,
+ * para que la unicidad se cumpla entre todos los shards.
+ * <p>
+ * Sólo se registra con shards, desde {@code META-INF/orm-shards.xml}; Hibernate lo instancia a
+ * través del contenedor de Spring. En las altas se usa {@code @PostPersist}, el primer callback con
+ * el id asignado; si la reserva falla, la excepción revierte la transacción del shard junto con el INSERT.
+ */
+public class ClienteUnicidadListener {
+
+    @Autowired
+    private ObjectProvider<DirectorioClientes> directorio;
+
+    @PostPersist
+    @PreUpdate
+    public void reservarClaves(Cliente cliente) {
+        directorio.getObject().reservar(cliente.getId(), cliente.getNombre(), cliente.getEmail());
+    }
+}
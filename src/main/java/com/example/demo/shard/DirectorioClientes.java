@@ -0,0 +1,233 @@
+package com.example.demo.shard;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.model.entity.Cliente;
+import com.example.demo.repository.ClienteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Índice global de unicidad con shards: asocia cada nombre y cada email al id del cliente que los usa.
+ * <p>
+ * Vive en una base propia, fuera de los shards, con una fila por clave ({@code n:nombre} o
+ * {@code e:email}); la clave primaria hace de restricción única global. Las búsquedas por nombre o
+ * email lo consultan para saber a qué shard ir, y las altas y cambios reservan aquí sus claves antes
+ * de escribir en el shard ({@link ClienteUnicidadListener}). Una reserva que choca con la de otro
+ * cliente se informa como la violación de la restricción única correspondiente, igual que sin shards.
+ * <p>
+ * Las reservas se escriben fuera de la transacción del shard: si ésta se revierte se borran al
+ * terminar, y las claves que un cliente deja de usar se liberan tras el commit del cambio.
+ */
+@Slf4j
+public class DirectorioClientes {
+
+    private static final String NOMBRE = "n:";
+    private static final String EMAIL = "e:";
+    /**
+     * Claves por consulta {@code in (...)}, para acotar el tamaño de la sentencia y su plan en caché
+     */
+    static final int CLAVES_POR_CONSULTA = 500;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate jdbcNombrado;
+
+    public DirectorioClientes(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbcNombrado = new NamedParameterJdbcTemplate(jdbc);
+        jdbc.execute("create table if not exists clientes_directorio ("
+                + "clave varchar(400) primary key, id bigint not null)");
+        jdbc.execute("create index if not exists idx_clientes_directorio_id on clientes_directorio (id)");
+    }
+
+    /**
+     * @param nombre nombre del cliente
+     * @return id del cliente que usa el nombre, si alguno
+     */
+    public Optional<Long> idPorNombre(String nombre) {
+        return idPor(NOMBRE + nombre);
+    }
+
+    /**
+     * @param email email del cliente
+     * @return id del cliente que usa el email, si alguno
+     */
+    public Optional<Long> idPorEmail(String email) {
+        return idPor(EMAIL + email);
+    }
+
+    /**
+     * Claves ya registradas entre los nombres y emails dados, como {@link ClienteRepository#findClavesExistentes}.
+     * Se resuelven con una consulta {@code in} por cada {@value #CLAVES_POR_CONSULTA} claves.
+     *
+     * @param nombres nombres a verificar
+     * @param emails  emails a verificar
+     * @return claves registradas; cada una informa sólo el campo que coincide
+     */
+    public List<ClienteRepository.ClaveUnica> existentes(Collection<String> nombres, Collection<String> emails) {
+        List<String> buscadas = new ArrayList<>(nombres.size() + emails.size());
+        nombres.stream().filter(Objects::nonNull).forEach(nombre -> buscadas.add(NOMBRE + nombre));
+        emails.stream().filter(Objects::nonNull).forEach(email -> buscadas.add(EMAIL + email));
+
+        List<ClienteRepository.ClaveUnica> claves = new ArrayList<>();
+        for (int desde = 0; desde < buscadas.size(); desde += CLAVES_POR_CONSULTA) {
+            List<String> bloque = buscadas.subList(desde, Math.min(desde + CLAVES_POR_CONSULTA, buscadas.size()));
+            for (String clave : jdbcNombrado.queryForList("select clave from clientes_directorio where clave in (:claves)",
+                    Map.of("claves", bloque), String.class)) {
+                claves.add(clave.startsWith(NOMBRE)
+                        ? new Clave(clave.substring(NOMBRE.length()), null)
+                        : new Clave(null, clave.substring(EMAIL.length())));
+            }
+        }
+        return claves;
+    }
+
+    /**
+     * Reserva el nombre y el email de un cliente. Es idempotente para las claves que el cliente ya tiene.
+     *
+     * @param id     id del cliente
+     * @param nombre nombre del cliente
+     * @param email  email del cliente, o null
+     * @throws ConstraintViolationException si otro cliente ya usa el nombre o el email
+     */
+    public void reservar(Long id, String nombre, String email) {
+        reservar(NOMBRE + nombre, id, Cliente.UK_NOMBRE);
+        if (email != null) {
+            reservar(EMAIL + email, id, Cliente.UK_EMAIL);
+        }
+    }
+
+    /**
+     * Registra las claves de un cliente existente (carga inicial desde los shards)
+     *
+     * @param id     id del cliente
+     * @param nombre nombre del cliente
+     * @param email  email del cliente, o null
+     */
+    public void registrar(Long id, String nombre, String email) {
+        jdbc.update("merge into clientes_directorio (clave, id) key (clave) values (?, ?)", NOMBRE + nombre, id);
+        if (email != null) {
+            jdbc.update("merge into clientes_directorio (clave, id) key (clave) values (?, ?)", EMAIL + email, id);
+        }
+    }
+
+    /**
+     * Tras el commit de un cambio libera las claves que el cliente dejó de usar y, tras una
+     * eliminación permanente, todas las suyas
+     *
+     * @param evento escritura confirmada
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteEvento evento) {
+        switch (evento.tipo()) {
+            case ACTUALIZADO -> {
+                ClienteResponseDTO cliente = evento.cliente();
+                if (cliente.getEmail() == null) {
+                    jdbc.update("delete from clientes_directorio where id = ? and clave <> ?",
+                            evento.id(), NOMBRE + cliente.getNombre());
+                } else {
+                    jdbc.update("delete from clientes_directorio where id = ? and clave <> ? and clave <> ?",
+                            evento.id(), NOMBRE + cliente.getNombre(), EMAIL + cliente.getEmail());
+                }
+            }
+            case ELIMINADO -> jdbc.update("delete from clientes_directorio where id = ?", evento.id());
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * @return número de claves registradas
+     */
+    public long tamano() {
+        Long tamano = jdbc.queryForObject("select count(*) from clientes_directorio", Long.class);
+        return tamano == null ? 0 : tamano;
+    }
+
+    private Optional<Long> idPor(String clave) {
+        return jdbc.queryForList("select id from clientes_directorio where clave = ?", Long.class, clave)
+                .stream()
+                .findFirst();
+    }
+
+    private void reservar(String clave, Long id, String restriccion) {
+        for (int intento = 0; intento < 2; intento++) {
+            try {
+                jdbc.update("insert into clientes_directorio (clave, id) values (?, ?)", clave, id);
+                recordarReserva(clave, id);
+                return;
+            } catch (DuplicateKeyException e) {
+                Optional<Long> duenio = idPor(clave);
+                if (duenio.isPresent()) {
+                    if (duenio.get().equals(id)) {
+                        return;
+                    }
+                    String mensaje = "La clave ya pertenece al cliente " + duenio.get();
+                    throw new ConstraintViolationException(mensaje,
+                            new SQLIntegrityConstraintViolationException(mensaje, "23505"), restriccion);
+                }
+                // Se liberó entre el INSERT y la consulta: se reintenta una vez
+            }
+        }
+        throw new ConstraintViolationException("No se pudo reservar la clave",
+                new SQLIntegrityConstraintViolationException("No se pudo reservar la clave", "23505"), restriccion);
+    }
+
+    /**
+     * Anota la reserva en la transacción en curso, para borrarla si se revierte
+     */
+    private void recordarReserva(String clave, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Reservas reservas = (Reservas) TransactionSynchronizationManager.getResource(this);
+        if (reservas == null) {
+            reservas = new Reservas();
+            TransactionSynchronizationManager.bindResource(this, reservas);
+            TransactionSynchronizationManager.registerSynchronization(reservas);
+        }
+        reservas.claves.add(new Object[]{clave, id});
+    }
+
+    private record Clave(String nombre, String email) implements ClienteRepository.ClaveUnica {
+
+        @Override
+        public String getNombre() {
+            return nombre;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    private class Reservas implements TransactionSynchronization {
+
+        private final List<Object[]> claves = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DirectorioClientes.this);
+            if (status != STATUS_COMMITTED && !claves.isEmpty()) {
+                jdbc.batchUpdate("delete from clientes_directorio where clave = ? and id = ?", claves);
+                log.debug("Liberadas {} reservas del directorio por rollback", claves.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.demo.shard;
+
+import com.example.demo.repository.ClienteRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consultas dispersas en todos los shards (scatter-gather).
+ * <p>
+ * Cada shard se consulta en su propio hilo virtual y en su propia transacción de solo lectura,
+ * así que la latencia es la del shard más lento y no la suma. Los listados ordenados se combinan
+ * con una mezcla de k vías: cada shard ya devuelve su parte ordenada y limitada, por lo que basta
+ * con recorrer las cabeceras hasta completar el límite. Con un único shard la consulta se ejecuta
+ * directamente en el hilo y la transacción de quien llama.
+ */
+public class DispersionShards implements AutoCloseable {
+
+    private static final int CAPACIDAD_COLA = ClienteRepository.EXPORT_FETCH_SIZE;
+    private static final Object FIN = new Object();
+
+    private final int cantidad;
+    private final TransactionTemplate lectura;
+    private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DispersionShards(int cantidad, PlatformTransactionManager transactionManager) {
+        this.cantidad = cantidad;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    /**
+     * @return número de shards
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Ejecuta la consulta en todos los shards en paralelo
+     *
+     * @param consulta consulta a ejecutar, recibe el número de shard
+     * @return resultado de cada shard, en orden de shard
+     */
+    public <T> List<T> enTodos(IntFunction<T> consulta) {
+        List<T> resultados = new ArrayList<>(cantidad);
+        if (cantidad == 1) {
+            resultados.add(ShardActual.en(0, () -> consulta.apply(0)));
+            return resultados;
+        }
+        List<Future<T>> futuros = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int shard = i;
+            futuros.add(hilos.submit(() -> ShardActual.en(shard, () -> lectura.execute(estado -> consulta.apply(shard)))));
+        }
+        try {
+            for (Future<T> futuro : futuros) {
+                resultados.add(esperar(futuro));
+            }
+            return resultados;
+        } finally {
+            futuros.forEach(futuro -> futuro.cancel(true));
+        }
+    }
+
+    /**
+     * Combina listados ya ordenados por shard en uno solo
+     *
+     * @param consulta consulta de cada shard; su resultado debe venir ordenado según {@code orden}
+     * @param orden    orden de los resultados, o null para concatenarlos en orden de shard
+     * @param limite   número máximo de resultados
+     * @return resultados combinados
+     */
+    public <T> List<T> mezclar(IntFunction<List<T>> consulta, Comparator<? super T> orden, int limite) {
+        List<List<T>> partes = enTodos(consulta);
+        if (partes.size() == 1) {
+            return partes.get(0);
+        }
+        List<T> resultado = new ArrayList<>();
+        if (orden == null) {
+            for (List<T> parte : partes) {
+                for (T elemento : parte) {
+                    if (resultado.size() == limite) {
+                        return resultado;
+                    }
+                    resultado.add(elemento);
+                }
+            }
+            return resultado;
+        }
+        PriorityQueue<Cabecera<T>> cabeceras = new PriorityQueue<>(partes.size(),
+                (a, b) -> orden.compare(a.actual(), b.actual()));
+        for (List<T> parte : partes) {
+            if (!parte.isEmpty()) {
+                cabeceras.add(new Cabecera<>(parte.iterator()));
+            }
+        }
+        while (resultado.size() < limite && !cabeceras.isEmpty()) {
+            Cabecera<T> cabecera = cabeceras.poll();
+            resultado.add(cabecera.actual());
+            if (cabecera.avanzar()) {
+                cabeceras.add(cabecera);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Concatena en orden de shard los streams de todos los shards. Cada shard se lee en paralelo
+     * hacia una cola acotada, así que mientras se consume uno los siguientes ya están cargados;
+     * cerrar el stream cancela las lecturas pendientes.
+     *
+     * @param consulta consulta de cada shard
+     * @return stream combinado; debe cerrarse al terminar
+     */
+    public <T> Stream<T> concatenar(IntFunction<Stream<T>> consulta) {
+        if (cantidad == 1) {
+            return ShardActual.en(0, () -> consulta.apply(0));
+        }
+        List<BlockingQueue<Object>> colas = new ArrayList<>(cantidad);
+        List<Future<?>> futuros = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int shard = i;
+            BlockingQueue<Object> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+            colas.add(cola);
+            futuros.add(hilos.submit(() -> producir(shard, consulta, cola)));
+        }
+        Iterator<T> iterador = new Iterator<>() {
+
+            private int shard;
+            private Object siguiente;
+
+            @Override
+            public boolean hasNext() {
+                while (siguiente == null && shard < cantidad) {
+                    Object elemento = tomar(colas.get(shard));
+                    if (elemento == FIN) {
+                        shard++;
+                    } else if (elemento instanceof Falla falla) {
+                        throw falla.error();
+                    } else {
+                        siguiente = elemento;
+                    }
+                }
+                return siguiente != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T elemento = (T) siguiente;
+                siguiente = null;
+                return elemento;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterador, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> futuros.forEach(futuro -> futuro.cancel(true)));
+    }
+
+    @Override
+    public void close() {
+        hilos.shutdownNow();
+    }
+
+    private <T> void producir(int shard, IntFunction<Stream<T>> consulta, BlockingQueue<Object> cola) {
+        try {
+            ShardActual.en(shard, () -> lectura.execute(estado -> {
+                try (Stream<T> elementos = consulta.apply(shard)) {
+                    elementos.forEach(elemento -> poner(cola, elemento));
+                }
+                return null;
+            }));
+            poner(cola, FIN);
+        } catch (Cancelado e) {
+            // El consumidor cerró el stream
+        } catch (RuntimeException | Error e) {
+            poner(cola, new Falla(e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e)));
+        }
+    }
+
+    private static void poner(BlockingQueue<Object> cola, Object elemento) {
+        try {
+            cola.put(elemento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Cancelado();
+        }
+    }
+
+    private static Object tomar(BlockingQueue<Object> cola) {
+        try {
+            return cola.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lectura de shards interrumpida", e);
+        }
+    }
+
+    private static <T> T esperar(Future<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta de shards interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Cabecera<T> {
+
+        private final Iterator<T> resto;
+        private T actual;
+
+        private Cabecera(Iterator<T> resto) {
+            this.resto = resto;
+            this.actual = resto.next();
+        }
+
+        private T actual() {
+            return actual;
+        }
+
+        private boolean avanzar() {
+            if (!resto.hasNext()) {
+                return false;
+            }
+            actual = resto.next();
+            return true;
+        }
+    }
+
+    private record Falla(RuntimeException error) {
+    }
+
+    private static final class Cancelado extends RuntimeException {
+
+        private Cancelado() {
+            super(null, null, false, false);
+        }
+    }
+}
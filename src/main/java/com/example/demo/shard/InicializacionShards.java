@@ -0,0 +1,67 @@
+package com.example.demo.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prepara los shards al arrancar.
+ * <p>
+ * Hibernate sólo crea el esquema en el shard 0 (el {@code spring.datasource} de siempre), así que
+ * se copia al resto con {@code SCRIPT NODATA} de H2; un shard que ya tiene la tabla no se toca.
+ * Después, antes que cualquier otro listener de arranque, se registran en el directorio los
+ * nombres y emails que ya existen en los shards (por ejemplo, los datos iniciales del shard 0).
+ */
+@Slf4j
+public class InicializacionShards {
+
+    private final List<? extends DataSource> shards;
+    private final DirectorioClientes directorio;
+
+    public InicializacionShards(List<? extends DataSource> shards, DirectorioClientes directorio) {
+        this.shards = shards;
+        this.directorio = directorio;
+    }
+
+    /**
+     * Copia el esquema del shard 0 a los shards que todavía no lo tienen
+     */
+    public void copiarEsquema() {
+        List<String> script = new JdbcTemplate(shards.get(0)).queryForList("script nodata", String.class)
+                .stream()
+                .filter(sentencia -> !sentencia.startsWith("--"))
+                .filter(sentencia -> !sentencia.toUpperCase(Locale.ROOT).startsWith("CREATE USER"))
+                .toList();
+        for (int i = 1; i < shards.size(); i++) {
+            JdbcTemplate shard = new JdbcTemplate(shards.get(i));
+            Integer tablas = shard.queryForObject(
+                    "select count(*) from information_schema.tables where table_schema = 'PUBLIC' and table_name = 'CLIENTES'",
+                    Integer.class);
+            if (tablas != null && tablas > 0) {
+                continue;
+            }
+            script.forEach(shard::execute);
+            log.info("Esquema copiado al shard {} ({} sentencias)", i, script.size());
+        }
+    }
+
+    /**
+     * Registra en el directorio las claves de los clientes que ya existen en los shards
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void cargarDirectorio() {
+        for (int i = 0; i < shards.size(); i++) {
+            new JdbcTemplate(shards.get(i)).query("select id, nombre, email from clientes",
+                    fila -> directorio.registrar(fila.getLong("id"), fila.getString("nombre"), fila.getString("email")));
+        }
+        log.info("Directorio de clientes cargado desde {} shards: {} claves", shards.size(), directorio.tamano());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard sobre el que trabaja el hilo actual.
+ * <p>
+ * Dentro de una transacción el shard queda ligado a ella desde la primera sentencia, y una
+ * transacción no puede cambiar de shard: no hay commit distribuido, así que cada transacción
+ * escribe en una sola base. Fuera de transacción se usa el shard fijado con {@link #en}; si no
+ * hay ninguno, el shard 0.
+ */
+public final class ShardActual {
+
+    private static final ThreadLocal<Integer> FIJADO = new ThreadLocal<>();
+
+    private ShardActual() {
+    }
+
+    /**
+     * @return shard de la transacción en curso, o el fijado para el hilo, o 0
+     */
+    public static int actual() {
+        Integer enTransaccion = (Integer) TransactionSynchronizationManager.getResource(ShardActual.class);
+        if (enTransaccion != null) {
+            return enTransaccion;
+        }
+        Integer fijado = FIJADO.get();
+        return fijado != null ? fijado : 0;
+    }
+
+    /**
+     * Ejecuta una acción sobre un shard. Si hay una transacción en curso, el shard se liga a ella
+     * (o se verifica que coincida con el ya ligado); si no, se fija para el hilo mientras dure la acción.
+     *
+     * @param shard  número de shard
+     * @param accion acción a ejecutar
+     * @return resultado de la acción
+     * @throws IllegalStateException si la transacción en curso ya trabaja sobre otro shard
+     */
+    public static <T> T en(int shard, Supplier<T> accion) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ligar(shard);
+            return accion.get();
+        }
+        Integer anterior = FIJADO.get();
+        FIJADO.set(shard);
+        try {
+            return accion.get();
+        } finally {
+            if (anterior == null) {
+                FIJADO.remove();
+            } else {
+                FIJADO.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * @return shard ligado a la transacción en curso, o null si todavía no tiene
+     */
+    static Integer deLaTransaccion() {
+        return (Integer) TransactionSynchronizationManager.getResource(ShardActual.class);
+    }
+
+    /**
+     * Liga el shard a la transacción en curso hasta que termine
+     */
+    static void ligar(int shard) {
+        Integer ligado = deLaTransaccion();
+        if (ligado == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(ShardActual.class, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ShardActual.class);
+                }
+            });
+        } else if (ligado != shard) {
+            throw new IllegalStateException("Una transacción no puede abarcar varios shards (" + ligado + " y " + shard + ")");
+        }
+    }
+}
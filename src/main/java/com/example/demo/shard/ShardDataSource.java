@@ -0,0 +1,54 @@
+package com.example.demo.shard;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envía cada conexión al shard de {@link ShardActual}.
+ * <p>
+ * Igual que el enrutador de réplicas, debe usarse detrás de un {@link LazyConnectionDataSourceProxy}:
+ * la conexión física se pide en la primera sentencia, cuando el repositorio ya decidió el shard.
+ * El shard elegido queda ligado a la transacción, de modo que las sentencias siguientes de la
+ * misma transacción no pueden ir a otro.
+ */
+public class ShardDataSource extends AbstractRoutingDataSource {
+
+    private final int cantidad;
+
+    public ShardDataSource(List<? extends DataSource> shards) {
+        this.cantidad = shards.size();
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            destinos.put(i, shards.get(i));
+        }
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return número de shards
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int shard = ShardActual.actual();
+        if (shard >= cantidad) {
+            throw new IllegalStateException("No existe el shard " + shard + " (hay " + cantidad + ")");
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ShardActual.ligar(shard);
+        }
+        return shard;
+    }
+}
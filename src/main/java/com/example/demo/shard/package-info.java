@@ -0,0 +1,15 @@
+/**
+ * Clientes repartidos en shards ({@code app.shards.habilitado=true}, ver {@code ShardsConfig}).
+ * <p>
+ * El generador {@value ClienteIdGenerator#NOMBRE} se declara aquí, fuera de la entidad; sólo lo usa
+ * {@code META-INF/orm-shards.xml}, que se registra con los shards habilitados.
+ */
+@GenericGenerator(name = ClienteIdGenerator.NOMBRE, type = ClienteIdGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "clientes_seq"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+})
+package com.example.demo.shard;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
@@ -0,0 +1,31 @@
+package com.example.demo.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el {@code DataSource} de la aplicación con un proxy que cuenta las sentencias
+ * ejecutadas ({@link ContadorSentenciasListener}). El proxy delega {@code unwrap}, así que
+ * las métricas del pool Hikari siguen encontrando el pool real.
+ * Se desactiva con {@code app.sql.contador.habilitado=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.contador.habilitado", havingValue = "true", matchIfMissing = true)
+public class ContadorSentenciasDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new ContadorSentenciasListener())
+                    .build();
+        }
+        return bean;
+    }
+}
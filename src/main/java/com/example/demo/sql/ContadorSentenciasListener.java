@@ -0,0 +1,63 @@
+package com.example.demo.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Recibe cada ejecución JDBC del {@code DataSource} instrumentado y la cuenta en los ámbitos
+ * de {@link SentenciasSql} del hilo y en la transacción en curso, cuyo total se registra en
+ * DEBUG al terminar.
+ */
+@Slf4j
+class ContadorSentenciasListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            SentenciasSql.registrar(queryInfo.getQuery());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transaccionActual().total += queryInfoList.size();
+        }
+    }
+
+    private static ContadorTransaccion transaccionActual() {
+        ContadorTransaccion contador = (ContadorTransaccion) TransactionSynchronizationManager.getResource(ContadorTransaccion.class);
+        if (contador == null) {
+            contador = new ContadorTransaccion(TransactionSynchronizationManager.getCurrentTransactionName());
+            TransactionSynchronizationManager.bindResource(ContadorTransaccion.class, contador);
+            TransactionSynchronizationManager.registerSynchronization(contador);
+        }
+        return contador;
+    }
+
+    /**
+     * Total de sentencias de una transacción, ligado a ella mientras está activa
+     */
+    private static final class ContadorTransaccion implements TransactionSynchronization {
+
+        private final String nombre;
+        private int total;
+
+        private ContadorTransaccion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContadorTransaccion.class);
+            log.debug("Transacción {} {}: {} sentencias SQL", nombre,
+                    status == STATUS_COMMITTED ? "confirmada" : "revertida", total);
+        }
+    }
+}
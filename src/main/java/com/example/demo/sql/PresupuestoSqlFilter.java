@@ -0,0 +1,43 @@
+package com.example.demo.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Cuenta las sentencias SQL de cada petición y registra un WARN con la lista completa
+ * cuando se supera el presupuesto configurado ({@code app.sql.presupuesto-por-peticion}, 0 lo desactiva).
+ * Sólo cuenta lo ejecutado en el hilo de la petición: una exportación en streaming corre en
+ * otro hilo y queda fuera, como corresponde a una operación sin tope de filas.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.contador.habilitado", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PresupuestoSqlFilter extends OncePerRequestFilter {
+
+    @Value("${app.sql.presupuesto-por-peticion:5}")
+    private int presupuesto = 5;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SentenciasSql.Ambito ambito = SentenciasSql.abrir();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ambito.close();
+            if (presupuesto > 0 && ambito.total() > presupuesto) {
+                log.warn("{} {} ejecutó {} sentencias SQL (presupuesto: {}):{}", request.getMethod(),
+                        request.getRequestURI(), ambito.total(), presupuesto, ambito.describir());
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registro por hilo de las sentencias SQL ejecutadas contra la base de datos.
+ * <p>
+ * Un {@link Ambito} abierto con {@link #abrir()} acumula todas las sentencias que el hilo
+ * ejecuta hasta cerrarse. Los ámbitos se anidan (petición dentro de una prueba, por ejemplo)
+ * y cada sentencia se cuenta en todos los abiertos. Sin ámbitos abiertos registrar no cuesta
+ * más que una lectura del {@code ThreadLocal}.
+ */
+public final class SentenciasSql {
+
+    private static final ThreadLocal<Ambito> ACTUAL = new ThreadLocal<>();
+
+    private SentenciasSql() {
+    }
+
+    /**
+     * Abre un ámbito de conteo en el hilo actual; debe cerrarse en el mismo hilo
+     *
+     * @return ámbito abierto
+     */
+    public static Ambito abrir() {
+        Ambito ambito = new Ambito(ACTUAL.get());
+        ACTUAL.set(ambito);
+        return ambito;
+    }
+
+    /**
+     * Registra una sentencia ejecutada en todos los ámbitos abiertos del hilo
+     *
+     * @param sql texto de la sentencia
+     */
+    static void registrar(String sql) {
+        for (Ambito ambito = ACTUAL.get(); ambito != null; ambito = ambito.padre) {
+            if (!ambito.cerrado) {
+                ambito.sentencias.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Sentencias ejecutadas por un hilo mientras el ámbito estuvo abierto
+     */
+    public static final class Ambito implements AutoCloseable {
+
+        private final Ambito padre;
+        private final List<String> sentencias = new ArrayList<>();
+        private boolean cerrado;
+
+        private Ambito(Ambito padre) {
+            this.padre = padre;
+        }
+
+        /**
+         * @return número de sentencias ejecutadas (un lote JDBC cuenta como una ida a la base de datos)
+         */
+        public int total() {
+            return sentencias.size();
+        }
+
+        /**
+         * @return sentencias en orden de ejecución
+         */
+        public List<String> sentencias() {
+            return Collections.unmodifiableList(sentencias);
+        }
+
+        /**
+         * Lista numerada de las sentencias, para mensajes de error y logs
+         *
+         * @return descripción en varias líneas
+         */
+        public String describir() {
+            StringBuilder texto = new StringBuilder();
+            for (int i = 0; i < sentencias.size(); i++) {
+                texto.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(sentencias.get(i));
+            }
+            return texto.toString();
+        }
+
+        @Override
+        public void close() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            if (ACTUAL.get() == this) {
+                if (padre == null) {
+                    ACTUAL.remove();
+                } else {
+                    ACTUAL.set(padre);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.json.ClienteJsonSerializado;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+@DisplayName("Unit Tests - ClienteRespuestaCache (pre-serialized responses)")
+class ClienteRespuestaCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ClienteRespuestaCache cacheUnderTest;
+    private ClienteResponseDTO cliente;
+
+    @BeforeEach
+    void givenSetup() {
+        cacheUnderTest = new ClienteRespuestaCache(objectMapper, 100, Duration.ofMinutes(1), true, 0);
+        cliente = new ClienteResponseDTO(1L, "Juan Perez", "juan.perez@example.com", "1234567890",
+                LocalDateTime.of(2024, 1, 15, 10, 30), true);
+        cliente.setVersion(0L);
+    }
+
+    @Test
+    @DisplayName("givenSameVersion_whenObtenerTwice_thenSameBytesAreReusedAndMatchJackson")
+    void givenSameVersion_whenObtenerTwice_thenSameBytesAreReusedAndMatchJackson() throws IOException {
+        ClienteJsonSerializado primera = cacheUnderTest.obtener(cliente);
+        ClienteJsonSerializado segunda = cacheUnderTest.obtener(cliente);
+
+        Assertions.assertSame(primera, segunda);
+        Assertions.assertArrayEquals(objectMapper.writeValueAsBytes(cliente), primera.getBytes());
+    }
+
+    @Test
+    @DisplayName("givenNewVersionOrWriteEvent_whenObtener_thenBytesAreRegenerated")
+    void givenNewVersionOrWriteEvent_whenObtener_thenBytesAreRegenerated() {
+        ClienteJsonSerializado original = cacheUnderTest.obtener(cliente);
+
+        cliente.setVersion(1L);
+        cliente.setTelefono("0999999999");
+        ClienteJsonSerializado actualizado = cacheUnderTest.obtener(cliente);
+        Assertions.assertNotSame(original, actualizado);
+        Assertions.assertEquals(1L, actualizado.getVersion());
+
+        cacheUnderTest.alModificarCliente(ClienteEvento.desactivado(1L));
+        Assertions.assertNull(cacheUnderTest.getPorId().getIfPresent(1L));
+    }
+
+    @Test
+    @DisplayName("givenAcceptEncodingGzip_whenVariante_thenCompressedBytesDecompressToJson")
+    void givenAcceptEncodingGzip_whenVariante_thenCompressedBytesDecompressToJson() throws IOException {
+        ClienteJsonSerializado serializado = cacheUnderTest.obtener(cliente);
+
+        Assertions.assertSame(serializado, cacheUnderTest.variante(serializado, null));
+        ClienteJsonSerializado gzip = cacheUnderTest.variante(serializado, "br, gzip");
+        Assertions.assertEquals("gzip", gzip.getCodificacion());
+        Assertions.assertSame(gzip, cacheUnderTest.variante(serializado, "gzip"));
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip.getBytes()))) {
+            Assertions.assertArrayEquals(serializado.getBytes(), entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("givenGzipRefusedWithQZero_whenVariante_thenUncompressedBytesAreReturned")
+    void givenGzipRefusedWithQZero_whenVariante_thenUncompressedBytesAreReturned() {
+        ClienteJsonSerializado serializado = cacheUnderTest.obtener(cliente);
+
+        Assertions.assertSame(serializado, cacheUnderTest.variante(serializado, "gzip;q=0"));
+        Assertions.assertSame(serializado, cacheUnderTest.variante(serializado, "br, gzip; q=0.0, *"));
+        Assertions.assertSame(serializado, cacheUnderTest.variante(serializado, "identity, *;q=0"));
+        Assertions.assertEquals("gzip", cacheUnderTest.variante(serializado, "gzip;q=0.5").getCodificacion());
+        Assertions.assertEquals("gzip", cacheUnderTest.variante(serializado, "br, *").getCodificacion());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.cache;
+
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.repository.ClienteRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+@DisplayName("Unit Tests - ClientesExistentes (Bloom filters of existing names and emails)")
+class ClientesExistentesTest {
+
+    private static final int CLIENTES = 10;
+
+    private final ClienteRepository repository = Mockito.mock(ClienteRepository.class);
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+
+    private ClientesExistentes existentesUnderTest;
+    private List<ClienteResponseDTO> clientes;
+
+    @BeforeEach
+    void givenSetup() {
+        Mockito.when(transactionManager.getTransaction(Mockito.any())).thenAnswer(invocacion -> new SimpleTransactionStatus());
+        existentesUnderTest = new ClientesExistentes(repository, transactionManager, 100, 0.001, 0.2);
+        clientes = new ArrayList<>(IntStream.rangeClosed(1, CLIENTES).mapToObj(ClientesExistentesTest::cliente).toList());
+        Mockito.when(repository.streamTodos()).thenAnswer(invocacion -> List.copyOf(clientes).stream());
+    }
+
+    @Test
+    @DisplayName("givenClientesInRepository_whenCargar_thenOnlyTheirNamesAndEmailsMayExist")
+    void givenClientesInRepository_whenCargar_thenOnlyTheirNamesAndEmailsMayExist() {
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir("Nadie Existe"));
+
+        existentesUnderTest.cargar();
+
+        Assertions.assertEquals(CLIENTES, existentesUnderTest.getElementos());
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir("Cliente 1"));
+        Assertions.assertTrue(existentesUnderTest.algunoPuedeExistir(List.of(), List.of("cliente.10@example.com")));
+        Assertions.assertFalse(existentesUnderTest.nombrePuedeExistir("Nadie Existe"));
+        Assertions.assertFalse(existentesUnderTest.algunoPuedeExistir(List.of("Nadie Existe"), List.of("nadie@example.com")));
+        Mockito.verify(transactionManager).commit(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenCreadoPublished_whenBeforeCommit_thenNameAndEmailMayExist")
+    void givenCreadoPublished_whenBeforeCommit_thenNameAndEmailMayExist() {
+        existentesUnderTest.cargar();
+        var nuevo = cliente(CLIENTES + 1);
+
+        existentesUnderTest.alPublicarCambio(ClienteEvento.creado(nuevo));
+
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir(nuevo.getNombre()));
+        Assertions.assertTrue(existentesUnderTest.algunoPuedeExistir(List.of(), List.of(nuevo.getEmail())));
+        Assertions.assertEquals(CLIENTES, existentesUnderTest.getElementos());
+
+        existentesUnderTest.alModificarCliente(ClienteEvento.creado(nuevo));
+        Assertions.assertEquals(CLIENTES + 1, existentesUnderTest.getElementos());
+    }
+
+    @Test
+    @DisplayName("givenObsoleteEntriesOverThreshold_whenAlModificarCliente_thenFiltersAreRebuiltWithoutThem")
+    void givenObsoleteEntriesOverThreshold_whenAlModificarCliente_thenFiltersAreRebuiltWithoutThem() throws Exception {
+        existentesUnderTest.cargar();
+
+        // 3 de 10 nombres obsoletos superan el 20 %
+        for (int i = 1; i <= 3; i++) {
+            String anterior = clientes.get(i - 1).getNombre();
+            var renombrado = cliente(i);
+            renombrado.setNombre("Renombrado " + i);
+            clientes.set(i - 1, renombrado);
+            existentesUnderTest.alModificarCliente(ClienteEvento.actualizado(anterior, renombrado));
+        }
+
+        esperarHasta(() -> !existentesUnderTest.nombrePuedeExistir("Cliente 1"));
+        Assertions.assertFalse(existentesUnderTest.nombrePuedeExistir("Cliente 3"));
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir("Renombrado 3"));
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir("Cliente 4"));
+        Mockito.verify(repository, Mockito.times(2)).streamTodos();
+    }
+
+    @Test
+    @DisplayName("givenCreadoCommittedDuringRebuild_whenCargar_thenItIsStillCounted")
+    void givenCreadoCommittedDuringRebuild_whenCargar_thenItIsStillCounted() {
+        existentesUnderTest.cargar();
+        var nuevo = cliente(CLIENTES + 1);
+        Mockito.when(repository.streamTodos()).thenAnswer(invocacion -> {
+            // El alta se confirma después de que la lectura tomó su instantánea
+            existentesUnderTest.alModificarCliente(ClienteEvento.creado(nuevo));
+            return List.copyOf(clientes).stream();
+        });
+
+        existentesUnderTest.cargar();
+
+        Assertions.assertEquals(CLIENTES + 1, existentesUnderTest.getElementos());
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir(nuevo.getNombre()));
+    }
+
+    @Test
+    @DisplayName("givenClienteSinEmail_whenCargarAndCreado_thenOnlyItsNameIsAdded")
+    void givenClienteSinEmail_whenCargarAndCreado_thenOnlyItsNameIsAdded() {
+        var sinEmail = cliente(CLIENTES + 1);
+        sinEmail.setEmail(null);
+        clientes.add(sinEmail);
+
+        existentesUnderTest.cargar();
+
+        Assertions.assertEquals(CLIENTES + 1, existentesUnderTest.getElementos());
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir(sinEmail.getNombre()));
+        Assertions.assertFalse(existentesUnderTest.algunoPuedeExistir(List.of(), Collections.singletonList(null)));
+
+        var otroSinEmail = cliente(CLIENTES + 2);
+        otroSinEmail.setEmail(null);
+        existentesUnderTest.alPublicarCambio(ClienteEvento.creado(otroSinEmail));
+        existentesUnderTest.alModificarCliente(ClienteEvento.creado(otroSinEmail));
+
+        Assertions.assertEquals(CLIENTES + 2, existentesUnderTest.getElementos());
+        Assertions.assertTrue(existentesUnderTest.nombrePuedeExistir(otroSinEmail.getNombre()));
+    }
+
+    private static ClienteResponseDTO cliente(int numero) {
+        return new ClienteResponseDTO((long) numero, "Cliente " + numero, "cliente." + numero + "@example.com",
+                "099000000" + numero % 10, LocalDateTime.of(2024, 1, 15, 10, 30), true);
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (!condicion.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("Unit Tests - ConsultasCompartidas (single flight)")
+class ConsultasCompartidasTest {
+
+    private static final int PETICIONES = 8;
+
+    private ConsultasCompartidas<Long, String> consultasUnderTest;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void givenSetup() {
+        consultasUnderTest = new ConsultasCompartidas<>("prueba", new SimpleMeterRegistry());
+        ejecuciones = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("givenConcurrentCallsForSameKey_whenObtener_thenQueryRunsOnceAndAllShareResult")
+    void givenConcurrentCallsForSameKey_whenObtener_thenQueryRunsOnceAndAllShareResult() throws Exception {
+        var liberar = new CountDownLatch(1);
+
+        List<Future<String>> resultados = lanzar(() -> consultasUnderTest.obtener(1L, 0L, () -> {
+            ejecuciones.incrementAndGet();
+            esperar(liberar);
+            return "Juan Perez";
+        }), liberar);
+
+        for (Future<String> resultado : resultados) {
+            Assertions.assertEquals("Juan Perez", resultado.get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, ejecuciones.get());
+        Assertions.assertEquals(1, consultasUnderTest.getLideres());
+        Assertions.assertEquals(PETICIONES - 1, consultasUnderTest.getSeguidores());
+    }
+
+    @Test
+    @DisplayName("givenQueryFails_whenObtenerConcurrently_thenAllCallersReceiveSameException")
+    void givenQueryFails_whenObtenerConcurrently_thenAllCallersReceiveSameException() throws Exception {
+        var liberar = new CountDownLatch(1);
+        var fallo = new IllegalStateException("base de datos no disponible");
+
+        List<Future<String>> resultados = lanzar(() -> consultasUnderTest.obtener(1L, 0L, () -> {
+            ejecuciones.incrementAndGet();
+            esperar(liberar);
+            throw fallo;
+        }), liberar);
+
+        for (Future<String> resultado : resultados) {
+            ExecutionException excepcion = Assertions.assertThrows(ExecutionException.class,
+                    () -> resultado.get(10, TimeUnit.SECONDS));
+            Assertions.assertSame(fallo, excepcion.getCause());
+        }
+        Assertions.assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("givenFinishedQuery_whenObtenerAgain_thenQueryRunsAgain")
+    void givenFinishedQuery_whenObtenerAgain_thenQueryRunsAgain() {
+        consultasUnderTest.obtener(1L, 0L, () -> "v" + ejecuciones.incrementAndGet());
+        String segunda = consultasUnderTest.obtener(1L, 0L, () -> "v" + ejecuciones.incrementAndGet());
+
+        Assertions.assertEquals("v2", segunda);
+        Assertions.assertEquals(2, consultasUnderTest.getLideres());
+        Assertions.assertEquals(0, consultasUnderTest.getSeguidores());
+    }
+
+    @Test
+    @DisplayName("givenQueryInFlight_whenObtenerWithNewerMarca_thenDoesNotJoinIt")
+    void givenQueryInFlight_whenObtenerWithNewerMarca_thenDoesNotJoinIt() throws Exception {
+        var iniciada = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+
+        try (ExecutorService hilos = Executors.newSingleThreadExecutor()) {
+            Future<String> anterior = hilos.submit(() -> consultasUnderTest.obtener(1L, 0L, () -> {
+                iniciada.countDown();
+                esperar(liberar);
+                return "antes del commit";
+            }));
+            Assertions.assertTrue(iniciada.await(10, TimeUnit.SECONDS));
+
+            String posterior = consultasUnderTest.obtener(1L, 1L, () -> "después del commit");
+            liberar.countDown();
+
+            Assertions.assertEquals("después del commit", posterior);
+            Assertions.assertEquals("antes del commit", anterior.get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(2, consultasUnderTest.getLideres());
+        Assertions.assertEquals(0, consultasUnderTest.getSeguidores());
+    }
+
+    /**
+     * Lanza {@link #PETICIONES} llamadas y suelta la consulta cuando todas menos la primera se unieron
+     */
+    private List<Future<String>> lanzar(Callable<String> llamada, CountDownLatch liberar)
+            throws InterruptedException {
+        List<Future<String>> resultados = new ArrayList<>();
+        try (ExecutorService hilos = Executors.newFixedThreadPool(PETICIONES)) {
+            for (int i = 0; i < PETICIONES; i++) {
+                resultados.add(hilos.submit(llamada));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (consultasUnderTest.getSeguidores() < PETICIONES - 1 && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+            liberar.countDown();
+        }
+        return resultados;
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
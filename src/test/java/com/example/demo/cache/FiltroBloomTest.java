@@ -0,0 +1,61 @@
+package com.example.demo.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Unit Tests - FiltroBloom (existence filter)")
+class FiltroBloomTest {
+
+    private static final int CAPACIDAD = 10_000;
+
+    @Test
+    @DisplayName("givenAddedTexts_whenPuedeContener_thenNeverReportsFalseNegatives")
+    void givenAddedTexts_whenPuedeContener_thenNeverReportsFalseNegatives() {
+        var filtro = new FiltroBloom(CAPACIDAD, 0.01);
+        for (int i = 0; i < CAPACIDAD; i++) {
+            filtro.agregar("cliente" + i + "@example.com");
+        }
+
+        for (int i = 0; i < CAPACIDAD; i++) {
+            Assertions.assertTrue(filtro.puedeContener("cliente" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    @DisplayName("givenFullFilter_whenPuedeContenerUnknownTexts_thenFalsePositiveRateIsNearTarget")
+    void givenFullFilter_whenPuedeContenerUnknownTexts_thenFalsePositiveRateIsNearTarget() {
+        var filtro = new FiltroBloom(CAPACIDAD, 0.01);
+        for (int i = 0; i < CAPACIDAD; i++) {
+            filtro.agregar("Cliente " + i);
+        }
+
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.puedeContener("Desconocido " + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        Assertions.assertTrue(falsosPositivos < consultas * 0.02,
+                "Tasa de falsos positivos demasiado alta: " + (double) falsosPositivos / consultas);
+    }
+
+    @Test
+    @DisplayName("givenEmptyFilter_whenPuedeContener_thenReturnsFalse")
+    void givenEmptyFilter_whenPuedeContener_thenReturnsFalse() {
+        var filtro = new FiltroBloom(100, 0.01);
+
+        Assertions.assertFalse(filtro.puedeContener("Juan Perez"));
+        Assertions.assertEquals(7, filtro.getFunciones());
+        Assertions.assertEquals(0, filtro.getCantidadBits() % 64);
+    }
+
+    @Test
+    @DisplayName("givenInvalidSizing_whenCreate_thenThrowsIllegalArgumentException")
+    void givenInvalidSizing_whenCreate_thenThrowsIllegalArgumentException() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.concurrencia;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("Unit Tests - LimiteAdaptativo (gradient concurrency limit)")
+class LimiteAdaptativoTest {
+
+    private static final Duration VENTANA = Duration.ofMillis(100);
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    @DisplayName("givenLimitReached_whenAdquirir_thenRejectedUntilOneIsReleased")
+    void givenLimitReached_whenAdquirir_thenRejectedUntilOneIsReleased() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(2, 1, 10, 1.5, VENTANA, reloj::get);
+
+        Assertions.assertTrue(limite.intentarAdquirir());
+        Assertions.assertTrue(limite.intentarAdquirir());
+        Assertions.assertFalse(limite.intentarAdquirir());
+
+        limite.liberar(TimeUnit.MILLISECONDS.toNanos(5), false);
+
+        Assertions.assertTrue(limite.intentarAdquirir());
+        Assertions.assertEquals(2, limite.getEnVuelo());
+    }
+
+    @Test
+    @DisplayName("givenSaturatedWithStableLatency_whenWindowsPass_thenLimitGrows")
+    void givenSaturatedWithStableLatency_whenWindowsPass_thenLimitGrows() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 1, 100, 1.5, VENTANA, reloj::get);
+
+        ventanasSaturadas(limite, 20, 10);
+
+        Assertions.assertTrue(limite.getLimite() > 10, "límite: " + limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("givenLatencyFarAboveBaseline_whenWindowsPass_thenLimitShrinks")
+    void givenLatencyFarAboveBaseline_whenWindowsPass_thenLimitShrinks() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 2, 100, 1.5, VENTANA, reloj::get);
+        ventanasSaturadas(limite, 10, 10);
+        int conLatenciaBase = limite.getLimite();
+
+        ventanasSaturadas(limite, 5, 100);
+
+        Assertions.assertTrue(limite.getLimite() < conLatenciaBase,
+                "antes: " + conLatenciaBase + ", después: " + limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("givenFailedRequests_whenWindowCloses_thenLimitDecreasesMultiplicatively")
+    void givenFailedRequests_whenWindowCloses_thenLimitDecreasesMultiplicatively() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 2, 100, 1.5, VENTANA, reloj::get);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(limite.intentarAdquirir());
+        }
+        reloj.addAndGet(VENTANA.toNanos());
+        for (int i = 0; i < 10; i++) {
+            limite.liberar(TimeUnit.MILLISECONDS.toNanos(10), i == 0);
+        }
+
+        Assertions.assertEquals(18, limite.getLimite());
+    }
+
+    @Test
+    @DisplayName("givenLimitMostlyUnused_whenWindowsPass_thenLimitUnchanged")
+    void givenLimitMostlyUnused_whenWindowsPass_thenLimitUnchanged() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(40, 4, 100, 1.5, VENTANA, reloj::get);
+
+        for (int ventana = 0; ventana < 5; ventana++) {
+            reloj.addAndGet(VENTANA.toNanos());
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertTrue(limite.intentarAdquirir());
+                limite.liberar(TimeUnit.MILLISECONDS.toNanos(500), false);
+            }
+        }
+
+        Assertions.assertEquals(40, limite.getLimite());
+    }
+
+    /**
+     * Cada ventana ocupa todo el límite y libera todas las peticiones con la latencia dada
+     */
+    private void ventanasSaturadas(LimiteAdaptativo limite, int ventanas, long latenciaMillis) {
+        for (int ventana = 0; ventana < ventanas; ventana++) {
+            int admitidas = 0;
+            while (limite.intentarAdquirir()) {
+                admitidas++;
+            }
+            reloj.addAndGet(VENTANA.toNanos());
+            for (int i = 0; i < admitidas; i++) {
+                limite.liberar(TimeUnit.MILLISECONDS.toNanos(latenciaMillis), false);
+            }
+        }
+    }
+}
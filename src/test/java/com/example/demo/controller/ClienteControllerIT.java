@@ -1,21 +1,35 @@
 package com.example.demo.controller;
 
+import com.example.demo.exception.ErrorResponse;
 import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.model.dto.ClienteResponseDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -31,6 +45,9 @@ class ClienteControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     @DisplayName("givenValidClienteRequest_whenCrearCliente_thenReturnsCreatedWithLocationHeader")
     void givenValidClienteRequest_whenCrearCliente_thenReturnsCreatedWithLocationHeader() throws Exception {
@@ -128,5 +145,468 @@ class ClienteControllerIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nombre").value("Ana Martinez Updated"));
     }
-}
 
+    @Test
+    @DisplayName("givenSeveralClientes_whenListarPaginaPorNombre_thenCursorWalksAllPagesInOrder")
+    void givenSeveralClientes_whenListarPaginaPorNombre_thenCursorWalksAllPagesInOrder() throws Exception {
+        for (String nombre : new String[]{"Zoila Paginada", "Zacarias Paginado", "Zenon Paginado"}) {
+            var request = new ClienteRequestDTO();
+            request.setNombre(nombre);
+            request.setEmail(nombre.toLowerCase().replace(' ', '.') + "@example.com");
+            mockMvc.perform(post("/api/v1/clientes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        var nombres = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var peticion = get("/api/v1/clientes/pagina").param("limit", "2").param("sort", "nombre");
+            if (cursor != null) {
+                peticion.param("after", cursor);
+            }
+            MvcResult result = mockMvc.perform(peticion)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.limite").value(2))
+                    .andExpect(jsonPath("$.orden").value("nombre"))
+                    .andReturn();
+
+            var pagina = objectMapper.readTree(result.getResponse().getContentAsString());
+            Assertions.assertTrue(pagina.get("contenido").size() <= 2);
+            pagina.get("contenido").forEach(cliente -> nombres.add(cliente.get("nombre").asText()));
+            cursor = pagina.get("siguienteCursor").isNull() ? null : pagina.get("siguienteCursor").asText();
+            Assertions.assertEquals(cursor != null, result.getResponse().getHeader("Link") != null);
+        } while (cursor != null);
+
+        Assertions.assertEquals(nombres.stream().distinct().count(), nombres.size());
+        Assertions.assertEquals(nombres.stream().sorted().toList(), nombres);
+        Assertions.assertTrue(nombres.containsAll(List.of("Zoila Paginada", "Zacarias Paginado", "Zenon Paginado")));
+    }
+
+    @Test
+    @DisplayName("givenInvalidCursorOrLimit_whenListarPagina_thenReturnsBadRequest")
+    void givenInvalidCursorOrLimit_whenListarPagina_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("after", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("sort", "telefono"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("givenSeedClientes_whenSugerir_thenMatchesPrefixIgnoringCaseAndAccents")
+    void givenSeedClientes_whenSugerir_thenMatchesPrefixIgnoringCaseAndAccents() throws Exception {
+        mockMvc.perform(get("/api/v1/clientes/sugerir").param("prefijo", "miguel a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nombre").value("Miguel Ángel López"))
+                .andExpect(jsonPath("$[0].id").value(5));
+
+        mockMvc.perform(get("/api/v1/clientes/sugerir").param("prefijo", "ANA").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nombre").value(Matchers.startsWithIgnoringCase("Ana")));
+
+        mockMvc.perform(get("/api/v1/clientes/sugerir").param("prefijo", "  "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/clientes/sugerir").param("prefijo", "a").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("givenMisspelledName_whenBuscarAproximado_thenReturnsRankedMatches")
+    void givenMisspelledName_whenBuscarAproximado_thenReturnsRankedMatches() throws Exception {
+        mockMvc.perform(get("/api/v1/clientes/buscar/aproximado").param("nombre", "carlos rodriges"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nombre").value("Carlos Rodríguez"))
+                .andExpect(jsonPath("$[0].similitud").value(Matchers.greaterThanOrEqualTo(0.5)));
+
+        mockMvc.perform(get("/api/v1/clientes/buscar/aproximado").param("nombre", "Xyzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/api/v1/clientes/buscar/aproximado").param("nombre", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("givenExistingClientes_whenExportarNdjson_thenStreamsOneJsonObjectPerLine")
+    void givenExistingClientes_whenExportarNdjson_thenStreamsOneJsonObjectPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/clientes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        var lineas = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertTrue(lineas.length >= 1);
+        long idAnterior = 0;
+        for (String linea : lineas) {
+            var cliente = objectMapper.readTree(linea);
+            Assertions.assertTrue(cliente.get("id").asLong() > idAnterior);
+            Assertions.assertTrue(cliente.has("nombre"));
+            idAnterior = cliente.get("id").asLong();
+        }
+    }
+
+    @Test
+    @DisplayName("givenExistingClientes_whenExportarCsv_thenStreamsHeaderAndRows")
+    void givenExistingClientes_whenExportarCsv_thenStreamsHeaderAndRows() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/clientes/export").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        var lineas = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        Assertions.assertEquals("id,nombre,email,telefono,fechaRegistro,activo", lineas[0]);
+        Assertions.assertTrue(lineas.length >= 2);
+
+        mockMvc.perform(get("/api/v1/clientes/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("givenMixedBatch_whenCrearLote_thenReturnsMultiStatusWithResultPerItem")
+    void givenMixedBatch_whenCrearLote_thenReturnsMultiStatusWithResultPerItem() throws Exception {
+        var existente = new ClienteRequestDTO("Lucia Existente", "lucia.existente@example.com", null);
+        mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(existente)))
+                .andExpect(status().isCreated());
+
+        var lote = List.of(
+                new ClienteRequestDTO("Lote Primero", "lote.primero@example.com", "0991111111"),
+                new ClienteRequestDTO("Lote Segundo", "lote.segundo@example.com", null),
+                new ClienteRequestDTO("Lote Primero", "otro.email@example.com", null),
+                new ClienteRequestDTO("Lucia Existente", "lucia.nueva@example.com", null),
+                new ClienteRequestDTO("Lote 123", "no-es-email", null)
+        );
+
+        mockMvc.perform(post("/api/v1/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.creados").value(2))
+                .andExpect(jsonPath("$.conflictos").value(2))
+                .andExpect(jsonPath("$.invalidos").value(1))
+                .andExpect(jsonPath("$.resultados[0].estado").value("CREADO"))
+                .andExpect(jsonPath("$.resultados[0].cliente.id").exists())
+                .andExpect(jsonPath("$.resultados[1].estado").value("CREADO"))
+                .andExpect(jsonPath("$.resultados[2].estado").value("CONFLICTO"))
+                .andExpect(jsonPath("$.resultados[3].estado").value("CONFLICTO"))
+                .andExpect(jsonPath("$.resultados[4].estado").value("INVALIDO"))
+                .andExpect(jsonPath("$.resultados[4].errores.nombre").exists())
+                .andExpect(jsonPath("$.resultados[4].errores.email").exists());
+
+        mockMvc.perform(get("/api/v1/clientes/buscar").param("nombre", "Lote Segundo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("lote.segundo@example.com"));
+    }
+
+    @Test
+    @DisplayName("givenNewCliente_whenListar_thenListIncludesItAndExposesGeneration")
+    void givenNewCliente_whenListar_thenListIncludesItAndExposesGeneration() throws Exception {
+        var requestDTO = new ClienteRequestDTO("Lucia Torres", "lucia.torres@example.com", "0991234567");
+
+        mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/clientes"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Clientes-Generacion"))
+                .andExpect(jsonPath("$[?(@.nombre == 'Lucia Torres')]").exists())
+                .andReturn();
+
+        Assertions.assertTrue(Long.parseLong(result.getResponse().getHeader("X-Clientes-Generacion")) >= 0);
+    }
+
+    @Test
+    @DisplayName("givenExistingEmail_whenCrearCliente_thenReturnsConflictNamingEmail")
+    void givenExistingEmail_whenCrearCliente_thenReturnsConflictNamingEmail() throws Exception {
+        var original = new ClienteRequestDTO("Pedro Ramirez", "pedro.ramirez@example.com", "0991111111");
+        var duplicado = new ClienteRequestDTO("Pedro Ramos", "pedro.ramirez@example.com", "0992222222");
+
+        mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(original)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(duplicado)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Ya existe un cliente con el email: pedro.ramirez@example.com"));
+    }
+
+    @Test
+    @DisplayName("givenExistingCliente_whenPatch_thenOnlySentFieldsChangeAndDeactivationHidesIt")
+    void givenExistingCliente_whenPatch_thenOnlySentFieldsChangeAndDeactivationHidesIt() throws Exception {
+        var createRequest = new ClienteRequestDTO("Sofia Vega", "sofia.vega@example.com", "0993333333");
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var clienteId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(patch("/api/v1/clientes/{id}", clienteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefono\":\"0994444444\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Sofia Vega"))
+                .andExpect(jsonPath("$.email").value("sofia.vega@example.com"))
+                .andExpect(jsonPath("$.telefono").value("0994444444"));
+
+        mockMvc.perform(patch("/api/v1/clientes/{id}", clienteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/v1/clientes/{id}", clienteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"   \"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/v1/clientes/{id}", clienteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"activo\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activo").value(false));
+
+        mockMvc.perform(get("/api/v1/clientes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.nombre == 'Sofia Vega')]").doesNotExist());
+
+        mockMvc.perform(delete("/api/v1/clientes/{id}", clienteId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/v1/clientes/{id}", 999999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("givenEtag_whenConditionalRequests_thenNotModifiedAndPreconditionFailedAreHonored")
+    void givenEtag_whenConditionalRequests_thenNotModifiedAndPreconditionFailedAreHonored() throws Exception {
+        var createRequest = new ClienteRequestDTO("Diego Castro", "diego.castro@example.com", "0995555555");
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var clienteId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+
+        MvcResult getResult = mockMvc.perform(get("/api/v1/clientes/{id}", clienteId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn();
+        var etag = getResult.getResponse().getHeader("ETag");
+        Assertions.assertEquals("\"" + clienteId + "-0\"", etag);
+
+        mockMvc.perform(get("/api/v1/clientes/{id}", clienteId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        var updateRequest = new ClienteRequestDTO("Diego Castro", "diego.castro@example.com", "0996666666");
+        MvcResult updateResult = mockMvc.perform(put("/api/v1/clientes/{id}", clienteId)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        var nuevoEtag = updateResult.getResponse().getHeader("ETag");
+        Assertions.assertEquals("\"" + clienteId + "-1\"", nuevoEtag);
+
+        mockMvc.perform(put("/api/v1/clientes/{id}", clienteId)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/clientes/{id}", clienteId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", nuevoEtag));
+    }
+
+    @Test
+    @DisplayName("givenIfMatchList_whenActualizar_thenFirstStrongEtagOfTheClienteIsUsed")
+    void givenIfMatchList_whenActualizar_thenFirstStrongEtagOfTheClienteIsUsed() throws Exception {
+        var createRequest = new ClienteRequestDTO("Elena Vargas", "elena.vargas@example.com", "0997777777");
+        MvcResult createResult = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var clienteId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asLong();
+        var updateRequest = new ClienteRequestDTO("Elena Vargas", "elena.vargas@example.com", "0998888888");
+
+        // Un ETag débil y el de otro cliente se saltan; vale el primero fuerte de este cliente
+        mockMvc.perform(put("/api/v1/clientes/{id}", clienteId)
+                        .header("If-Match", "W/\"" + clienteId + "-1\", \"999999-1\", \"" + clienteId + "-0\", \""
+                                + clienteId + "-0-gzip\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + clienteId + "-1\""));
+
+        mockMvc.perform(put("/api/v1/clientes/{id}", clienteId)
+                        .header("If-Match", "\"" + clienteId + "-0\", \"" + clienteId + "-0-gzip\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("givenListEtag_whenListarWithIfNoneMatch_thenReturnsNotModified")
+    void givenListEtag_whenListarWithIfNoneMatch_thenReturnsNotModified() throws Exception {
+        var etag = mockMvc.perform(get("/api/v1/clientes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        Assertions.assertNotNull(etag);
+
+        mockMvc.perform(get("/api/v1/clientes").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("givenMissingCliente_whenObtenerPorId_thenServiceTimerRecordsNotFoundOutcome")
+    void givenMissingCliente_whenObtenerPorId_thenServiceTimerRecordsNotFoundOutcome() throws Exception {
+        mockMvc.perform(get("/api/v1/clientes/{id}", 999999L))
+                .andExpect(status().isNotFound());
+
+        Timer timer = meterRegistry.find("clientes.servicio")
+                .tags("operacion", "obtenerPorId", "resultado", "not-found")
+                .timer();
+        Assertions.assertNotNull(timer);
+        Assertions.assertTrue(timer.count() >= 1);
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+
+    @Test
+    @DisplayName("givenCborAccept_whenCrearObtenerAndMissing_thenBodiesAndErrorsAreCbor")
+    void givenCborAccept_whenCrearObtenerAndMissing_thenBodiesAndErrorsAreCbor() throws Exception {
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        var request = new ClienteRequestDTO("Camila Rojas", "camila.rojas@example.com", "0993333333");
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        var creado = cbor.readValue(createResult.getResponse().getContentAsByteArray(), ClienteResponseDTO.class);
+        Assertions.assertEquals("Camila Rojas", creado.getNombre());
+
+        MvcResult getResult = mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", Matchers.containsString("Accept")))
+                .andExpect(header().string("ETag", "\"" + creado.getId() + "-0-cbor\""))
+                .andReturn();
+        var obtenido = cbor.readValue(getResult.getResponse().getContentAsByteArray(), ClienteResponseDTO.class);
+        Assertions.assertEquals(creado.getEmail(), obtenido.getEmail());
+        Assertions.assertEquals(creado.getFechaRegistro(), obtenido.getFechaRegistro());
+
+        // El ETag sigue al formato que elige Spring MVC según las calidades de Accept
+        mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                        .header("Accept", "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"" + creado.getId() + "-0-cbor\""));
+        mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                        .header("Accept", "application/cbor;q=0.5, */*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"" + creado.getId() + "-0\""));
+
+        // El ETag del JSON no valida la copia CBOR, y viceversa
+        mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"" + creado.getId() + "-0\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                        .header("If-None-Match", getResult.getResponse().getHeader("ETag")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + creado.getId() + "-0\""));
+
+        MvcResult notFound = mockMvc.perform(get("/api/v1/clientes/{id}", 999999L)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        var error = cbor.readValue(notFound.getResponse().getContentAsByteArray(), ErrorResponse.class);
+        Assertions.assertEquals(404, error.getStatus());
+
+        mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.nombre").value("Camila Rojas"));
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "app.clientes.cache.respuestas.gzip.habilitado=true",
+            "app.clientes.cache.respuestas.gzip.minimo=0"
+    })
+    @DisplayName("Con gzip habilitado")
+    class ConGzip {
+
+        @Test
+        @DisplayName("givenGzipEnabled_whenObtenerWithAndWithoutGzip_thenEachEncodingHasItsOwnEtagAndVaryAcceptEncoding")
+        void givenGzipEnabled_whenObtenerWithAndWithoutGzip_thenEachEncodingHasItsOwnEtagAndVaryAcceptEncoding()
+                throws Exception {
+            var request = new ClienteRequestDTO("Tomas Vera", "tomas.vera@example.com", "0994444444");
+            var creado = objectMapper.readValue(mockMvc.perform(post("/api/v1/clientes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString(), ClienteResponseDTO.class);
+            var etag = "\"" + creado.getId() + "-0\"";
+            var etagGzip = "\"" + creado.getId() + "-0-gzip\"";
+
+            mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId()).header("Accept-Encoding", "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("ETag", etagGzip))
+                    .andExpect(header().string("Vary", Matchers.containsString("Accept-Encoding")));
+            mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId()).header("Accept-Encoding", "gzip;q=0"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(header().string("ETag", etag))
+                    .andExpect(header().string("Vary", Matchers.containsString("Accept-Encoding")));
+
+            mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId())
+                            .header("Accept-Encoding", "gzip")
+                            .header("If-None-Match", etagGzip))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etagGzip));
+            mockMvc.perform(get("/api/v1/clientes/{id}", creado.getId()).header("If-None-Match", etagGzip))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", etag));
+            mockMvc.perform(put("/api/v1/clientes/{id}", creado.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("If-Match", etagGzip)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + creado.getId() + "-1\""));
+        }
+    }
+}
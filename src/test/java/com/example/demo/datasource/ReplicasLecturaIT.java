@@ -0,0 +1,81 @@
+package com.example.demo.datasource;
+
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primario y dos réplicas H2 en memoria. La replicación simulada sólo copia al arrancar
+ * (el retraso es mayor que la prueba), así que las réplicas quedan atrasadas hasta {@code replicar()}.
+ * El contexto se cierra al terminar para no dejar configurada la ventana de lectura propia.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas-primario",
+        "app.datasource.replicas.habilitado=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:replicas-r0,jdbc:h2:mem:replicas-r1",
+        "app.datasource.replicas.ventana-lectura-propia=1m",
+        "app.datasource.replicas.replicacion-simulada.habilitado=true",
+        "app.datasource.replicas.replicacion-simulada.retraso=1h"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+@DisplayName("Integration Tests - Read replicas (routing + read-your-writes)")
+class ReplicasLecturaIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicacionSimulada replicacion;
+
+    @Test
+    @DisplayName("givenWriteNotYetReplicated_whenListarPagina_thenOnlyTheWriterReadsItUntilReplicated")
+    void givenWriteNotYetReplicated_whenListarPagina_thenOnlyTheWriterReadsItUntilReplicated() throws Exception {
+        String nombre = "Replica Pendiente";
+        var requestDTO = new ClienteRequestDTO(nombre, "replica.pendiente@example.com", "0991112233");
+
+        MvcResult creado = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie primarioHasta = creado.getResponse().getCookie(LecturaPropiaFilter.COOKIE);
+        Assertions.assertNotNull(primarioHasta);
+
+        // Sin la cookie la lectura va a una réplica, que todavía no tiene el alta
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[*].nombre", Matchers.hasItem("Carlos Rodríguez")))
+                .andExpect(jsonPath("$.contenido[*].nombre", Matchers.not(Matchers.hasItem(nombre))));
+
+        // Quien escribió lee del primario durante la ventana
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("limit", "500").cookie(primarioHasta))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[*].nombre", Matchers.hasItem(nombre)));
+
+        replicacion.replicar();
+
+        mockMvc.perform(get("/api/v1/clientes/pagina").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[*].nombre", Matchers.hasItem(nombre)));
+    }
+}
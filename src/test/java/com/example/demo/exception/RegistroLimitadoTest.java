@@ -0,0 +1,46 @@
+package com.example.demo.exception;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("Unit Tests - RegistroLimitado (rate-limited 4xx logging)")
+class RegistroLimitadoTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    private RegistroLimitado registroUnderTest;
+
+    @BeforeEach
+    void givenSetup() {
+        registroUnderTest = new RegistroLimitado(3, Duration.ofSeconds(1), reloj::get);
+    }
+
+    @Test
+    @DisplayName("givenMoreErrorsThanLimit_whenPermitir_thenExcessIsOmitted")
+    void givenMoreErrorsThanLimit_whenPermitir_thenExcessIsOmitted() {
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(0, registroUnderTest.permitir());
+        }
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(RegistroLimitado.OMITIR, registroUnderTest.permitir());
+        }
+    }
+
+    @Test
+    @DisplayName("givenNewWindow_whenPermitir_thenReportsOmittedCount")
+    void givenNewWindow_whenPermitir_thenReportsOmittedCount() {
+        for (int i = 0; i < 10; i++) {
+            registroUnderTest.permitir();
+        }
+
+        reloj.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        Assertions.assertEquals(7, registroUnderTest.permitir());
+        Assertions.assertEquals(0, registroUnderTest.permitir());
+    }
+}
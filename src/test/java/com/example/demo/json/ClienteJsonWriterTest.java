@@ -0,0 +1,71 @@
+package com.example.demo.json;
+
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("Unit Tests - ClienteJsonWriter (byte-identical to Jackson)")
+class ClienteJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("givenVariedClientes_whenEscribirLista_thenBytesMatchJackson")
+    void givenVariedClientes_whenEscribirLista_thenBytesMatchJackson() throws IOException {
+        List<ClienteResponseDTO> clientes = new ArrayList<>();
+        clientes.add(cliente(1L, "José Núñez", "jose@example.com", "0991234567",
+                LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_789), true));
+        clientes.add(cliente(2L, "Ana \"la\" O'Brien \\ /", "ana@example.com", null,
+                LocalDateTime.of(2024, 2, 1, 0, 0), false));
+        clientes.add(cliente(3L, "Tab\tNueva\nlínea\u0001\u001f", "emoji😀@example.com", "",
+                LocalDateTime.of(999, 12, 31, 23, 59, 59, 100_000_000), null));
+        clientes.add(cliente(4L, "Milis", "milis@example.com", "1", LocalDateTime.of(2024, 3, 3, 3, 3, 3, 120_000), true));
+        clientes.add(cliente(null, null, null, null, null, null));
+        clientes.add(null);
+
+        Assertions.assertEquals(objectMapper.writeValueAsString(clientes), escribir(clientes));
+        for (ClienteResponseDTO cliente : clientes) {
+            Assertions.assertEquals(objectMapper.writeValueAsString(cliente), escribir(cliente));
+        }
+    }
+
+    @Test
+    @DisplayName("givenEmptyList_whenEscribirLista_thenWritesEmptyArray")
+    void givenEmptyList_whenEscribirLista_thenWritesEmptyArray() throws IOException {
+        Assertions.assertEquals(objectMapper.writeValueAsString(List.of()), escribir(List.of()));
+    }
+
+    private String escribir(Object valor) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(salida)) {
+            ClienteJsonWriter writer = new ClienteJsonWriter(generator);
+            if (valor instanceof List<?> lista) {
+                @SuppressWarnings("unchecked")
+                List<ClienteResponseDTO> clientes = (List<ClienteResponseDTO>) lista;
+                writer.escribirLista(clientes);
+            } else {
+                writer.escribir((ClienteResponseDTO) valor);
+            }
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ClienteResponseDTO cliente(Long id, String nombre, String email, String telefono,
+                                              LocalDateTime fechaRegistro, Boolean activo) {
+        ClienteResponseDTO cliente = new ClienteResponseDTO(id, nombre, email, telefono, fechaRegistro, activo);
+        cliente.setVersion(7L);
+        cliente.setFechaActualizacion(fechaRegistro);
+        return cliente;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.json;
+
+import com.example.demo.exception.ErrorResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@DisplayName("Unit Tests - ErrorResponseJsonWriter (byte-identical to Jackson)")
+class ErrorResponseJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("givenErrorResponses_whenEscribir_thenBytesMatchJackson")
+    void givenErrorResponses_whenEscribir_thenBytesMatchJackson() throws IOException {
+        Map<String, String> validationErrors = new LinkedHashMap<>();
+        validationErrors.put("nombre", "El nombre es obligatorio");
+        validationErrors.put("email", "El email debe tener un formato \"válido\"");
+
+        ErrorResponse[] errores = {
+                ErrorResponse.de(404, "Not Found", "Cliente no encontrado con id: 999", "/api/v1/clientes/999", null),
+                new ErrorResponse(LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_000_000), 400, "Validation Error",
+                        "Error de validación en los datos proporcionados", "/api/v1/clientes", validationErrors),
+                new ErrorResponse(LocalDateTime.of(2024, 2, 1, 0, 0), 409, "Conflict", null, null),
+                new ErrorResponse(),
+                null
+        };
+
+        for (ErrorResponse error : errores) {
+            Assertions.assertEquals(objectMapper.writeValueAsString(error), escribir(error));
+        }
+    }
+
+    @Test
+    @DisplayName("givenConsecutiveErrors_whenDe_thenTimestampHasMillisecondPrecision")
+    void givenConsecutiveErrors_whenDe_thenTimestampHasMillisecondPrecision() {
+        ErrorResponse primera = ErrorResponse.de(404, "Not Found", "a", "/a", null);
+        ErrorResponse segunda = ErrorResponse.de(404, "Not Found", "b", "/b", null);
+
+        Assertions.assertEquals(0, primera.getTimestamp().getNano() % 1_000_000);
+        Assertions.assertFalse(segunda.getTimestamp().isBefore(primera.getTimestamp()));
+    }
+
+    private String escribir(ErrorResponse error) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(salida)) {
+            new ErrorResponseJsonWriter(generator).escribir(error);
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+}
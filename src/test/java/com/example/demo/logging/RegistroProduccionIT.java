@@ -0,0 +1,114 @@
+package com.example.demo.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.util.FileSize;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.logging.LogFile;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Arranca la aplicación con el perfil {@code prod} y comprueba que {@code logback-spring.xml} se
+ * configura con los valores de {@code application-prod.yml}.
+ * <p>
+ * Logback es global a la JVM y Spring Boot sólo lo configura en el primer contexto que arranca, así
+ * que la configuración y los niveles se vuelven a aplicar desde el entorno de este contexto, igual que
+ * al arrancar, y al terminar se restaura la configuración por defecto.
+ */
+@SpringBootTest(properties = "logging.file.name=${java.io.tmpdir}/registro-produccion-it/spring.log")
+@ActiveProfiles("prod")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Integration Tests - Registro del perfil prod (logback-spring.xml + application-prod.yml)")
+class RegistroProduccionIT {
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    private final LoggingSystem loggingSystem = LoggingSystem.get(RegistroProduccionIT.class.getClassLoader());
+    private final LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @BeforeAll
+    void givenProdLogging() {
+        loggingSystem.cleanUp();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), null, LogFile.get(environment));
+        Binder.get(environment).bind("logging.level", Bindable.mapOf(String.class, LogLevel.class))
+                .orElseGet(Map::of)
+                .forEach(loggingSystem::setLogLevel);
+    }
+
+    @AfterAll
+    void restaurarRegistro() {
+        loggingSystem.cleanUp();
+        System.clearProperty("LOG_FILE");
+        System.clearProperty("LOG_PATH");
+        loggingSystem.initialize(new LoggingInitializationContext(new StandardEnvironment()), null, null);
+    }
+
+    @Test
+    @DisplayName("givenProdProfile_whenStartup_thenAsyncBatchedFileAppenderUsesApplicationProdValues")
+    void givenProdProfile_whenStartup_thenAsyncBatchedFileAppenderUsesApplicationProdValues() {
+        Assertions.assertTrue(environment.getPropertySources().stream()
+                .anyMatch(fuente -> fuente.getName().contains("application-prod.yml")));
+        Logger root = contexto.getLogger(Logger.ROOT_LOGGER_NAME);
+
+        var asincrono = Assertions.assertInstanceOf(AsyncAppender.class, root.getAppender("ASINCRONO"));
+        Assertions.assertTrue(asincrono.isStarted());
+        Assertions.assertEquals(environment.getRequiredProperty("app.logging.async.cola", Integer.class),
+                asincrono.getQueueSize());
+        Assertions.assertEquals(environment.getRequiredProperty("app.logging.async.descartar-con-restante", Integer.class),
+                asincrono.getDiscardingThreshold());
+        Assertions.assertEquals(environment.getRequiredProperty("app.logging.async.nunca-bloquear", Boolean.class),
+                asincrono.isNeverBlock());
+
+        var archivo = Assertions.assertInstanceOf(ArchivoPorLotesAppender.class, asincrono.getAppender("ARCHIVO"));
+        Assertions.assertTrue(archivo.isStarted());
+        Assertions.assertFalse(archivo.isImmediateFlush());
+        Assertions.assertEquals(FileSize.valueOf(environment.getRequiredProperty("app.logging.archivo.buffer")).getSize(),
+                archivo.getBufferSize().getSize());
+        Assertions.assertEquals(environment.getRequiredProperty("logging.file.name"), archivo.getFile());
+
+        // Sólo el archivo asíncrono: la consola de base.xml no se incluye con el perfil prod
+        Assertions.assertNull(root.getAppender("CONSOLE"));
+        Assertions.assertEquals(Level.INFO, root.getLevel());
+    }
+
+    @Test
+    @DisplayName("givenProdProfile_whenWarnIsLogged_thenItReachesTheFileWithoutWaitingForTheBuffer")
+    void givenProdProfile_whenWarnIsLogged_thenItReachesTheFileWithoutWaitingForTheBuffer() throws Exception {
+        Assertions.assertEquals(Level.INFO, contexto.getLogger("com.example.demo").getEffectiveLevel());
+        Assertions.assertEquals(Level.WARN, contexto.getLogger("org.hibernate.SQL").getEffectiveLevel());
+
+        String mensaje = "Aviso de prueba " + System.nanoTime();
+        LoggerFactory.getLogger(RegistroProduccionIT.class).warn(mensaje);
+
+        Path archivo = Path.of(environment.getRequiredProperty("logging.file.name"));
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (!(Files.exists(archivo) && Files.readString(archivo).contains(mensaje))) {
+            Assertions.assertTrue(System.nanoTime() < limite, "El WARN no llegó al archivo de log");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.performance;
+
+import com.example.demo.concurrencia.ControlAdmisionInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Sobrecarga con el control de admisión activo: 200 clientes en lazo cerrado contra un endpoint
+ * que consulta la base de datos, con un pool de 4 conexiones. Sin límite, las 200 peticiones en
+ * curso esperarían en el pool y la latencia de todas crecería con la cola; con el límite el exceso
+ * recibe 503 enseguida y las admitidas mantienen una latencia cercana a la de sin carga.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+    "spring.datasource.hikari.maximum-pool-size=4",
+    "app.concurrencia.habilitado=true",
+    "app.concurrencia.ventana=50ms",
+    "app.concurrencia.lecturas.inicial=8",
+    "app.concurrencia.lecturas.minimo=2",
+    "app.concurrencia.lecturas.maximo=32",
+    "logging.level.root=OFF",
+    "logging.level.com.example.demo=OFF",
+    "logging.level.org.springframework.web=OFF",
+    "logging.level.org.hibernate.SQL=OFF",
+    "spring.jpa.show-sql=false"
+})
+@DisplayName("Load Tests - Adaptive admission control under overload")
+class ControlAdmisionLoadTest {
+
+    private static final int CLIENTES = 200;
+    private static final Duration DURACION = Duration.ofSeconds(3);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ControlAdmisionInterceptor interceptor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Admitted requests keep a bounded p99 while the excess is shed with 503 + Retry-After")
+    void givenOverload_whenAdmissionControlEnabled_thenAdmittedP99StaysBoundedAndExcessGets503() throws Exception {
+        var uri = URI.create("http://localhost:" + port + "/api/v1/clientes/pagina?limit=20");
+        var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build()) {
+            // Línea base: peticiones secuenciales, sin cola
+            List<Long> base = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                long inicio = System.nanoTime();
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                base.add(System.nanoTime() - inicio);
+            }
+            long p50Base = percentil(base, 0.50);
+
+            var admitidas = new ConcurrentLinkedQueue<Long>();
+            var rechazadas = new ConcurrentLinkedQueue<Long>();
+            var sinRetryAfter = new AtomicInteger();
+            var otras = new AtomicInteger();
+            long fin = System.nanoTime() + DURACION.toNanos();
+
+            try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTES; i++) {
+                    usuarios.submit(() -> {
+                        while (System.nanoTime() < fin) {
+                            long inicio = System.nanoTime();
+                            HttpResponse<Void> respuesta = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            long duracion = System.nanoTime() - inicio;
+                            if (respuesta.statusCode() == 200) {
+                                admitidas.add(duracion);
+                            } else if (respuesta.statusCode() == 503) {
+                                rechazadas.add(duracion);
+                                if (respuesta.headers().firstValue("Retry-After").isEmpty()) {
+                                    sinRetryAfter.incrementAndGet();
+                                }
+                                // Un cliente real esperaría Retry-After; aquí sólo se evita un lazo sin pausa
+                                TimeUnit.MILLISECONDS.sleep(5);
+                            } else {
+                                otras.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            long p50Admitidas = percentil(new ArrayList<>(admitidas), 0.50);
+            long p99Admitidas = percentil(new ArrayList<>(admitidas), 0.99);
+            long p99Rechazadas = percentil(new ArrayList<>(rechazadas), 0.99);
+            long cota = Math.max(TimeUnit.MILLISECONDS.toNanos(250), 20 * p50Base);
+
+            System.out.println("\n🚦 CONTROL DE ADMISIÓN (" + CLIENTES + " clientes, " + DURACION.toSeconds() + "s)");
+            System.out.println("  📏 p50 sin carga: " + millis(p50Base) + "ms");
+            System.out.println("  ✅ Admitidas: " + admitidas.size() + " | p50 " + millis(p50Admitidas)
+                    + "ms | p99 " + millis(p99Admitidas) + "ms (cota " + millis(cota) + "ms)");
+            System.out.println("  ⛔ Rechazadas (503): " + rechazadas.size() + " | p99 " + millis(p99Rechazadas) + "ms");
+            System.out.println("  🎚 Límite final de lecturas: "
+                    + registry.get("clientes.concurrencia.limite").tag("clase", "lectura").gauge().value());
+
+            assertThat(interceptor, notNullValue());
+            assertThat("Debe haber peticiones admitidas", admitidas.size(), greaterThan(0));
+            assertThat("El exceso debe rechazarse con 503", rechazadas.size(), greaterThan(0));
+            assertThat("Todo 503 lleva Retry-After", sinRetryAfter.get(), lessThan(1));
+            assertThat("Sin otros errores", otras.get(), lessThan(1));
+            assertThat("p99 de las admitidas acotado", p99Admitidas, lessThan(cota));
+        }
+    }
+
+    private static long percentil(List<Long> muestras, double percentil) {
+        if (muestras.isEmpty()) {
+            return 0;
+        }
+        muestras.sort(Long::compareTo);
+        return muestras.get(Math.max((int) Math.ceil(muestras.size() * percentil) - 1, 0));
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -1,13 +1,41 @@
 package com.example.demo.performance;
 
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import com.example.demo.logging.ArchivoPorLotesAppender;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.env.YamlPropertySourceLoader;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -21,7 +49,12 @@ import static org.hamcrest.Matchers.lessThan;
     "spring.datasource.hikari.maximum-pool-size=50",
     "spring.datasource.hikari.minimum-idle=20",
     "spring.jpa.properties.hibernate.jdbc.batch_size=50",
-    "logging.level.root=OFF"
+    "logging.level.root=OFF",
+    "logging.level.com.example.demo=OFF",
+    "logging.level.org.springframework.web=OFF",
+    "logging.level.org.hibernate.SQL=OFF",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=OFF",
+    "spring.jpa.show-sql=false"
 })
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @DisplayName("Load Tests - Concurrent Users Simulation")
@@ -32,10 +65,15 @@ class LoadTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private ServletWebServerApplicationContext webServerContext;
+
     @BeforeAll
     void givenWarmup() throws InterruptedException {
+        // Otras suites (E2E) modifican la configuración estática de RestAssured, p. ej. basePath
+        RestAssured.reset();
         RestAssured.port = port;
-        System.out.println("\n🔥 CALENTANDO APLICACIÓN (Puerto: " + port + ")");
+        System.out.println("\n🔥 CALENTANDO APLICACIÓN (Puerto: " + port + ", hilos del servidor: " + tipoDeHilos() + ")");
 
         ExecutorService warmupExecutor = Executors.newFixedThreadPool(10);
         List<Future<?>> warmupFutures = new ArrayList<>();
@@ -271,4 +309,228 @@ class LoadTest {
         System.out.println("✅ Degradación aceptable");
     }
 
+    /**
+     * Compara 50, 500 y 5000 usuarios concurrentes contra un endpoint que consulta la base de datos.
+     * Las peticiones se lanzan con el {@link HttpClient} asíncrono del JDK para que el cliente no
+     * necesite un hilo por usuario ni compita por los hilos del servidor (que comparten la JVM);
+     * {@link VirtualThreadsLoadTest} repite la prueba con el servidor en hilos virtuales.
+     */
+    @Test
+    @DisplayName("50/500/5000 concurrent users should keep at least 95% success rate")
+    void givenIncreasingConcurrentUsers_whenQueryingDatabase_thenAtLeast95PercentSucceed() {
+        int[] loadLevels = {50, 500, 5000};
+        var uri = URI.create("http://localhost:" + port + "/api/v1/clientes/pagina?limit=5");
+
+        System.out.println("👥 COMPARACIÓN DE CONCURRENCIA (hilos del servidor: " + tipoDeHilos() + ")");
+
+        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build()) {
+            for (int users : loadLevels) {
+                var successCount = new AtomicInteger(0);
+                var times = new ConcurrentLinkedQueue<Long>();
+                var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+                var levelStart = System.currentTimeMillis();
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                for (int i = 0; i < users; i++) {
+                    var requestStart = System.nanoTime();
+                    futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .thenAccept(response -> {
+                                if (response.statusCode() == 200) {
+                                    successCount.incrementAndGet();
+                                    times.add((System.nanoTime() - requestStart) / 1_000_000);
+                                }
+                            })
+                            .exceptionally(error -> null));
+                }
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+                var levelDuration = Math.max(System.currentTimeMillis() - levelStart, 1);
+
+                List<Long> sorted = new ArrayList<>(times);
+                sorted.sort(Long::compareTo);
+                var p50 = sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+                var p95 = sorted.isEmpty() ? 0 : sorted.get(Math.max((int) Math.ceil(sorted.size() * 0.95) - 1, 0));
+
+                System.out.println("  👥 " + users + " usuarios → ✅ " + successCount.get() + "/" + users
+                        + " | p50 " + p50 + "ms | p95 " + p95 + "ms | " + (users * 1000L / levelDuration) + " req/s");
+
+                assertThat("Al menos 95% deben ser exitosas con " + users + " usuarios",
+                        successCount.get(), greaterThanOrEqualTo((int) (users * 0.95)));
+            }
+        }
+
+        System.out.println("✅ Comparación de concurrencia completada");
+    }
+
+    /**
+     * Compara el throughput con el registro de desarrollo (niveles de application.yml: DEBUG y TRACE,
+     * archivo síncrono que se vacía en cada evento) y con el del perfil prod (application-prod.yml y
+     * logback-spring.xml: INFO, cola asíncrona acotada y archivo por lotes). Ambas configuraciones se
+     * arman sobre el contexto de Logback con los mismos valores que la aplicación (los de prod se leen
+     * de application-prod.yml) y se retiran al terminar. {@code show-sql} no se incluye (escribe en la salida estándar y se fija al arrancar),
+     * así que el coste real de la configuración anterior es mayor que el medido.
+     */
+    @Test
+    @DisplayName("Production logging profile should not reduce throughput versus development logging")
+    void givenDevelopmentVersusProductionLogging_whenLoadTesting_thenProductionThroughputIsNotLower() throws Exception {
+        var contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+        var directorio = Files.createTempDirectory("load-test-logs");
+        var peticiones = 2000;
+
+        System.out.println("📝 COMPARACIÓN DE REGISTRO (desarrollo vs prod, " + peticiones + " peticiones)");
+        medirThroughput(peticiones / 4);
+
+        double antes;
+        try (var registro = RegistroDePrueba.desarrollo(contexto, directorio.resolve("antes.log"))) {
+            antes = medirThroughput(peticiones);
+        }
+        double despues;
+        try (var registro = RegistroDePrueba.produccion(contexto, directorio.resolve("despues.log"))) {
+            despues = medirThroughput(peticiones);
+        }
+
+        System.out.println("  🐢 Antes (DEBUG/TRACE, síncrono): " + String.format("%.0f", antes) + " req/s, "
+                + Files.size(directorio.resolve("antes.log")) / 1024 + " KB de log");
+        System.out.println("  🚀 Después (prod, asíncrono por lotes): " + String.format("%.0f", despues) + " req/s, "
+                + Files.size(directorio.resolve("despues.log")) / 1024 + " KB de log");
+        System.out.println("  📈 Mejora: " + String.format("%.1f", (despues / antes - 1) * 100) + "%");
+
+        assertThat("El perfil prod no debe reducir el throughput", despues, greaterThanOrEqualTo(antes * 0.8));
+
+        System.out.println("✅ Comparación de registro completada");
+    }
+
+    /**
+     * Lecturas por id (aciertos de caché) y páginas (una consulta cada una) desde 32 hilos
+     *
+     * @return peticiones por segundo
+     */
+    private double medirThroughput(int peticiones) throws InterruptedException {
+        var exitosas = new AtomicInteger();
+        var inicio = System.nanoTime();
+        try (var client = HttpClient.newHttpClient(); var executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < peticiones; i++) {
+                var ruta = i % 4 == 0 ? "/api/v1/clientes/pagina?limit=5" : "/api/v1/clientes/" + (1 + i % 5);
+                var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ruta)).GET().build();
+                executor.submit(() -> {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        exitosas.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        var segundos = (System.nanoTime() - inicio) / 1e9;
+        assertThat("Al menos 95% deben ser exitosas", exitosas.get(), greaterThanOrEqualTo((int) (peticiones * 0.95)));
+        return peticiones / segundos;
+    }
+
+    /**
+     * Registro instalado sobre el contexto de Logback mientras dura una medición
+     */
+    private static final class RegistroDePrueba implements AutoCloseable {
+
+        private static final String PATRON = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+        private static final String[] CATEGORIAS = {
+                "com.example.demo",
+                "org.springframework.web",
+                "org.hibernate.SQL",
+                "org.hibernate.type.descriptor.sql.BasicBinder"
+        };
+
+        private final LoggerContext contexto;
+        private final Appender<ILoggingEvent> appender;
+        private final Map<String, Level> nivelesAnteriores = new HashMap<>();
+
+        private RegistroDePrueba(LoggerContext contexto, Appender<ILoggingEvent> appender, Level... niveles) {
+            this.contexto = contexto;
+            this.appender = appender;
+            for (int i = 0; i < CATEGORIAS.length; i++) {
+                Logger logger = contexto.getLogger(CATEGORIAS[i]);
+                nivelesAnteriores.put(CATEGORIAS[i], logger.getLevel());
+                logger.setLevel(niveles[i]);
+            }
+            contexto.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        }
+
+        /**
+         * application.yml: archivo síncrono con vaciado por evento
+         */
+        static RegistroDePrueba desarrollo(LoggerContext contexto, Path archivo) {
+            var appender = new FileAppender<ILoggingEvent>();
+            appender.setContext(contexto);
+            appender.setName("antes");
+            appender.setFile(archivo.toString());
+            appender.setEncoder(encoder(contexto));
+            appender.setImmediateFlush(true);
+            appender.start();
+            return new RegistroDePrueba(contexto, appender, Level.DEBUG, Level.DEBUG, Level.DEBUG, Level.TRACE);
+        }
+
+        /**
+         * logback-spring.xml con los valores y niveles de application-prod.yml: cola asíncrona acotada y
+         * archivo por lotes ({@code RegistroProduccionIT} comprueba que el perfil arranca con ellos)
+         */
+        static RegistroDePrueba produccion(LoggerContext contexto, Path archivo) throws IOException {
+            PropertySource<?> prod = new YamlPropertySourceLoader()
+                    .load("application-prod", new ClassPathResource("application-prod.yml")).get(0);
+            var archivoPorLotes = new ArchivoPorLotesAppender();
+            archivoPorLotes.setContext(contexto);
+            archivoPorLotes.setName("despues-archivo");
+            archivoPorLotes.setFile(archivo.toString());
+            archivoPorLotes.setBufferSize(FileSize.valueOf(valor(prod, "app.logging.archivo.buffer")));
+            archivoPorLotes.setIntervaloVaciado(ch.qos.logback.core.util.Duration.valueOf(
+                    valor(prod, "app.logging.archivo.intervalo-vaciado")));
+            archivoPorLotes.setEncoder(encoder(contexto));
+            var rotacion = new TimeBasedRollingPolicy<ILoggingEvent>();
+            rotacion.setContext(contexto);
+            rotacion.setParent(archivoPorLotes);
+            rotacion.setFileNamePattern(archivo + ".%d{yyyy-MM-dd}");
+            rotacion.start();
+            archivoPorLotes.setRollingPolicy(rotacion);
+            archivoPorLotes.start();
+
+            var asincrono = new AsyncAppender();
+            asincrono.setContext(contexto);
+            asincrono.setName("despues");
+            asincrono.setQueueSize(Integer.parseInt(valor(prod, "app.logging.async.cola")));
+            asincrono.setDiscardingThreshold(Integer.parseInt(valor(prod, "app.logging.async.descartar-con-restante")));
+            asincrono.setNeverBlock(Boolean.parseBoolean(valor(prod, "app.logging.async.nunca-bloquear")));
+            asincrono.addAppender(archivoPorLotes);
+            asincrono.start();
+            Level[] niveles = new Level[CATEGORIAS.length];
+            for (int i = 0; i < CATEGORIAS.length; i++) {
+                niveles[i] = Level.toLevel(valor(prod, "logging.level." + CATEGORIAS[i]));
+            }
+            return new RegistroDePrueba(contexto, asincrono, niveles);
+        }
+
+        private static String valor(PropertySource<?> fuente, String clave) {
+            Object valor = fuente.getProperty(clave);
+            if (valor == null) {
+                throw new IllegalStateException(clave + " no está en " + fuente.getName());
+            }
+            return valor.toString();
+        }
+
+        private static PatternLayoutEncoder encoder(LoggerContext contexto) {
+            var encoder = new PatternLayoutEncoder();
+            encoder.setContext(contexto);
+            encoder.setPattern(PATRON);
+            encoder.start();
+            return encoder;
+        }
+
+        @Override
+        public void close() {
+            contexto.getLogger(Logger.ROOT_LOGGER_NAME).detachAppender(appender);
+            appender.stop();
+            nivelesAnteriores.forEach((categoria, nivel) -> contexto.getLogger(categoria).setLevel(nivel));
+        }
+    }
+
+    private String tipoDeHilos() {
+        var tomcat = (TomcatWebServer) webServerContext.getWebServer();
+        var executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        return executor == null ? "desconocido" : executor.getClass().getSimpleName();
+    }
 }
@@ -1,16 +1,38 @@
 package com.example.demo.performance;
 
+import com.example.demo.event.ClienteEvento;
+import com.example.demo.exception.ClienteAlreadyExistsException;
+import com.example.demo.mapper.ClienteMapper;
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.model.dto.ClienteResponseDTO;
+import com.example.demo.repository.ClienteRepository;
+import com.example.demo.service.ClienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -24,6 +46,24 @@ class PerformanceTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteService service;
+
+    @Autowired
+    private ClienteRepository repository;
+
+    @Autowired
+    private ClienteMapper mapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void givenSetup() throws Exception {
         System.out.println("\n=== INICIANDO PRUEBA DE PERFORMANCE ===");
@@ -126,5 +166,223 @@ class PerformanceTest {
 
         System.out.println("✅ Performance promedio OK: " + averageTime + "ms < 150ms");
     }
-}
 
+    /**
+     * TEST 4: Comparar el alta masiva contra el alta uno a uno
+     * <p>
+     * Concepto: Un lote usa una sola consulta de duplicados e INSERT agrupados en lotes JDBC
+     * Métrica: Throughput (clientes/s) del alta masiva mayor que el del alta individual
+     */
+    @Test
+    void givenManyClientes_whenCrearEnLote_thenOutperformsOneByOne() throws Exception {
+        int cantidad = 500;
+
+        long inicioIndividual = System.currentTimeMillis();
+        for (int i = 0; i < cantidad; i++) {
+            mockMvc.perform(post("/api/v1/clientes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(nuevoCliente("Individual", i))))
+                    .andExpect(status().isCreated());
+        }
+        long duracionIndividual = Math.max(System.currentTimeMillis() - inicioIndividual, 1);
+
+        List<ClienteRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            lote.add(nuevoCliente("Masivo", i));
+        }
+        long inicioLote = System.currentTimeMillis();
+        mockMvc.perform(post("/api/v1/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isCreated());
+        long duracionLote = Math.max(System.currentTimeMillis() - inicioLote, 1);
+
+        System.out.println("⏱ Alta individual: " + cantidad + " clientes en " + duracionIndividual + "ms ("
+                + (cantidad * 1000 / duracionIndividual) + " clientes/s)");
+        System.out.println("⏱ Alta masiva: " + cantidad + " clientes en " + duracionLote + "ms ("
+                + (cantidad * 1000 / duracionLote) + " clientes/s)");
+
+        if (duracionLote >= duracionIndividual) {
+            throw new AssertionError(
+                    "❌ El alta masiva (" + duracionLote + "ms) no superó al alta individual (" + duracionIndividual + "ms)"
+            );
+        }
+
+        System.out.println("✅ Alta masiva " + (duracionIndividual / duracionLote) + "x más rápida");
+    }
+
+    /**
+     * TEST 5: Altas concurrentes con nombres y emails repetidos
+     * <p>
+     * Concepto: El alta inserta directamente y delega la unicidad en la base de datos,
+     * así que las carreras entre peticiones terminan en 409 y nunca en 500
+     * Métrica: Cero respuestas 5xx, exactamente un alta por nombre y throughput reportado
+     */
+    @Test
+    void givenConcurrentDuplicateCreates_whenCrear_thenOnlyConflictsAndNoServerErrors() throws Exception {
+        int hilos = 16;
+        int nombres = 100;
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        ConcurrentHashMap<Integer, AtomicInteger> estados = new ConcurrentHashMap<>();
+        List<Callable<Void>> tareas = new ArrayList<>();
+        for (ClienteRequestDTO cliente : altasConDuplicados("Concurrente", nombres)) {
+            String json = objectMapper.writeValueAsString(cliente);
+            tareas.add(() -> {
+                int estado = mockMvc.perform(post("/api/v1/clientes")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(json))
+                        .andReturn().getResponse().getStatus();
+                estados.computeIfAbsent(estado, e -> new AtomicInteger()).incrementAndGet();
+                return null;
+            });
+        }
+
+        long inicio = System.currentTimeMillis();
+        try {
+            for (Future<Void> resultado : executor.invokeAll(tareas)) {
+                resultado.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long duracion = Math.max(System.currentTimeMillis() - inicio, 1);
+
+        int creados = estados.getOrDefault(201, new AtomicInteger()).get();
+        int conflictos = estados.getOrDefault(409, new AtomicInteger()).get();
+        System.out.println("⏱ Altas concurrentes: " + tareas.size() + " peticiones en " + duracion + "ms ("
+                + (tareas.size() * 1000L / duracion) + " peticiones/s), estados: " + estados);
+
+        if (creados + conflictos != tareas.size()) {
+            throw new AssertionError("❌ Se esperaban sólo respuestas 201 y 409, se obtuvo: " + estados);
+        }
+        if (creados < nombres || creados > 2 * nombres) {
+            throw new AssertionError("❌ Número de altas fuera de rango: " + creados);
+        }
+
+        System.out.println("✅ Sin errores 5xx: " + creados + " altas y " + conflictos + " conflictos");
+    }
+
+    /**
+     * TEST 6: Comparar el alta con comprobación previa contra la inserción directa
+     * <p>
+     * Concepto: Antes el alta consultaba existsByNombre y después guardaba (dos idas a la base);
+     * ahora inserta y deja la unicidad a las restricciones. Ambas se miden en el servicio con la
+     * misma carga concurrente de duplicados del test anterior
+     * Métrica: Throughput de la inserción directa no menor al 80 % del de la comprobación previa
+     */
+    @Test
+    void givenConcurrentDuplicateCreates_whenComparingExistsCheckWithInsertFirst_thenInsertFirstIsNotSlower() throws Exception {
+        int nombres = 100;
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        Function<ClienteRequestDTO, ClienteResponseDTO> comprobarEInsertar = request -> transaccion.execute(estado -> {
+            if (repository.existsByNombre(request.getNombre())) {
+                throw new ClienteAlreadyExistsException("Ya existe un cliente con el nombre: " + request.getNombre());
+            }
+            ClienteResponseDTO response = mapper.toResponseDTO(repository.save(mapper.toEntity(request)));
+            eventos.publishEvent(ClienteEvento.creado(response));
+            return response;
+        });
+
+        medirAltasConcurrentes("CalentamientoPrevio", nombres / 4, comprobarEInsertar, new ConcurrentHashMap<>());
+        medirAltasConcurrentes("CalentamientoDirecto", nombres / 4, service::crear, new ConcurrentHashMap<>());
+
+        // La comprobación previa va primero: la inserción directa se mide con la tabla más grande
+        ConcurrentHashMap<String, AtomicInteger> resultadosAntes = new ConcurrentHashMap<>();
+        double antes = medirAltasConcurrentes("Previo", nombres, comprobarEInsertar, resultadosAntes);
+        ConcurrentHashMap<String, AtomicInteger> resultadosDespues = new ConcurrentHashMap<>();
+        double despues = medirAltasConcurrentes("Directo", nombres, service::crear, resultadosDespues);
+
+        System.out.println("⏱ existsByNombre + save: " + String.format("%.0f", antes) + " altas/s, resultados: "
+                + resultadosAntes);
+        System.out.println("⏱ Inserción directa: " + String.format("%.0f", despues) + " altas/s, resultados: "
+                + resultadosDespues);
+
+        if (resultadosDespues.keySet().stream().anyMatch(resultado -> !resultado.equals("creado")
+                && !resultado.equals("conflicto"))) {
+            throw new AssertionError("❌ La inserción directa sólo debe crear o dar conflicto: " + resultadosDespues);
+        }
+        if (despues < antes * 0.8) {
+            throw new AssertionError("❌ La inserción directa (" + String.format("%.0f", despues)
+                    + " altas/s) es más lenta que la comprobación previa (" + String.format("%.0f", antes) + " altas/s)");
+        }
+
+        System.out.println("✅ Inserción directa: " + String.format("%.1f", (despues / antes - 1) * 100)
+                + "% respecto de la comprobación previa");
+    }
+
+    /**
+     * Ejecuta las altas de {@link #altasConDuplicados} desde 16 hilos y cuenta cada resultado:
+     * creado, conflicto o el nombre de la excepción
+     *
+     * @return altas intentadas por segundo
+     */
+    private double medirAltasConcurrentes(String prefijo, int nombres, Function<ClienteRequestDTO, ClienteResponseDTO> alta,
+                                          ConcurrentHashMap<String, AtomicInteger> resultados) throws Exception {
+        List<Callable<Void>> tareas = new ArrayList<>();
+        for (ClienteRequestDTO cliente : altasConDuplicados(prefijo, nombres)) {
+            tareas.add(() -> {
+                String resultado;
+                try {
+                    alta.apply(cliente);
+                    resultado = "creado";
+                } catch (ClienteAlreadyExistsException ex) {
+                    resultado = "conflicto";
+                } catch (RuntimeException ex) {
+                    resultado = ex.getClass().getSimpleName();
+                }
+                resultados.computeIfAbsent(resultado, r -> new AtomicInteger()).incrementAndGet();
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        long inicio = System.nanoTime();
+        try {
+            for (Future<Void> resultado : executor.invokeAll(tareas)) {
+                resultado.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return tareas.size() * 1_000_000_000.0 / Math.max(System.nanoTime() - inicio, 1);
+    }
+
+    /**
+     * Cuatro intentos por nombre: 0 y 2 son idénticos, 1 repite el nombre y 3 repite el email
+     */
+    private static List<ClienteRequestDTO> altasConDuplicados(String prefijo, int nombres) {
+        List<ClienteRequestDTO> altas = new ArrayList<>();
+        for (int i = 0; i < nombres; i++) {
+            for (int intento = 0; intento < 4; intento++) {
+                ClienteRequestDTO cliente = nuevoCliente(prefijo, i);
+                if (intento == 1) {
+                    cliente.setEmail("otro." + cliente.getEmail());
+                } else if (intento == 3) {
+                    cliente.setNombre(cliente.getNombre() + " Bis");
+                }
+                altas.add(cliente);
+            }
+        }
+        return altas;
+    }
+
+    private static ClienteRequestDTO nuevoCliente(String prefijo, int indice) {
+        String sufijo = sufijoAlfabetico(indice);
+        return new ClienteRequestDTO(prefijo + " " + sufijo,
+                prefijo.toLowerCase() + "." + sufijo.toLowerCase() + "@perf.example.com", null);
+    }
+
+    /**
+     * El nombre sólo admite letras, por lo que el índice se codifica en base 26
+     */
+    private static String sufijoAlfabetico(int indice) {
+        StringBuilder sufijo = new StringBuilder();
+        int valor = indice;
+        do {
+            sufijo.append((char) ('a' + valor % 26));
+            valor /= 26;
+        } while (valor > 0);
+        return "Perf" + sufijo;
+    }
+}
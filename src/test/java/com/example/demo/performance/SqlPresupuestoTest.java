@@ -0,0 +1,144 @@
+package com.example.demo.performance;
+
+import com.example.demo.cache.ClienteCache;
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.sql.SentenciasSql;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint.
+ * <p>
+ * Concepto: Un cambio que agrega idas a la base de datos no se nota en un test funcional
+ * ni siempre en uno de tiempos; contar las sentencias lo detecta de forma determinista.
+ * Métrica: Número de sentencias ejecutadas por petición; al fallar se listan las sentencias.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.yml")
+@DisplayName("Performance Tests - SQL Query Budget")
+class SqlPresupuestoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteCache cache;
+
+    private String ultimaRespuesta;
+
+    @Test
+    void givenCacheMiss_whenObtenerPorId_thenExecutesOneQuery() throws Exception {
+        long id = crear("Presupuesto Id", "presupuesto.id@example.com");
+        cache.getPorId().invalidateAll();
+
+        verificarPresupuesto("GET /api/v1/clientes/{id}", 1,
+                ejecutar(get("/api/v1/clientes/{id}", id), status().isOk()));
+    }
+
+    @Test
+    void givenCacheMiss_whenObtenerPorNombre_thenExecutesOneQuery() throws Exception {
+        crear("Presupuesto Nombre", "presupuesto.nombre@example.com");
+        cache.getPorId().invalidateAll();
+        cache.getPorNombre().invalidateAll();
+
+        verificarPresupuesto("GET /api/v1/clientes/buscar", 1,
+                ejecutar(get("/api/v1/clientes/buscar").param("nombre", "Presupuesto Nombre"), status().isOk()));
+    }
+
+    @Test
+    void givenUnknownIdOrNombre_whenBuscarRepetidamente_thenMissesAreAnsweredWithoutQueries() throws Exception {
+        verificarPresupuesto("GET /api/v1/clientes/{id} inexistente", 1,
+                ejecutar(get("/api/v1/clientes/{id}", 987_654_321L), status().isNotFound()));
+        verificarPresupuesto("GET /api/v1/clientes/{id} inexistente, repetido", 0,
+                ejecutar(get("/api/v1/clientes/{id}", 987_654_321L), status().isNotFound()));
+
+        // El filtro de nombres existentes responde sin consultar desde la primera vez; la caché de ausencias
+        // cubre sus falsos positivos
+        verificarPresupuesto("GET /api/v1/clientes/buscar inexistente", 0,
+                ejecutar(get("/api/v1/clientes/buscar").param("nombre", "Presupuesto Inexistente"), status().isNotFound()));
+        verificarPresupuesto("GET /api/v1/clientes/buscar inexistente, repetido", 0,
+                ejecutar(get("/api/v1/clientes/buscar").param("nombre", "Presupuesto Inexistente"), status().isNotFound()));
+    }
+
+    @Test
+    void givenActiveClientes_whenListar_thenExecutesAtMostOneQuery() throws Exception {
+        verificarPresupuesto("GET /api/v1/clientes", 1,
+                ejecutar(get("/api/v1/clientes"), status().isOk()));
+        verificarPresupuesto("GET /api/v1/clientes/pagina", 1,
+                ejecutar(get("/api/v1/clientes/pagina").param("limit", "10"), status().isOk()));
+    }
+
+    @Test
+    void givenWrites_whenCrearActualizarEliminar_thenStayWithinBudget() throws Exception {
+        ClienteRequestDTO request = new ClienteRequestDTO("Presupuesto Escritura", "presupuesto.escritura@example.com", "0991111111");
+
+        // INSERT, más la reserva de un bloque de ids de la secuencia cada 50 altas
+        SentenciasSql.Ambito alta = ejecutar(post("/api/v1/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)), status().isCreated());
+        verificarPresupuesto("POST /api/v1/clientes", 2, alta);
+        long id = objectMapper.readTree(ultimaRespuesta).get("id").asLong();
+
+        request.setTelefono("0992222222");
+        verificarPresupuesto("PUT /api/v1/clientes/{id}", 2,
+                ejecutar(put("/api/v1/clientes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)), status().isOk()));
+
+        verificarPresupuesto("PUT /api/v1/clientes/{id} sin cambios", 1,
+                ejecutar(put("/api/v1/clientes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)), status().isOk()));
+
+        verificarPresupuesto("DELETE /api/v1/clientes/{id}", 1,
+                ejecutar(delete("/api/v1/clientes/{id}", id), status().isNoContent()));
+    }
+
+    private SentenciasSql.Ambito ejecutar(MockHttpServletRequestBuilder peticion, ResultMatcher esperado) throws Exception {
+        try (SentenciasSql.Ambito ambito = SentenciasSql.abrir()) {
+            MvcResult resultado = mockMvc.perform(peticion).andExpect(esperado).andReturn();
+            ultimaRespuesta = resultado.getResponse().getContentAsString();
+            return ambito;
+        }
+    }
+
+    private long crear(String nombre, String email) throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ClienteRequestDTO(nombre, email, null))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(resultado.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private static void verificarPresupuesto(String operacion, int maximo, SentenciasSql.Ambito ambito) {
+        System.out.println("🗄 " + operacion + " - Sentencias SQL: " + ambito.total() + " (presupuesto: " + maximo + ")");
+
+        if (ambito.total() > maximo) {
+            throw new AssertionError(
+                    "❌ " + operacion + " ejecutó " + ambito.total() + " sentencias SQL. Presupuesto: " + maximo
+                            + ambito.describir()
+            );
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Misma suite de {@link LoadTest} con Tomcat, @Async y MVC asíncrono sobre hilos virtuales.
+ * Comparar ambas salidas muestra el efecto del modo virtual con el mismo pool de conexiones.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+@DisplayName("Load Tests - Concurrent Users Simulation (Virtual Threads)")
+class VirtualThreadsLoadTest extends LoadTest {
+}
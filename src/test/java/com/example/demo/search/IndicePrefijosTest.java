@@ -0,0 +1,65 @@
+package com.example.demo.search;
+
+import com.example.demo.model.dto.ClienteSugerenciaDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@DisplayName("Unit Tests - IndicePrefijos (prefix suggestions)")
+class IndicePrefijosTest {
+
+    private IndicePrefijos indiceUnderTest;
+
+    @BeforeEach
+    void givenSetup() {
+        indiceUnderTest = new IndicePrefijos();
+        indiceUnderTest.cargar(1L, "Miguel Ángel López");
+        indiceUnderTest.cargar(2L, "Miguel Torres");
+        indiceUnderTest.cargar(3L, "Ana María Torres");
+        indiceUnderTest.cargar(4L, "Mía Sánchez");
+        indiceUnderTest.cargaFinalizada();
+    }
+
+    @Test
+    @DisplayName("givenAccentsAndCase_whenBuscar_thenMatchesIgnoringBothInAlphabeticalOrder")
+    void givenAccentsAndCase_whenBuscar_thenMatchesIgnoringBothInAlphabeticalOrder() {
+        Assertions.assertEquals(List.of(new ClienteSugerenciaDTO(1L, "Miguel Ángel López")),
+                indiceUnderTest.buscar(NormalizadorNombre.normalizar("MIGUEL  a"), 10));
+        Assertions.assertEquals(List.of(4L, 1L, 2L), ids(indiceUnderTest.buscar("mi", 10)));
+        Assertions.assertEquals(List.of(4L, 1L), ids(indiceUnderTest.buscar("mi", 2)));
+        Assertions.assertTrue(indiceUnderTest.buscar("zz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("givenWrites_whenAplicar_thenRenamesAndRemovalsAreReflected")
+    void givenWrites_whenAplicar_thenRenamesAndRemovalsAreReflected() {
+        indiceUnderTest.aplicar(2L, "Ana Torres");
+        indiceUnderTest.aplicar(4L, null);
+        indiceUnderTest.aplicar(5L, "Miguelina Ruiz");
+
+        Assertions.assertEquals(List.of(1L, 5L), ids(indiceUnderTest.buscar("mi", 10)));
+        Assertions.assertEquals(List.of(3L, 2L), ids(indiceUnderTest.buscar("ana", 10)));
+        Assertions.assertEquals(4, indiceUnderTest.tamano());
+    }
+
+    @Test
+    @DisplayName("givenWriteDuringLoad_whenCargar_thenStaleRowDoesNotOverwriteIt")
+    void givenWriteDuringLoad_whenCargar_thenStaleRowDoesNotOverwriteIt() {
+        IndicePrefijos indice = new IndicePrefijos();
+        indice.aplicar(7L, "Nombre Nuevo");
+        indice.aplicar(8L, null);
+        indice.cargar(7L, "Nombre Viejo");
+        indice.cargar(8L, "Eliminado");
+        indice.cargaFinalizada();
+
+        Assertions.assertEquals(List.of(7L), ids(indice.buscar("nombre", 10)));
+        Assertions.assertTrue(indice.buscar("eliminado", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<ClienteSugerenciaDTO> sugerencias) {
+        return sugerencias.stream().map(ClienteSugerenciaDTO::getId).toList();
+    }
+}
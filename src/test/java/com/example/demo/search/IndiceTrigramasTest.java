@@ -0,0 +1,89 @@
+package com.example.demo.search;
+
+import com.example.demo.model.dto.ClienteCoincidenciaDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@DisplayName("Unit Tests - IndiceTrigramas (fuzzy name search)")
+class IndiceTrigramasTest {
+
+    private IndiceTrigramas indiceUnderTest;
+
+    @BeforeEach
+    void givenSetup() {
+        indiceUnderTest = new IndiceTrigramas();
+        indiceUnderTest.cargar(1L, "Carlos Rodríguez");
+        indiceUnderTest.cargar(2L, "Ana María Torres");
+        indiceUnderTest.cargar(3L, "Pedro Sánchez");
+        indiceUnderTest.cargar(4L, "Miguel Ángel López");
+        indiceUnderTest.cargar(5L, "Miguel Torres");
+        indiceUnderTest.cargaFinalizada();
+    }
+
+    @Test
+    @DisplayName("givenMisspelledNames_whenBuscar_thenClosestNamesRankFirst")
+    void givenMisspelledNames_whenBuscar_thenClosestNamesRankFirst() {
+        List<ClienteCoincidenciaDTO> rodriguez = buscar("Rodriguez");
+        Assertions.assertEquals(1L, rodriguez.get(0).getId());
+        Assertions.assertEquals(1.0, rodriguez.get(0).getSimilitud());
+
+        Assertions.assertEquals(List.of(4L, 5L), ids(buscar("Migel")));
+        Assertions.assertEquals(4L, buscar("migel lopes").get(0).getId());
+        Assertions.assertEquals(5L, buscar("Miguel Tores").get(0).getId());
+        Assertions.assertTrue(buscar("Xyzzy").isEmpty());
+    }
+
+    @Test
+    @DisplayName("givenLimit_whenBuscar_thenOnlyTheBestAreReturnedInOrder")
+    void givenLimit_whenBuscar_thenOnlyTheBestAreReturnedInOrder() {
+        List<ClienteCoincidenciaDTO> todas = indiceUnderTest.buscar("torres", 0.5, 10);
+        List<ClienteCoincidenciaDTO> primera = indiceUnderTest.buscar("torres", 0.5, 1);
+
+        Assertions.assertEquals(List.of(5L, 2L), ids(todas));
+        Assertions.assertEquals(List.of(todas.get(0)), primera);
+    }
+
+    @Test
+    @DisplayName("givenWrites_whenAplicar_thenRenamesRemovalsAndReusedSlotsAreReflected")
+    void givenWrites_whenAplicar_thenRenamesRemovalsAndReusedSlotsAreReflected() {
+        indiceUnderTest.aplicar(1L, null);
+        indiceUnderTest.aplicar(3L, "Pedro Rodrigues");
+        indiceUnderTest.aplicar(6L, "Carla Rodríguez");
+
+        Assertions.assertEquals(List.of(6L, 3L), ids(buscar("rodriguez")));
+        Assertions.assertTrue(buscar("sanchez").isEmpty());
+        Assertions.assertEquals(5, indiceUnderTest.tamano());
+    }
+
+    @Test
+    @DisplayName("givenWriteDuringLoad_whenCargar_thenStaleRowDoesNotOverwriteIt")
+    void givenWriteDuringLoad_whenCargar_thenStaleRowDoesNotOverwriteIt() {
+        IndiceTrigramas indice = new IndiceTrigramas();
+        indice.aplicar(7L, null);
+        indice.cargar(7L, "Eliminado Antes");
+        indice.cargaFinalizada();
+
+        Assertions.assertTrue(indice.buscar("eliminado", 0.5, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("givenText_whenTrigramas_thenWordsArePaddedAndDeduplicated")
+    void givenText_whenTrigramas_thenWordsArePaddedAndDeduplicated() {
+        // "  ana ": "  a", " an", "ana", "na "
+        Assertions.assertEquals(4, IndiceTrigramas.trigramas("ana").length);
+        Assertions.assertEquals(4, IndiceTrigramas.trigramas("ana ana").length);
+        Assertions.assertEquals(0, IndiceTrigramas.trigramas("").length);
+    }
+
+    private List<ClienteCoincidenciaDTO> buscar(String texto) {
+        return indiceUnderTest.buscar(NormalizadorNombre.normalizar(texto), 0.5, 10);
+    }
+
+    private static List<Long> ids(List<ClienteCoincidenciaDTO> coincidencias) {
+        return coincidencias.stream().map(ClienteCoincidenciaDTO::getId).toList();
+    }
+}
@@ -1,25 +1,48 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.ClienteCache;
+import com.example.demo.cache.ClienteConsultasCompartidas;
+import com.example.demo.cache.ClientesExistentes;
+import com.example.demo.cache.ClientesActivosSnapshot;
+import com.example.demo.event.ClienteEvento;
 import com.example.demo.exception.ClienteAlreadyExistsException;
 import com.example.demo.exception.ClienteNotFoundException;
+import com.example.demo.exception.ClienteVersionMismatchException;
 import com.example.demo.mapper.ClienteMapper;
+import com.example.demo.model.dto.ClientePatchDTO;
 import com.example.demo.model.dto.ClienteRequestDTO;
 import com.example.demo.model.dto.ClienteResponseDTO;
 import com.example.demo.model.entity.Cliente;
 import com.example.demo.repository.ClienteRepository;
 import com.example.demo.service.impl.ClienteServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Unit Tests - ClienteService (Business Logic)")
@@ -31,6 +54,22 @@ class ClienteServiceTest {
     @Mock
     private ClienteMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Spy
+    private ClienteCache cache = new ClienteCache(100, Duration.ofMinutes(1));
+
+    @Spy
+    private ClientesActivosSnapshot activos = new ClientesActivosSnapshot(100);
+
+    @Spy
+    private ClienteConsultasCompartidas consultas = new ClienteConsultasCompartidas(new SimpleMeterRegistry());
+
+    @Spy
+    private ClientesExistentes existentes = new ClientesExistentes(
+            Mockito.mock(ClienteRepository.class), Mockito.mock(PlatformTransactionManager.class), 100, 0.01, 0.2);
+
     @InjectMocks
     private ClienteServiceImpl serviceUnderTest;
 
@@ -65,9 +104,8 @@ class ClienteServiceTest {
     @Test
     @DisplayName("givenValidClienteRequest_whenCrear_thenReturnsCreatedCliente")
     void givenValidClienteRequest_whenCrear_thenReturnsCreatedCliente() {
-        Mockito.when(repository.existsByNombre(validRequestDTO.getNombre())).thenReturn(false);
         Mockito.when(mapper.toEntity(validRequestDTO)).thenReturn(validCliente);
-        Mockito.when(repository.save(validCliente)).thenReturn(validCliente);
+        Mockito.when(repository.saveAndFlush(validCliente)).thenReturn(validCliente);
         Mockito.when(mapper.toResponseDTO(validCliente)).thenReturn(validResponseDTO);
 
         var result = serviceUnderTest.crear(validRequestDTO);
@@ -78,16 +116,18 @@ class ClienteServiceTest {
         Assertions.assertEquals(validResponseDTO.getEmail(), result.getEmail());
         Assertions.assertEquals(validResponseDTO.getTelefono(), result.getTelefono());
 
-        Mockito.verify(repository).existsByNombre(validRequestDTO.getNombre());
+        Mockito.verify(repository, Mockito.never()).existsByNombre(Mockito.any());
         Mockito.verify(mapper).toEntity(validRequestDTO);
-        Mockito.verify(repository).save(validCliente);
+        Mockito.verify(repository).saveAndFlush(validCliente);
         Mockito.verify(mapper).toResponseDTO(validCliente);
     }
 
     @Test
     @DisplayName("givenExistingClienteName_whenCrear_thenThrowsClienteAlreadyExistsException")
     void givenExistingClienteName_whenCrear_thenThrowsClienteAlreadyExistsException() {
-        Mockito.when(repository.existsByNombre(validRequestDTO.getNombre())).thenReturn(true);
+        Mockito.when(mapper.toEntity(validRequestDTO)).thenReturn(validCliente);
+        Mockito.when(repository.saveAndFlush(validCliente)).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_CLIENTES_NOMBRE_INDEX_1 ON PUBLIC.CLIENTES(NOMBRE)\""));
 
         var exception = Assertions.assertThrows(
                 ClienteAlreadyExistsException.class,
@@ -97,17 +137,30 @@ class ClienteServiceTest {
         Assertions.assertTrue(exception.getMessage().contains("Ya existe un cliente con el nombre"));
         Assertions.assertTrue(exception.getMessage().contains(validRequestDTO.getNombre()));
 
-        Mockito.verify(repository).existsByNombre(validRequestDTO.getNombre());
-        Mockito.verify(mapper, Mockito.never()).toEntity(Mockito.any());
-        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(mapper, Mockito.never()).toResponseDTO(Mockito.any(Cliente.class));
+        Mockito.verify(eventos, Mockito.never()).publishEvent(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenExistingClienteEmail_whenCrear_thenThrowsClienteAlreadyExistsExceptionNamingEmail")
+    void givenExistingClienteEmail_whenCrear_thenThrowsClienteAlreadyExistsExceptionNamingEmail() {
+        Mockito.when(mapper.toEntity(validRequestDTO)).thenReturn(validCliente);
+        Mockito.when(repository.saveAndFlush(validCliente)).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_CLIENTES_EMAIL_INDEX_1 ON PUBLIC.CLIENTES(EMAIL)\""));
+
+        var exception = Assertions.assertThrows(
+                ClienteAlreadyExistsException.class,
+                () -> serviceUnderTest.crear(validRequestDTO)
+        );
+
+        Assertions.assertEquals("Ya existe un cliente con el email: " + validRequestDTO.getEmail(), exception.getMessage());
     }
 
     @Test
     @DisplayName("givenExistingClienteId_whenObtenerPorId_thenReturnsCliente")
     void givenExistingClienteId_whenObtenerPorId_thenReturnsCliente() {
         var clienteId = 1L;
-        Mockito.when(repository.findById(clienteId)).thenReturn(Optional.of(validCliente));
-        Mockito.when(mapper.toResponseDTO(validCliente)).thenReturn(validResponseDTO);
+        Mockito.when(repository.findRespuestaById(clienteId)).thenReturn(Optional.of(validResponseDTO));
 
         var result = serviceUnderTest.obtenerPorId(clienteId);
 
@@ -115,15 +168,16 @@ class ClienteServiceTest {
         Assertions.assertEquals(validResponseDTO.getId(), result.getId());
         Assertions.assertEquals(validResponseDTO.getNombre(), result.getNombre());
 
-        Mockito.verify(repository).findById(clienteId);
-        Mockito.verify(mapper).toResponseDTO(validCliente);
+        Mockito.verify(repository).findRespuestaById(clienteId);
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.any());
+        Mockito.verifyNoInteractions(mapper);
     }
 
     @Test
     @DisplayName("givenNonExistingClienteId_whenObtenerPorId_thenThrowsClienteNotFoundException")
     void givenNonExistingClienteId_whenObtenerPorId_thenThrowsClienteNotFoundException() {
         var clienteId = 999L;
-        Mockito.when(repository.findById(clienteId)).thenReturn(Optional.empty());
+        Mockito.when(repository.findRespuestaById(clienteId)).thenReturn(Optional.empty());
 
         var exception = Assertions.assertThrows(
                 ClienteNotFoundException.class,
@@ -132,10 +186,38 @@ class ClienteServiceTest {
 
         Assertions.assertTrue(exception.getMessage().contains("999"));
 
-        Mockito.verify(repository).findById(clienteId);
+        Mockito.verify(repository).findRespuestaById(clienteId);
         Mockito.verify(mapper, Mockito.never()).toResponseDTO(Mockito.any());
     }
 
+    @Test
+    @DisplayName("givenRecentlyMissingClienteId_whenObtenerPorIdAgain_thenRepositoryIsNotQueriedAgain")
+    void givenRecentlyMissingClienteId_whenObtenerPorIdAgain_thenRepositoryIsNotQueriedAgain() {
+        var clienteId = 999L;
+        Mockito.when(repository.findRespuestaById(clienteId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ClienteNotFoundException.class, () -> serviceUnderTest.obtenerPorId(clienteId));
+        Assertions.assertThrows(ClienteNotFoundException.class, () -> serviceUnderTest.obtenerPorId(clienteId));
+        Assertions.assertThrows(ClienteNotFoundException.class, () -> serviceUnderTest.obtenerVersion(clienteId));
+
+        Mockito.verify(repository, Mockito.times(1)).findRespuestaById(clienteId);
+        Mockito.verify(repository, Mockito.never()).findVersionById(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenNombreDefinitelyAbsent_whenObtenerPorNombre_thenRepositoryIsNotQueried")
+    void givenNombreDefinitelyAbsent_whenObtenerPorNombre_thenRepositoryIsNotQueried() {
+        Mockito.doReturn(false).when(existentes).nombrePuedeExistir("Nadie");
+
+        var exception = Assertions.assertThrows(
+                ClienteNotFoundException.class,
+                () -> serviceUnderTest.obtenerPorNombre("Nadie")
+        );
+
+        Assertions.assertTrue(exception.getMessage().contains("Nadie"));
+        Mockito.verifyNoInteractions(repository);
+    }
+
     @Test
     @DisplayName("givenValidUpdateRequest_whenActualizar_thenReturnsUpdatedCliente")
     void givenValidUpdateRequest_whenActualizar_thenReturnsUpdatedCliente() {
@@ -166,9 +248,7 @@ class ClienteServiceTest {
         updatedResponse.setTelefono("9876543210");
 
         Mockito.when(repository.findById(clienteId)).thenReturn(Optional.of(existingCliente));
-        Mockito.when(repository.existsByNombre(updateRequest.getNombre())).thenReturn(false);
-        Mockito.when(repository.save(existingCliente)).thenReturn(updatedCliente);
-        Mockito.when(mapper.toResponseDTO(updatedCliente)).thenReturn(updatedResponse);
+        Mockito.when(mapper.toResponseDTO(existingCliente)).thenReturn(updatedResponse);
 
         var result = serviceUnderTest.actualizar(clienteId, updateRequest);
 
@@ -177,10 +257,192 @@ class ClienteServiceTest {
         Assertions.assertEquals("juan.updated@example.com", result.getEmail());
         Assertions.assertEquals("9876543210", result.getTelefono());
 
+        Assertions.assertEquals(updatedCliente.getNombre(), existingCliente.getNombre());
+        Assertions.assertEquals(updatedCliente.getEmail(), existingCliente.getEmail());
+        Assertions.assertEquals(updatedCliente.getTelefono(), existingCliente.getTelefono());
+
         Mockito.verify(repository).findById(clienteId);
-        Mockito.verify(repository).existsByNombre(updateRequest.getNombre());
-        Mockito.verify(repository).save(existingCliente);
-        Mockito.verify(mapper).toResponseDTO(updatedCliente);
+        Mockito.verify(repository, Mockito.never()).existsByNombre(Mockito.any());
+        Mockito.verify(repository).flush();
+        Mockito.verify(mapper).toResponseDTO(existingCliente);
     }
-}
 
+    @Test
+    @DisplayName("givenUnchangedValues_whenActualizar_thenNothingIsWrittenNorPublished")
+    void givenUnchangedValues_whenActualizar_thenNothingIsWrittenNorPublished() {
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(validCliente));
+        Mockito.when(mapper.toResponseDTO(validCliente)).thenReturn(validResponseDTO);
+
+        var result = serviceUnderTest.actualizar(1L, validRequestDTO);
+
+        Assertions.assertEquals(validResponseDTO, result);
+        Mockito.verify(repository, Mockito.never()).flush();
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(eventos, Mockito.never()).publishEvent(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenPatchWithSomeFields_whenActualizarParcial_thenOnlyThoseFieldsChange")
+    void givenPatchWithSomeFields_whenActualizarParcial_thenOnlyThoseFieldsChange() {
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(validCliente));
+        Mockito.when(mapper.toResponseDTO(validCliente)).thenReturn(validResponseDTO);
+
+        serviceUnderTest.actualizarParcial(1L, new ClientePatchDTO(null, null, "5555555555", null), null);
+
+        Assertions.assertEquals("Juan Perez", validCliente.getNombre());
+        Assertions.assertEquals("juan.perez@example.com", validCliente.getEmail());
+        Assertions.assertEquals("5555555555", validCliente.getTelefono());
+        Mockito.verify(repository).flush();
+        Mockito.verify(eventos).publishEvent(Mockito.any(ClienteEvento.class));
+    }
+
+    @Test
+    @DisplayName("givenStaleVersion_whenActualizar_thenThrowsClienteVersionMismatchException")
+    void givenStaleVersion_whenActualizar_thenThrowsClienteVersionMismatchException() {
+        validCliente.setVersion(3L);
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(validCliente));
+
+        var exception = Assertions.assertThrows(
+                ClienteVersionMismatchException.class,
+                () -> serviceUnderTest.actualizar(1L, validRequestDTO, 2L)
+        );
+
+        Assertions.assertTrue(exception.getMessage().contains("versión actual: 3"));
+        Mockito.verify(repository, Mockito.never()).flush();
+        Mockito.verify(eventos, Mockito.never()).publishEvent(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenCachedCliente_whenObtenerVersion_thenRepositoryIsNotQueried")
+    void givenCachedCliente_whenObtenerVersion_thenRepositoryIsNotQueried() {
+        validResponseDTO.setVersion(4L);
+        cache.guardar(validResponseDTO, cache.marca());
+
+        var version = serviceUnderTest.obtenerVersion(1L);
+
+        Assertions.assertEquals(4L, version.version());
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("givenActiveCliente_whenEliminar_thenSingleUpdateWithoutLoadingEntity")
+    void givenActiveCliente_whenEliminar_thenSingleUpdateWithoutLoadingEntity() {
+        Mockito.when(repository.desactivar(1L)).thenReturn(1);
+
+        serviceUnderTest.eliminar(1L);
+
+        Mockito.verify(repository).desactivar(1L);
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(eventos).publishEvent(ClienteEvento.desactivado(1L));
+    }
+
+    @Test
+    @DisplayName("givenNonExistingCliente_whenEliminar_thenThrowsClienteNotFoundException")
+    void givenNonExistingCliente_whenEliminar_thenThrowsClienteNotFoundException() {
+        Mockito.when(repository.desactivar(999L)).thenReturn(0);
+        Mockito.when(repository.existsById(999L)).thenReturn(false);
+
+        Assertions.assertThrows(ClienteNotFoundException.class, () -> serviceUnderTest.eliminar(999L));
+        Mockito.verify(eventos, Mockito.never()).publishEvent(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenCachedCliente_whenObtenerPorIdTwice_thenRepositoryIsQueriedOnce")
+    void givenCachedCliente_whenObtenerPorIdTwice_thenRepositoryIsQueriedOnce() {
+        var clienteId = 1L;
+        Mockito.when(repository.findRespuestaById(clienteId)).thenReturn(Optional.of(validResponseDTO));
+
+        var primera = serviceUnderTest.obtenerPorId(clienteId);
+        var segunda = serviceUnderTest.obtenerPorId(clienteId);
+        var porNombre = serviceUnderTest.obtenerPorNombre(validResponseDTO.getNombre());
+
+        Assertions.assertEquals(primera, segunda);
+        Assertions.assertEquals(primera, porNombre);
+        Mockito.verify(repository, Mockito.times(1)).findRespuestaById(clienteId);
+        Mockito.verify(repository, Mockito.never()).findRespuestaByNombre(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("givenConcurrentRequestsForSameUncachedId_whenObtenerPorId_thenRepositoryIsQueriedOnce")
+    void givenConcurrentRequestsForSameUncachedId_whenObtenerPorId_thenRepositoryIsQueriedOnce() throws Exception {
+        var clienteId = 1L;
+        var peticiones = 16;
+        var liberar = new CountDownLatch(1);
+        Mockito.when(repository.findRespuestaById(clienteId)).thenAnswer(invocacion -> {
+            liberar.await();
+            return Optional.of(validResponseDTO);
+        });
+
+        List<Future<ClienteResponseDTO>> resultados = new ArrayList<>();
+        try (ExecutorService hilos = Executors.newFixedThreadPool(peticiones)) {
+            for (int i = 0; i < peticiones; i++) {
+                resultados.add(hilos.submit(() -> serviceUnderTest.obtenerPorId(clienteId)));
+            }
+            // La primera petición queda consultando hasta que todas las demás se unieron a ella
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (consultas.getPorId().getSeguidores() < peticiones - 1 && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+            liberar.countDown();
+            for (Future<ClienteResponseDTO> resultado : resultados) {
+                Assertions.assertEquals(validResponseDTO, resultado.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        Mockito.verify(repository, Mockito.times(1)).findRespuestaById(clienteId);
+        Assertions.assertEquals(1, consultas.getPorId().getLideres());
+        Assertions.assertEquals(peticiones - 1, consultas.getPorId().getSeguidores());
+    }
+
+    @Test
+    @DisplayName("givenCachedCliente_whenRenamed_thenOldNombreIsEvictedAndNewNombreIsServed")
+    void givenCachedCliente_whenRenamed_thenOldNombreIsEvictedAndNewNombreIsServed() {
+        cache.guardar(validResponseDTO, cache.marca());
+        var renombrado = new ClienteResponseDTO(1L, "Juan Perez Renombrado", "juan.perez@example.com",
+                "1234567890", validResponseDTO.getFechaRegistro(), true);
+
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(validCliente));
+        Mockito.when(mapper.toResponseDTO(validCliente)).thenReturn(renombrado);
+
+        serviceUnderTest.actualizar(1L, new ClienteRequestDTO(renombrado.getNombre(), renombrado.getEmail(), renombrado.getTelefono()));
+
+        var evento = ArgumentCaptor.forClass(ClienteEvento.class);
+        Mockito.verify(eventos).publishEvent(evento.capture());
+        Assertions.assertEquals(ClienteEvento.Tipo.ACTUALIZADO, evento.getValue().tipo());
+        Assertions.assertEquals("Juan Perez", evento.getValue().nombreAnterior());
+
+        cache.alModificarCliente(evento.getValue());
+
+        Assertions.assertNull(cache.obtenerPorNombre("Juan Perez"));
+        Assertions.assertEquals(renombrado, cache.obtenerPorNombre("Juan Perez Renombrado"));
+        Assertions.assertEquals(renombrado, cache.obtenerPorId(1L));
+    }
+
+    @Test
+    @DisplayName("givenSnapshot_whenWritesAreCommitted_thenListIsPatchedWithoutQuerying")
+    void givenSnapshot_whenWritesAreCommitted_thenListIsPatchedWithoutQuerying() {
+        Mockito.when(repository.findActivos(Mockito.any(Sort.class), Mockito.any(Limit.class)))
+                .thenReturn(List.of(validResponseDTO));
+
+        var inicial = serviceUnderTest.listarSnapshot();
+        Assertions.assertEquals(inicial, serviceUnderTest.listarSnapshot());
+
+        var nuevo = new ClienteResponseDTO(2L, "Maria Lopez", "maria.lopez@example.com",
+                "0987654321", LocalDateTime.now(), true);
+        activos.alModificarCliente(ClienteEvento.creado(nuevo));
+        var trasAlta = serviceUnderTest.listarSnapshot();
+
+        Assertions.assertTrue(trasAlta.generacion() > inicial.generacion());
+        Assertions.assertEquals(List.of(validResponseDTO, nuevo), trasAlta.clientes());
+
+        activos.alModificarCliente(ClienteEvento.desactivado(1L));
+        var trasBaja = serviceUnderTest.listarSnapshot();
+
+        Assertions.assertTrue(trasBaja.generacion() > trasAlta.generacion());
+        Assertions.assertEquals(List.of(nuevo), trasBaja.clientes());
+        Assertions.assertEquals(List.of(nuevo), serviceUnderTest.listar());
+        Mockito.verify(repository, Mockito.times(1))
+                .findActivos(Mockito.any(Sort.class), Mockito.any(Limit.class));
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.shard;
+
+import com.example.demo.model.dto.ClienteRequestDTO;
+import com.example.demo.model.entity.Cliente;
+import com.example.demo.repository.ClienteRepository;
+import com.example.demo.service.ClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tres shards H2 en memoria más el directorio. Los datos iniciales quedan en el shard 0 y las
+ * altas se reparten por turnos, así que tres altas seguidas caen en shards distintos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shards-0",
+        "app.shards.habilitado=true",
+        "app.shards.urls=jdbc:h2:mem:shards-1,jdbc:h2:mem:shards-2",
+        "app.shards.directorio.url=jdbc:h2:mem:shards-directorio"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+@DisplayName("Integration Tests - Sharding (routing, global uniqueness, scatter-gather)")
+class ShardsIT {
+
+    private static final String[] URLS = {"jdbc:h2:mem:shards-0", "jdbc:h2:mem:shards-1", "jdbc:h2:mem:shards-2"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteService service;
+
+    @Autowired
+    private ClienteRepository repository;
+
+    @Test
+    @DisplayName("givenClientesCreados_whenConsultarPorIdNombreYPagina_thenCadaUnoVieneDeSuShard")
+    void givenClientesCreados_whenConsultarPorIdNombreYPagina_thenCadaUnoVieneDeSuShard() throws Exception {
+        List<String> nombres = List.of("Shard Alfa", "Shard Beta", "Shard Gamma");
+        Set<Integer> shards = new HashSet<>();
+        for (String nombre : nombres) {
+            long id = crear(nombre, status().isCreated()).get("id").asLong();
+            int shard = ClaveShard.shardDe(id);
+            shards.add(shard);
+
+            for (int i = 0; i < URLS.length; i++) {
+                Assertions.assertEquals(i == shard ? 1 : 0, filas(URLS[i], id), "shard " + i + " para el id " + id);
+            }
+            mockMvc.perform(get("/api/v1/clientes/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nombre").value(nombre));
+            mockMvc.perform(get("/api/v1/clientes/buscar").param("nombre", nombre))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id));
+        }
+        Assertions.assertEquals(Set.of(0, 1, 2), shards);
+
+        // Páginas pequeñas por nombre: cada una mezcla los tres shards
+        List<String> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder pagina = get("/api/v1/clientes/pagina").param("sort", "nombre").param("limit", "3");
+            if (cursor != null) {
+                pagina.param("after", cursor);
+            }
+            JsonNode respuesta = json(mockMvc.perform(pagina).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            respuesta.get("contenido").forEach(cliente -> recorridos.add(cliente.get("nombre").asText()));
+            cursor = respuesta.hasNonNull("siguienteCursor") ? respuesta.get("siguienteCursor").asText() : null;
+        } while (cursor != null);
+
+        Assertions.assertTrue(recorridos.containsAll(nombres));
+        Assertions.assertTrue(recorridos.contains("Carlos Rodríguez"));
+        Assertions.assertEquals(recorridos.stream().sorted().toList(), recorridos);
+        Assertions.assertEquals(new HashSet<>(recorridos).size(), recorridos.size());
+    }
+
+    @Test
+    @DisplayName("givenNombreRegistradoEnOtroShard_whenCrearDuplicado_thenConflictHastaEliminarlo")
+    void givenNombreRegistradoEnOtroShard_whenCrearDuplicado_thenConflictHastaEliminarlo() throws Exception {
+        String nombre = "Shard Repetido";
+        long id = crear(nombre, status().isCreated()).get("id").asLong();
+
+        // Los dos intentos siguientes van a los otros dos shards
+        crear(nombre, status().isConflict());
+        crear(nombre, status().isConflict());
+
+        service.eliminarPermanente(id);
+        mockMvc.perform(get("/api/v1/clientes/buscar").param("nombre", nombre))
+                .andExpect(status().isNotFound());
+        crear(nombre, status().isCreated());
+    }
+
+    @Test
+    @DisplayName("givenIdDeShardInexistente_whenConsultarRepositorio_thenAusenteSinIrALaBase")
+    void givenIdDeShardInexistente_whenConsultarRepositorio_thenAusenteSinIrALaBase() {
+        long id = ClaveShard.componer(URLS.length, 1);
+
+        Assertions.assertTrue(repository.findById(id).isEmpty());
+        Assertions.assertFalse(repository.existsById(id));
+        Assertions.assertThrows(EntityNotFoundException.class, () -> repository.getReferenceById(id));
+        Assertions.assertTrue(repository.findAllById(List.of(id)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("givenClientesEnVariosShards_whenMetodosHeredadosDelRepositorio_thenCombinanTodosLosShards")
+    void givenClientesEnVariosShards_whenMetodosHeredadosDelRepositorio_thenCombinanTodosLosShards() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String nombre : List.of("Shard Uno", "Shard Dos", "Shard Tres")) {
+            ids.add(crear(nombre, status().isCreated()).get("id").asLong());
+        }
+
+        Assertions.assertEquals(3, repository.findAllById(ids).size());
+        Assertions.assertEquals(repository.findAll().size(), repository.count());
+        List<Long> ordenados = repository.findAll(Sort.by("id")).stream().map(Cliente::getId).toList();
+        Assertions.assertEquals(ordenados.stream().sorted().toList(), ordenados);
+        Assertions.assertEquals(2, repository.findAll(PageRequest.of(1, 2, Sort.by("id"))).getContent().size());
+        Assertions.assertEquals(repository.count(), repository.findAll(PageRequest.of(0, 2)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("givenClientesEnVariosShards_whenFindBy_thenLaConsultaFluidaCombinaTodosLosShards")
+    void givenClientesEnVariosShards_whenFindBy_thenLaConsultaFluidaCombinaTodosLosShards() throws Exception {
+        Set<Integer> shards = new HashSet<>();
+        for (String nombre : List.of("Shard Fluida Uno", "Shard Fluida Dos", "Shard Fluida Tres", "Shard Fluida Cuatro")) {
+            shards.add(ClaveShard.shardDe(crear(nombre, status().isCreated()).get("id").asLong()));
+        }
+        Assertions.assertEquals(Set.of(0, 1, 2), shards);
+        Cliente probe = new Cliente();
+        probe.setTelefono("0991234567");
+        Example<Cliente> example = Example.of(probe);
+        List<Long> esperados = repository.findAll(example, Sort.by("id")).stream().map(Cliente::getId).toList();
+
+        List<Long> todos = repository.findBy(example, consulta -> consulta.sortBy(Sort.by("id")).all())
+                .stream().map(Cliente::getId).toList();
+        Assertions.assertEquals(esperados, todos);
+        long total = repository.findBy(example, FluentQuery.FetchableFluentQuery::count);
+        Assertions.assertEquals(esperados.size(), total);
+        Assertions.assertTrue(repository.findBy(example, FluentQuery.FetchableFluentQuery::exists));
+        Assertions.assertEquals(esperados.get(0),
+                repository.findBy(example, consulta -> consulta.sortBy(Sort.by("id")).firstValue()).getId());
+        Assertions.assertEquals(esperados.subList(0, 2), repository.findBy(example,
+                consulta -> consulta.sortBy(Sort.by("id")).limit(2).all()).stream().map(Cliente::getId).toList());
+        Page<Cliente> pagina = repository.findBy(example,
+                consulta -> consulta.sortBy(Sort.by("id")).page(PageRequest.of(1, 2)));
+        Assertions.assertEquals(esperados.subList(2, 4), pagina.getContent().stream().map(Cliente::getId).toList());
+        Assertions.assertEquals(esperados.size(), pagina.getTotalElements());
+        Assertions.assertThrows(IncorrectResultSizeDataAccessException.class,
+                () -> repository.findBy(example, FluentQuery.FetchableFluentQuery::oneValue));
+
+        // Ventanas de dos, por claves y por desplazamiento, recorren todos los shards en orden
+        for (ScrollPosition inicial : List.of(ScrollPosition.keyset(), ScrollPosition.offset())) {
+            List<Long> recorridos = new ArrayList<>();
+            ScrollPosition posicion = inicial;
+            Window<Cliente> ventana;
+            do {
+                ScrollPosition desde = posicion;
+                ventana = repository.findBy(example, consulta -> consulta.sortBy(Sort.by("id")).limit(2).scroll(desde));
+                ventana.forEach(cliente -> recorridos.add(cliente.getId()));
+                if (!ventana.isEmpty()) {
+                    posicion = ventana.positionAt(ventana.size() - 1);
+                }
+            } while (ventana.hasNext());
+            Assertions.assertEquals(esperados, recorridos, inicial.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("givenMasClavesQueUnaConsulta_whenFindClavesExistentes_thenDevuelveSoloLasRegistradas")
+    void givenMasClavesQueUnaConsulta_whenFindClavesExistentes_thenDevuelveSoloLasRegistradas() throws Exception {
+        JsonNode primero = crear("Shard Clave Nombre", status().isCreated());
+        JsonNode segundo = crear("Shard Clave Email", status().isCreated());
+        List<String> nombres = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < DirectorioClientes.CLAVES_POR_CONSULTA; i++) {
+            nombres.add("Shard Libre " + i);
+            emails.add("shard.libre." + i + "@example.com");
+        }
+        nombres.add(primero.get("nombre").asText());
+        emails.add(segundo.get("email").asText());
+
+        List<ClienteRepository.ClaveUnica> claves = repository.findClavesExistentes(nombres, emails);
+
+        Assertions.assertEquals(2, claves.size());
+        Assertions.assertTrue(claves.stream().anyMatch(clave ->
+                primero.get("nombre").asText().equals(clave.getNombre()) && clave.getEmail() == null));
+        Assertions.assertTrue(claves.stream().anyMatch(clave ->
+                segundo.get("email").asText().equals(clave.getEmail()) && clave.getNombre() == null));
+    }
+
+    private JsonNode crear(String nombre, ResultMatcher esperado) throws Exception {
+        String email = nombre.toLowerCase().replace(' ', '.') + System.nanoTime() + "@example.com";
+        var requestDTO = new ClienteRequestDTO(nombre, email, "0991234567");
+        String respuesta = mockMvc.perform(post("/api/v1/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(esperado)
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return json(respuesta);
+    }
+
+    private JsonNode json(String contenido) throws Exception {
+        return objectMapper.readTree(contenido);
+    }
+
+    private static int filas(String url, long id) throws Exception {
+        try (Connection conexion = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement consulta = conexion.prepareStatement("select count(*) from clientes where id = ?")) {
+            consulta.setLong(1, id);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                resultado.next();
+                return resultado.getInt(1);
+            }
+        }
+    }
+}